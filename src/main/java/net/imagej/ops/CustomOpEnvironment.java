@@ -34,6 +34,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 
 import org.scijava.AbstractContextual;
 import org.scijava.Context;
@@ -51,6 +52,7 @@ public class CustomOpEnvironment extends AbstractContextual implements
 
 	private final OpEnvironment parent;
 	private final OpIndex index;
+	private volatile OpInfoIndex lookup;
 
 	// -- Constructors --
 
@@ -107,6 +109,11 @@ public class CustomOpEnvironment extends AbstractContextual implements
 		return index.values();
 	}
 
+	@Override
+	public Collection<OpInfo> infos(final List<OpRef> refs) {
+		return lookup().infos(refs);
+	}
+
 	@Override
 	public OpEnvironment parent() {
 		return parent;
@@ -117,6 +124,17 @@ public class CustomOpEnvironment extends AbstractContextual implements
 		return parent().namespace(nsClass);
 	}
 
+	// -- Helper methods --
+
+	private OpInfoIndex lookup() {
+		if (lookup == null) initLookup();
+		return lookup;
+	}
+
+	private synchronized void initLookup() {
+		if (lookup == null) lookup = new OpInfoIndex(index.values());
+	}
+
 	// -- Helper classes --
 
 	/** A table mapping available ops from class name to {@link OpInfo}. */
@@ -36,6 +36,10 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 
 import net.imagej.ops.OpCandidate.StatusCode;
@@ -43,6 +47,7 @@ import net.imagej.ops.OpCandidate.StatusCode;
 import org.scijava.Context;
 import org.scijava.InstantiableException;
 import org.scijava.convert.ConvertService;
+import org.scijava.event.EventHandler;
 import org.scijava.log.LogService;
 import org.scijava.module.Module;
 import org.scijava.module.ModuleInfo;
@@ -50,6 +55,7 @@ import org.scijava.module.ModuleItem;
 import org.scijava.module.ModuleService;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
+import org.scijava.plugin.event.PluginsListEvent;
 import org.scijava.service.AbstractService;
 import org.scijava.service.Service;
 import org.scijava.util.ConversionUtils;
@@ -57,6 +63,13 @@ import org.scijava.util.GenericUtils;
 
 /**
  * Default service for finding {@link Op}s which match a request.
+ * <p>
+ * Successful matches are memoized per {@link OpEnvironment}, keyed on the op
+ * name, types and output types of the requested {@link OpRef}s together with
+ * the runtime classes of their arguments. Subsequent requests with the same
+ * key skip the candidate search and go straight to the remembered
+ * {@link OpInfo}. The cache is flushed whenever the plugin index changes.
+ * </p>
  * 
  * @author Curtis Rueden
  */
@@ -77,8 +90,57 @@ public class DefaultOpMatchingService extends AbstractService implements
 	@Parameter
 	private LogService log;
 
+	/** Table of resolved matches, per op environment. */
+	private final Map<OpEnvironment, Map<MatchKey, CachedMatch>> matchCache =
+		new WeakHashMap<>();
+
+	private final AtomicLong cacheHits = new AtomicLong();
+	private final AtomicLong cacheMisses = new AtomicLong();
+
+	private boolean cacheEnabled = true;
+
+	private final OpMetrics metrics = new OpMetrics();
+
+	// -- DefaultOpMatchingService methods --
+
+	/** Gets whether resolved matches are remembered for subsequent requests. */
+	public boolean isCacheEnabled() {
+		return cacheEnabled;
+	}
+
+	/**
+	 * Sets whether resolved matches are remembered for subsequent requests.
+	 * Disabling the cache also clears it.
+	 */
+	public void setCacheEnabled(final boolean cacheEnabled) {
+		this.cacheEnabled = cacheEnabled;
+		if (!cacheEnabled) clearCache();
+	}
+
+	/** Discards all resolved matches. */
+	public void clearCache() {
+		synchronized (matchCache) {
+			matchCache.clear();
+		}
+	}
+
+	/** Gets the number of requests which were resolved from the cache. */
+	public long getCacheHits() {
+		return cacheHits.get();
+	}
+
+	/** Gets the number of requests which needed a full candidate search. */
+	public long getCacheMisses() {
+		return cacheMisses.get();
+	}
+
 	// -- OpMatchingService methods --
 
+	@Override
+	public OpMetrics metrics() {
+		return metrics;
+	}
+
 	@Override
 	public OpCandidate findMatch(final OpEnvironment ops, final OpRef ref) {
 		return findMatch(ops, Collections.singletonList(ref));
@@ -88,6 +150,17 @@ public class DefaultOpMatchingService extends AbstractService implements
 	public OpCandidate findMatch(final OpEnvironment ops,
 		final List<OpRef> refs)
 	{
+		final boolean sampled = metrics.sample();
+		final long start = sampled ? System.nanoTime() : 0;
+
+		// check whether this request has been resolved before
+		final MatchKey key = cacheEnabled ? MatchKey.create(refs) : null;
+		if (key != null) {
+			final OpCandidate cached = cachedMatch(ops, refs, key);
+			if (cached != null) return initialize(cached, sampled, start, 1);
+			cacheMisses.incrementAndGet();
+		}
+
 		// find candidates with matching name & type
 		final List<OpCandidate> candidates = findCandidates(ops, refs);
 		assertCandidates(candidates, refs.get(0));
@@ -95,7 +168,12 @@ public class DefaultOpMatchingService extends AbstractService implements
 		// narrow down candidates to the exact matches
 		final List<OpCandidate> matches = filterMatches(candidates);
 
-		return singleMatch(candidates, matches);
+		final OpCandidate match = singleMatch(candidates, matches);
+		if (key != null && cacheable(candidates)) {
+			cacheMatch(ops, key, new CachedMatch(match.opInfo(), refs.indexOf(match
+				.getRef())));
+		}
+		return initialize(match, sampled, start, candidates.size());
 	}
 
 	@Override
@@ -110,7 +188,7 @@ public class DefaultOpMatchingService extends AbstractService implements
 		final List<OpRef> refs)
 	{
 		final ArrayList<OpCandidate> candidates = new ArrayList<>();
-		for (final OpInfo info : ops.infos()) {
+		for (final OpInfo info : ops.infos(refs)) {
 			for (final OpRef ref : refs) {
 				if (isCandidate(info, ref)) {
 					candidates.add(new OpCandidate(ops, ref, info));
@@ -206,8 +284,86 @@ public class DefaultOpMatchingService extends AbstractService implements
 		return paddedArgs;
 	}
 
+	// -- Event handlers --
+
+	/** Flushes the match cache when ops are added or removed. */
+	@EventHandler
+	protected void onEvent(final PluginsListEvent evt) {
+		clearCache();
+	}
+
 	// -- Helper methods --
 
+	/**
+	 * Looks up a previously resolved match for the given request, verifying
+	 * that the remembered op still accepts the actual arguments.
+	 * <p>
+	 * Helper method of {@link #findMatch(OpEnvironment, List)}.
+	 * </p>
+	 * 
+	 * @return The initialized match, or null if there is no usable cache entry.
+	 */
+	private OpCandidate cachedMatch(final OpEnvironment ops,
+		final List<OpRef> refs, final MatchKey key)
+	{
+		final CachedMatch cached;
+		synchronized (matchCache) {
+			final Map<MatchKey, CachedMatch> envCache = matchCache.get(ops);
+			cached = envCache == null ? null : envCache.get(key);
+		}
+		if (cached == null) return null;
+
+		final OpCandidate candidate = new OpCandidate(ops, refs.get(
+			cached.refIndex), cached.info);
+		final Object[] args = padArgs(candidate);
+		if (args != null) {
+			candidate.setArgs(args);
+			if (moduleConforms(candidate)) {
+				cacheHits.incrementAndGet();
+				return candidate;
+			}
+		}
+
+		// NB: The remembered op does not accept these arguments after all.
+		synchronized (matchCache) {
+			final Map<MatchKey, CachedMatch> envCache = matchCache.get(ops);
+			if (envCache != null) envCache.remove(key);
+		}
+		return null;
+	}
+
+	/** Helper method of {@link #findMatch(OpEnvironment, List)}. */
+	private void cacheMatch(final OpEnvironment ops, final MatchKey key,
+		final CachedMatch match)
+	{
+		synchronized (matchCache) {
+			Map<MatchKey, CachedMatch> envCache = matchCache.get(ops);
+			if (envCache == null) {
+				envCache = new ConcurrentHashMap<>();
+				matchCache.put(ops, envCache);
+			}
+			envCache.put(key, match);
+		}
+	}
+
+	/**
+	 * Determines whether the outcome of a full match may be reused for other
+	 * arguments of the same classes. This is not the case if any candidate was
+	 * rejected by {@link Contingent#conforms()}, since that decision depends on
+	 * the argument values rather than their classes.
+	 * <p>
+	 * Helper method of {@link #findMatch(OpEnvironment, List)}.
+	 * </p>
+	 */
+	private boolean cacheable(final List<OpCandidate> candidates) {
+		for (final OpCandidate candidate : candidates) {
+			if (candidate.getStatusCode() == StatusCode.DOES_NOT_CONFORM) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/** Helper method of {@link #findCandidates}. */
 	private boolean isCandidate(final OpInfo info, final OpRef ref) {
 		if (!info.nameMatches(ref.getName())) return false;
@@ -414,18 +570,12 @@ public class DefaultOpMatchingService extends AbstractService implements
 		final List<OpCandidate> matches)
 	{
 		if (matches.size() == 1) {
-			// a single match: initialize and return it
-			final Module m = matches.get(0).getModule();
+			// a single match: return it
 			if (log.isDebug()) {
+				final Module m = matches.get(0).getModule();
 				log.debug("Selected '" + matches.get(0).getRef().getLabel() + "' op: " +
 					m.getDelegateObject().getClass().getName());
 			}
-
-			// initialize the op, if appropriate
-			if (m.getDelegateObject() instanceof Initializable) {
-				((Initializable) m.getDelegateObject()).initialize();
-			}
-
 			return matches.get(0);
 		}
 
@@ -433,6 +583,28 @@ public class DefaultOpMatchingService extends AbstractService implements
 		throw new IllegalArgumentException(analysis);
 	}
 
+	/**
+	 * Helper method of {@link #findMatch(OpEnvironment, List)}: initializes the
+	 * matched op, if appropriate, and records the timings if sampled.
+	 */
+	private OpCandidate initialize(final OpCandidate match,
+		final boolean sampled, final long start, final int candidates)
+	{
+		final Object op = match.getModule().getDelegateObject();
+		final long matched = sampled ? System.nanoTime() : 0;
+		if (sampled) {
+			metrics.recordMatch(op.getClass(), matched - start, candidates);
+		}
+
+		if (op instanceof Initializable) {
+			((Initializable) op).initialize();
+			if (sampled) {
+				metrics.recordInitialize(op.getClass(), System.nanoTime() - matched);
+			}
+		}
+		return match;
+	}
+
 	/**
 	 * Verifies that the given candidate's module is valid.
 	 * <p>
@@ -628,4 +800,72 @@ public class DefaultOpMatchingService extends AbstractService implements
 			type);
 	}
 
+	// -- Helper classes --
+
+	/** The outcome of a previous match: the winning op and matched ref. */
+	private static class CachedMatch {
+
+		private final OpInfo info;
+		private final int refIndex;
+
+		public CachedMatch(final OpInfo info, final int refIndex) {
+			this.info = info;
+			this.refIndex = refIndex;
+		}
+	}
+
+	/**
+	 * Key identifying a match request by the name, types and output types of its
+	 * {@link OpRef}s plus the runtime classes of their arguments.
+	 */
+	private static class MatchKey {
+
+		private final List<Object> parts;
+		private final int hash;
+
+		private MatchKey(final List<Object> parts) {
+			this.parts = parts;
+			hash = parts.hashCode();
+		}
+
+		/**
+		 * Creates a key for the given request, or null if the request cannot be
+		 * keyed (e.g., when an argument is a generic type placeholder).
+		 */
+		public static MatchKey create(final List<OpRef> refs) {
+			final ArrayList<Object> parts = new ArrayList<>();
+			for (final OpRef ref : refs) {
+				parts.add(ref.getName());
+				parts.add(ref.getTypes());
+				parts.add(ref.getOutTypes());
+				final Object[] args = ref.getArgs();
+				parts.add(args.length);
+				for (final Object arg : args) {
+					if (arg == null) parts.add(null);
+					else if (arg instanceof Class) {
+						// NB: Class argument for matching; distinguish from instances.
+						parts.add(Class.class);
+						parts.add(arg);
+					}
+					else if (arg instanceof Type) return null;
+					else parts.add(arg.getClass());
+				}
+			}
+			return new MatchKey(parts);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (obj == this) return true;
+			if (!(obj instanceof MatchKey)) return false;
+			final MatchKey that = (MatchKey) obj;
+			return hash == that.hash && parts.equals(that.parts);
+		}
+	}
+
 }
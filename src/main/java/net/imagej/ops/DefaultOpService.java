@@ -30,18 +30,29 @@
 
 package net.imagej.ops;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import org.scijava.command.CommandInfo;
 import org.scijava.command.CommandService;
+import org.scijava.event.EventHandler;
+import org.scijava.log.LogService;
 import org.scijava.plugin.AbstractPTService;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
+import org.scijava.plugin.event.PluginsListEvent;
 import org.scijava.service.Service;
 
 /**
  * Default service for managing and executing {@link Op}s.
+ * <p>
+ * If the {@code imagej.ops.index} system property names a file, the metadata
+ * of the available ops is read from that {@link OpIndexSnapshot} when it
+ * matches them, or else written to it for subsequent runs.
+ * </p>
  *
  * @author Curtis Rueden
  */
@@ -59,6 +70,15 @@ public class DefaultOpService extends AbstractPTService<Op> implements
 	@Parameter
 	private NamespaceService namespaceService;
 
+	@Parameter
+	private LogService log;
+
+	/** System property naming the file of the {@link OpIndexSnapshot}. */
+	public static final String SNAPSHOT_PROPERTY = "imagej.ops.index";
+
+	/** Index of available ops, rebuilt when the plugin index changes. */
+	private volatile OpInfoIndex lookup;
+
 	// -- OpEnvironment methods --
 
 	@Override
@@ -76,13 +96,12 @@ public class DefaultOpService extends AbstractPTService<Op> implements
 
 	@Override
 	public Collection<OpInfo> infos() {
-		// TODO: Consider maintaining a separate and efficient
-		// OpInfo data structure in AbstractOpEnvironment.
-		final ArrayList<OpInfo> infos = new ArrayList<>();
-		for (final CommandInfo cInfo : commandService.getCommandsOfType(Op.class)) {
-			infos.add(new OpInfo(cInfo));
-		}
-		return infos;
+		return new ArrayList<>(lookup().infos());
+	}
+
+	@Override
+	public Collection<OpInfo> infos(final List<OpRef> refs) {
+		return lookup().infos(refs);
 	}
 
 	@Override
@@ -90,6 +109,59 @@ public class DefaultOpService extends AbstractPTService<Op> implements
 		return namespaceService.create(nsClass, this);
 	}
 
+	// -- Event handlers --
+
+	/** Discards the op index when ops are added or removed. */
+	@EventHandler
+	protected void onEvent(final PluginsListEvent evt) {
+		lookup = null;
+	}
+
+	// -- Helper methods --
+
+	private OpInfoIndex lookup() {
+		final OpInfoIndex index = lookup;
+		return index == null ? initLookup() : index;
+	}
+
+	private synchronized OpInfoIndex initLookup() {
+		OpInfoIndex index = lookup;
+		if (index == null) {
+			final ArrayList<OpInfo> infos = new ArrayList<>();
+			for (final CommandInfo cInfo : commandService.getCommandsOfType(
+				Op.class))
+			{
+				infos.add(new OpInfo(cInfo));
+			}
+			final String snapshot = System.getProperty(SNAPSHOT_PROPERTY);
+			if (snapshot != null) loadSnapshot(new File(snapshot), infos);
+			lookup = index = new OpInfoIndex(infos);
+		}
+		return index;
+	}
+
+	/**
+	 * Applies the snapshot in the given file to the ops, or writes a new one if
+	 * it is missing or stale.
+	 */
+	private void loadSnapshot(final File file, final List<OpInfo> infos) {
+		if (file.exists()) {
+			try {
+				if (OpIndexSnapshot.read(file).apply(infos)) return;
+				log.debug("Op index snapshot is stale: " + file);
+			}
+			catch (final IOException exc) {
+				log.debug("Cannot read op index snapshot: " + file, exc);
+			}
+		}
+		try {
+			OpIndexSnapshot.of(infos).write(file);
+		}
+		catch (final IOException exc) {
+			log.warn("Cannot write op index snapshot: " + file, exc);
+		}
+	}
+
 	// -- SingletonService methods --
 
 	@Override
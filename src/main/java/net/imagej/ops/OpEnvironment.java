@@ -55,6 +55,7 @@ import net.imagej.ops.logic.LogicNamespace;
 import net.imagej.ops.map.neighborhood.CenterAwareComputerOp;
 import net.imagej.ops.math.MathNamespace;
 import net.imagej.ops.morphology.MorphologyNamespace;
+import net.imagej.ops.reduce.Reducer;
 import net.imagej.ops.special.SpecialOp;
 import net.imagej.ops.special.UnaryOutputFactory;
 import net.imagej.ops.special.computer.BinaryComputerOp;
@@ -73,6 +74,7 @@ import net.imglib2.RandomAccessible;
 import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.algorithm.neighborhood.Shape;
 import net.imglib2.type.Type;
+import net.imglib2.type.numeric.RealType;
 
 import org.scijava.Contextual;
 import org.scijava.module.Module;
@@ -132,7 +134,7 @@ public interface OpEnvironment extends Contextual {
 	 */
 	@OpMethod(op = net.imagej.ops.run.RunByName.class)
 	default Object run(final String name, final Object... args) {
-		return run(module(name, args));
+		return run(metrics(), module(name, args));
 	}
 
 	/**
@@ -153,7 +155,7 @@ public interface OpEnvironment extends Contextual {
 	 */
 	@OpMethod(op = net.imagej.ops.run.RunByType.class)
 	default Object run(final Class<? extends Op> type, final Object... args) {
-		return run(module(type, args));
+		return run(metrics(), module(type, args));
 	}
 
 	/**
@@ -168,7 +170,7 @@ public interface OpEnvironment extends Contextual {
 	 */
 	@OpMethod(op = net.imagej.ops.run.RunByOp.class)
 	default Object run(final Op op, final Object... args) {
-		return run(module(op, args));
+		return run(metrics(), module(op, args));
 	}
 
 	/**
@@ -239,6 +241,45 @@ public interface OpEnvironment extends Contextual {
 		return OpUtils.unwrap(match.getModule(), match.getRef());
 	}
 
+	/**
+	 * Gets the best {@link Op} of the given type as a typed
+	 * {@link SpecialOp}, for repeated direct invocation.
+	 * <p>
+	 * Unlike {@link #run(Class, Object...)}, which matches the op anew and
+	 * populates and reads a {@link Module} via reflection on every call, the
+	 * returned op is matched and initialized once; its {@code compute},
+	 * {@code calculate} and {@code mutate} methods can then be called directly
+	 * with new arguments. This is the recommended way to apply tiny ops (e.g.,
+	 * on individual pixel values) many times:
+	 * </p>
+	 *
+	 * <pre>
+	 * final BinaryComputerOp&lt;DoubleType, DoubleType, DoubleType&gt; add =
+	 * 	ops.invoker(BinaryComputerOp.class, Ops.Math.Add.class, DoubleType.class,
+	 * 		DoubleType.class, DoubleType.class);
+	 * add.compute(a, b, result);
+	 * </pre>
+	 *
+	 * @param specialType The special op interface through which the op will be
+	 *          invoked (e.g., {@link UnaryComputerOp}).
+	 * @param opType The type of the operation (e.g., {@code Ops.Math.Add}).
+	 * @param args The operation's arguments, in the order of its parameters;
+	 *          {@link Class} objects may be passed in place of the typed inputs
+	 *          and outputs which will be given at invocation time.
+	 * @return The matched op, ready to be invoked.
+	 * @see net.imagej.ops.special.computer.Computers
+	 * @see net.imagej.ops.special.function.Functions
+	 * @see net.imagej.ops.special.hybrid.Hybrids
+	 * @see net.imagej.ops.special.inplace.Inplaces
+	 */
+	default <S extends SpecialOp> S invoker(final Class<? super S> specialType,
+		final Class<? extends Op> opType, final Object... args)
+	{
+		@SuppressWarnings("unchecked")
+		final S op = (S) op(OpRef.createTypes(opType, specialType, null, args));
+		return op;
+	}
+
 	/**
 	 * Gets the best {@link Op} to use for the given operation and arguments,
 	 * wrapping it as a {@link Module} with populated inputs.
@@ -281,6 +322,15 @@ public interface OpEnvironment extends Contextual {
 		return matcher().assignInputs(module, args);
 	}
 
+	/**
+	 * Gets the registry in which timing statistics of this environment's ops are
+	 * recorded, or null if none. Recording is off until a sample interval is set
+	 * via {@link OpMetrics#setSampleInterval(int)}.
+	 */
+	default OpMetrics metrics() {
+		return matcher().metrics();
+	}
+
 	/** Gets the metadata for a given {@link Op} class. */
 	OpInfo info(Class<? extends Op> type);
 
@@ -296,6 +346,20 @@ public interface OpEnvironment extends Contextual {
 	 */
 	Collection<OpInfo> infos();
 
+	/**
+	 * The available ops which might match any of the given {@link OpRef}s,
+	 * in priority order. The result may include ops which turn out not to match;
+	 * but every op which does match must be included.
+	 * <p>
+	 * The default implementation returns all {@link #infos()}; environments may
+	 * override it to look up candidates more efficiently (see
+	 * {@link OpInfoIndex}).
+	 * </p>
+	 */
+	default Collection<OpInfo> infos(final List<OpRef> refs) {
+		return infos();
+	}
+
 	/** Gets the fully qualified names of all available operations. */
 	default Collection<String> ops() {
 		// collect list of unique operation names
@@ -733,6 +797,19 @@ public interface OpEnvironment extends Contextual {
 		return result;
 	}
 
+	/** Executes the "map" operation on the given arguments. */
+	@OpMethod(op = net.imagej.ops.map.MapFusedPipeline.class)
+	default <EI extends RealType<EI>, EO extends RealType<EO>>
+		IterableInterval<EO> map(final IterableInterval<EO> out,
+			final IterableInterval<EI> in,
+			final List<? extends UnaryComputerOp<?, ?>> stages)
+	{
+		@SuppressWarnings("unchecked")
+		final IterableInterval<EO> result = (IterableInterval<EO>) run(
+			net.imagej.ops.Ops.Map.class, out, in, stages);
+		return result;
+	}
+
 	/** Executes the "map" operation on the given arguments. */
 	@OpMethod(op = net.imagej.ops.map.MapIterableToIterable.class)
 	default <EI, EO> Iterable<EO> map(final Iterable<EO> out,
@@ -798,6 +875,24 @@ public interface OpEnvironment extends Contextual {
 		return result;
 	}
 
+	/** Executes the "reduce" operation on the given arguments. */
+	@OpMethod(op = net.imagej.ops.reduce.DefaultReduce.class)
+	default <T, A> A reduce(final Iterable<T> in, final Reducer<T, A> reducer) {
+		@SuppressWarnings("unchecked")
+		final A result = (A) run(Ops.Reduce.class, in, reducer);
+		return result;
+	}
+
+	/** Executes the "reduce" operation on the given arguments. */
+	@OpMethod(op = net.imagej.ops.reduce.ReduceParallel.class)
+	default <T, A> A reduce(final IterableInterval<T> in,
+		final Reducer<T, A> reducer)
+	{
+		@SuppressWarnings("unchecked")
+		final A result = (A) run(Ops.Reduce.class, in, reducer);
+		return result;
+	}
+
 	/** Executes the "slicewise" operation on the given arguments. */
 	@OpMethod(op = net.imagej.ops.slice.SliceRAI2RAI.class)
 	default <I, O> RandomAccessibleInterval<O> slice(
@@ -936,7 +1031,17 @@ public interface OpEnvironment extends Contextual {
 	// -- Helper methods --
 
 	static Object run(final Module module) {
-		module.run();
+		return run(null, module);
+	}
+
+	static Object run(final OpMetrics metrics, final Module module) {
+		if (metrics != null && metrics.sample()) {
+			final long start = System.nanoTime();
+			module.run();
+			metrics.recordCompute(module.getDelegateObject().getClass(), System
+				.nanoTime() - start);
+		}
+		else module.run();
 
 		final List<Object> outputs = new ArrayList<>();
 		for (final ModuleItem<?> output : module.getInfo().outputs()) {
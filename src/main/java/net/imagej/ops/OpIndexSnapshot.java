@@ -0,0 +1,264 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.scijava.command.CommandInfo;
+import org.scijava.plugin.Plugin;
+
+/**
+ * A persisted copy of the metadata which {@link OpInfo}s otherwise resolve by
+ * reflection, namely op names and aliases.
+ * <p>
+ * A snapshot is stored as a text file whose first line holds a checksum of the
+ * available ops, computed without loading any op classes or op types from
+ * their class names, priorities, declared names and aliases, plus the plugin
+ * indices on the class path. Since the indices also record the declared op
+ * type of each op, and are rewritten (along with their modification times)
+ * whenever the classes they describe are rebuilt, a change to the
+ * {@code NAME}, {@code ALIAS} or {@code ALIASES} constants of an op type also
+ * changes the checksum. Each following line describes one op:
+ * its class name, its name and its comma-separated aliases, separated by tabs.
+ * A snapshot whose checksum does not match the current ops is ignored, in
+ * which case the metadata is resolved as usual.
+ * </p>
+ * 
+ * @see DefaultOpService
+ */
+public class OpIndexSnapshot {
+
+	/** Resource path of the SciJava plugin indices. */
+	private static final String INDEX = "META-INF/json/" + Plugin.class
+		.getName();
+
+	/** Prefix of the checksum line. */
+	private static final String CHECKSUM_PREFIX = "# checksum ";
+
+	private final String checksum;
+
+	/** Name and aliases of each op, by class name. */
+	private final Map<String, String[]> entries;
+
+	private OpIndexSnapshot(final String checksum,
+		final Map<String, String[]> entries)
+	{
+		this.checksum = checksum;
+		this.entries = entries;
+	}
+
+	// -- OpIndexSnapshot methods --
+
+	/** Gets the checksum of the ops from which this snapshot was taken. */
+	public String checksum() {
+		return checksum;
+	}
+
+	/** Gets the number of ops in the snapshot. */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Applies the snapshot to the given ops, sparing them from resolving their
+	 * names and aliases by reflection.
+	 * 
+	 * @return true if the snapshot was applied; false if the snapshot does not
+	 *         match the given ops, which are left untouched.
+	 */
+	public boolean apply(final List<OpInfo> infos) {
+		if (!checksum.equals(checksum(infos))) return false;
+		for (final OpInfo info : infos) {
+			final String[] entry = entries.get(info.cInfo().getDelegateClassName());
+			if (entry == null) return false;
+		}
+		for (final OpInfo info : infos) {
+			final String[] entry = entries.get(info.cInfo().getDelegateClassName());
+			final String name = entry[0].isEmpty() ? null : entry[0];
+			info.setResolved(name, aliases(entry[1]));
+		}
+		return true;
+	}
+
+	// -- Utility methods --
+
+	/** Takes a snapshot of the given ops, resolving their metadata. */
+	public static OpIndexSnapshot of(final List<OpInfo> infos) {
+		final Map<String, String[]> entries = new HashMap<>();
+		for (final OpInfo info : infos) {
+			final String name = info.getName();
+			final String[] aliases = info.getAliases();
+			entries.put(info.cInfo().getDelegateClassName(), new String[] {
+				name == null ? "" : name, //
+				aliases == null ? "" : String.join(",", aliases) });
+		}
+		return new OpIndexSnapshot(checksum(infos), entries);
+	}
+
+	/**
+	 * Reads a snapshot from the given file.
+	 * 
+	 * @throws IOException if the file cannot be read or is not a snapshot.
+	 */
+	public static OpIndexSnapshot read(final File file) throws IOException {
+		try (final BufferedReader in = Files.newBufferedReader(file.toPath(),
+			StandardCharsets.UTF_8))
+		{
+			final String header = in.readLine();
+			if (header == null || !header.startsWith(CHECKSUM_PREFIX)) {
+				throw new IOException("Not an op index snapshot: " + file);
+			}
+			final Map<String, String[]> entries = new HashMap<>();
+			String line;
+			while ((line = in.readLine()) != null) {
+				if (line.isEmpty()) continue;
+				final String[] tokens = line.split("\t", -1);
+				if (tokens.length != 3) {
+					throw new IOException("Invalid op index snapshot entry: " + line);
+				}
+				entries.put(tokens[0], new String[] { tokens[1], tokens[2] });
+			}
+			return new OpIndexSnapshot(header.substring(CHECKSUM_PREFIX.length()),
+				entries);
+		}
+	}
+
+	/** Writes this snapshot to the given file. */
+	public void write(final File file) throws IOException {
+		final File dir = file.getAbsoluteFile().getParentFile();
+		if (dir != null && !dir.exists() && !dir.mkdirs()) {
+			throw new IOException("Cannot create directory: " + dir);
+		}
+		// NB: Write to a temporary file first, so that concurrently starting
+		// workers never read a partially written snapshot.
+		final File tmp = File.createTempFile(file.getName(), ".tmp", dir);
+		try (final BufferedWriter out = Files.newBufferedWriter(tmp.toPath(),
+			StandardCharsets.UTF_8))
+		{
+			out.write(CHECKSUM_PREFIX + checksum);
+			out.newLine();
+			for (final Map.Entry<String, String[]> entry : entries.entrySet()) {
+				out.write(entry.getKey() + "\t" + entry.getValue()[0] + "\t" + entry
+					.getValue()[1]);
+				out.newLine();
+			}
+		}
+		Files.move(tmp.toPath(), file.toPath(),
+			StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * Computes the checksum of the given ops. Only metadata available from the
+	 * plugin index is considered, so no op classes are loaded.
+	 * <p>
+	 * Besides the class name, priority, name, {@code alias} and
+	 * {@code aliases} attributes of each op, the checksum covers the location,
+	 * modification time and content of each plugin index resource, which
+	 * record the declared op types.
+	 * </p>
+	 */
+	public static String checksum(final Collection<OpInfo> infos) {
+		final MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		}
+		catch (final NoSuchAlgorithmException exc) {
+			throw new IllegalStateException(exc);
+		}
+		for (final OpInfo info : infos) {
+			final CommandInfo cInfo = info.cInfo();
+			final String entry = cInfo.getDelegateClassName() + "\t" + cInfo
+				.getPriority() + "\t" + cInfo.getName() + "\t" + cInfo.get("alias") +
+				"\t" + cInfo.get("aliases") + "\n";
+			digest.update(entry.getBytes(StandardCharsets.UTF_8));
+		}
+		try {
+			final Enumeration<URL> indices = classLoader().getResources(INDEX);
+			while (indices.hasMoreElements()) {
+				digestIndex(digest, indices.nextElement());
+			}
+		}
+		catch (final IOException exc) {
+			// NB: Make the checksum match no snapshot.
+			digest.update(exc.toString().getBytes(StandardCharsets.UTF_8));
+			digest.update(Long.toString(System.nanoTime()).getBytes(
+				StandardCharsets.UTF_8));
+		}
+		final StringBuilder sb = new StringBuilder();
+		for (final byte b : digest.digest()) {
+			sb.append(String.format("%02x", b));
+		}
+		return sb.toString();
+	}
+
+	// -- Helper methods --
+
+	private static ClassLoader classLoader() {
+		final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+		return loader == null ? OpIndexSnapshot.class.getClassLoader() : loader;
+	}
+
+	/** Adds the location, time stamp and content of an index to the digest. */
+	private static void digestIndex(final MessageDigest digest, final URL url)
+		throws IOException
+	{
+		final URLConnection connection = url.openConnection();
+		final String header = url + "\t" + connection.getLastModified() + "\n";
+		digest.update(header.getBytes(StandardCharsets.UTF_8));
+		try (final InputStream in = connection.getInputStream()) {
+			final byte[] buffer = new byte[8192];
+			for (int r; (r = in.read(buffer)) > 0;) {
+				digest.update(buffer, 0, r);
+			}
+		}
+	}
+
+	private static String[] aliases(final String aliases) {
+		return aliases.isEmpty() ? null : aliases.split(",");
+	}
+
+}
@@ -49,6 +49,15 @@ public class OpInfo implements Comparable<OpInfo> {
 
 	private final CommandInfo cInfo;
 
+	/** Lazily resolved name; see {@link #getName()}. */
+	private volatile String name;
+
+	/** Lazily resolved aliases; see {@link #getAliases()}. */
+	private volatile String[] aliases;
+
+	/** Whether {@link #name} and {@link #aliases} have been resolved. */
+	private volatile boolean resolved;
+
 	public OpInfo(final CommandInfo cInfo) {
 		this.cInfo = cInfo;
 	}
@@ -80,11 +89,8 @@ public class OpInfo implements Comparable<OpInfo> {
 
 	/** Gets the fully qualified name, with namespace. */
 	public String getName() {
-		final String name = cInfo().getName();
-		if (name != null && !name.isEmpty()) return name;
-
-		// name not explicitly specified; look for NAME constant
-		return getFieldValue(String.class, "NAME");
+		if (!resolved) resolve();
+		return name;
 	}
 
 	/** Gets the name without namespace prefix. */
@@ -101,7 +107,6 @@ public class OpInfo implements Comparable<OpInfo> {
 		if (nameMatches(opName, name)) return true;
 
 		// check for aliases
-		final String[] aliases = getAliases();
 		if (aliases != null) {
 			for (final String a : aliases) {
 				if (nameMatches(a, name)) return true;
@@ -113,23 +118,8 @@ public class OpInfo implements Comparable<OpInfo> {
 
 	/** Gets the fully qualified aliases. */
 	public String[] getAliases() {
-		// check for an alias
-		final String alias = cInfo().get("alias");
-		if (alias != null) return new String[] { alias };
-
-		// no single alias; check for a list of aliases
-		final String aliases = cInfo().get("aliases");
-		if (aliases != null) return aliases.split("\\s*,\\s*");
-
-		// alias not explicitly specified; look for ALIAS constant
-		final String aliasField = getFieldValue(String.class, "ALIAS");
-		if (aliasField != null) return new String[] {aliasField};
-
-		// no single alias; look for ALIASES constant
-		final String aliasesField = getFieldValue(String.class, "ALIASES");
-		if (aliasesField != null) return aliasesField.split("\\s*,\\s*");
-
-		return null;
+		if (!resolved) resolve();
+		return aliases == null ? null : aliases.clone();
 	}
 
 	/** Gets the namespace. */
@@ -187,9 +177,62 @@ public class OpInfo implements Comparable<OpInfo> {
 		return cInfo().compareTo(that.cInfo());
 	}
 
+	// -- Internal methods --
+
+	/**
+	 * Sets the name and aliases of the op, as previously resolved, e.g. when read
+	 * from an {@link OpIndexSnapshot}.
+	 */
+	synchronized void setResolved(final String name, final String[] aliases) {
+		this.name = name;
+		this.aliases = aliases;
+		resolved = true;
+	}
+
 	// -- Helper methods --
 
-	/** Helper method of {@link #getName} and {@link #getAliases}. */
+	/**
+	 * Resolves the name and aliases of the op. This is done only once, on first
+	 * use, since it may require loading the op type to inspect its constants.
+	 */
+	private synchronized void resolve() {
+		if (resolved) return;
+		name = lookupName();
+		aliases = lookupAliases();
+		resolved = true;
+	}
+
+	/** Helper method of {@link #resolve}. */
+	private String lookupName() {
+		final String n = cInfo().getName();
+		if (n != null && !n.isEmpty()) return n;
+
+		// name not explicitly specified; look for NAME constant
+		return getFieldValue(String.class, "NAME");
+	}
+
+	/** Helper method of {@link #resolve}. */
+	private String[] lookupAliases() {
+		// check for an alias
+		final String alias = cInfo().get("alias");
+		if (alias != null) return new String[] { alias };
+
+		// no single alias; check for a list of aliases
+		final String aliases = cInfo().get("aliases");
+		if (aliases != null) return aliases.split("\\s*,\\s*");
+
+		// alias not explicitly specified; look for ALIAS constant
+		final String aliasField = getFieldValue(String.class, "ALIAS");
+		if (aliasField != null) return new String[] {aliasField};
+
+		// no single alias; look for ALIASES constant
+		final String aliasesField = getFieldValue(String.class, "ALIASES");
+		if (aliasesField != null) return aliasesField.split("\\s*,\\s*");
+
+		return null;
+	}
+
+	/** Helper method of {@link #lookupName} and {@link #lookupAliases}. */
 	private <T> T getFieldValue(final Class<T> fieldType, final String fieldName)
 	{
 		final Class<? extends Op> opType = getType();
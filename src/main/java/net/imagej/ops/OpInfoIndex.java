@@ -0,0 +1,240 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.scijava.InstantiableException;
+import org.scijava.util.ClassUtils;
+import org.scijava.util.GenericUtils;
+
+/**
+ * Lookup table from op names and op types to the {@link OpInfo}s which might
+ * match them.
+ * <p>
+ * The index narrows down the pool of ops consulted when matching an
+ * {@link OpRef}: rather than checking every available op, only those whose
+ * name (or alias) matches the requested name and whose class implements all
+ * of the requested types need to be considered. Lists returned by the index
+ * preserve the order (i.e., priority) of the original op collection.
+ * </p>
+ * <p>
+ * The index is built lazily: names are resolved on the first lookup by name,
+ * and op classes are loaded only when narrowing by a type which cannot be
+ * decided from the {@code @Plugin} annotation alone.
+ * </p>
+ * 
+ * @see OpEnvironment#infos(List)
+ */
+public class OpInfoIndex {
+
+	/** The indexed ops, in priority order. */
+	private final List<OpInfo> infos;
+
+	/** Position of each op within {@link #infos}. */
+	private final Map<OpInfo, Integer> positions = new HashMap<>();
+
+	/**
+	 * Table of ops by fully qualified name, simple name and alias, populated on
+	 * first use.
+	 */
+	private volatile Map<String, List<OpInfo>> names;
+
+	/** Table of ops by implemented type, populated on demand. */
+	private final Map<Class<?>, List<OpInfo>> types = new ConcurrentHashMap<>();
+
+	public OpInfoIndex(final Collection<? extends OpInfo> infos) {
+		this.infos = Collections.unmodifiableList(new ArrayList<>(infos));
+		int i = 0;
+		for (final OpInfo info : this.infos) {
+			positions.put(info, i++);
+		}
+	}
+
+	// -- OpInfoIndex methods --
+
+	/** Gets all indexed ops, in priority order. */
+	public List<OpInfo> infos() {
+		return infos;
+	}
+
+	/**
+	 * Gets the ops which might match the given op reference. Every op which
+	 * could match is included, but the caller must still verify each one.
+	 */
+	public List<OpInfo> infos(final OpRef ref) {
+		if (ref.getName() != null) {
+			return names().getOrDefault(ref.getName(), Collections.emptyList());
+		}
+		List<OpInfo> best = infos;
+		final ArrayList<Class<?>> generic = new ArrayList<>();
+		for (final Type t : ref.getTypes()) {
+			// FIXME: Use generic assignability test, once it exists.
+			final Class<?> raw = GenericUtils.getClass(t);
+			if (raw == null) continue;
+			if (isOpType(raw)) {
+				// NB: Narrowing by op type needs no op classes to be loaded.
+				return types.computeIfAbsent(raw, this::ofOpType);
+			}
+			generic.add(raw);
+		}
+		for (final Class<?> raw : generic) {
+			final List<OpInfo> typed = types.computeIfAbsent(raw, this::ofType);
+			if (typed.size() < best.size()) best = typed;
+		}
+		return best;
+	}
+
+	/**
+	 * Gets the ops which might match any of the given op references, in priority
+	 * order.
+	 */
+	public List<OpInfo> infos(final List<OpRef> refs) {
+		if (refs.size() == 1) return infos(refs.get(0));
+
+		final LinkedHashSet<OpInfo> union = new LinkedHashSet<>();
+		for (final OpRef ref : refs) {
+			union.addAll(infos(ref));
+		}
+		final ArrayList<OpInfo> sorted = new ArrayList<>(union);
+		sorted.sort((a, b) -> positions.get(a) - positions.get(b));
+		return sorted;
+	}
+
+	// -- Helper methods --
+
+	/** Gets the table of ops by name, building it if needed. */
+	private Map<String, List<OpInfo>> names() {
+		final Map<String, List<OpInfo>> table = names;
+		return table == null ? initNames() : table;
+	}
+
+	private synchronized Map<String, List<OpInfo>> initNames() {
+		Map<String, List<OpInfo>> table = names;
+		if (table == null) {
+			table = new HashMap<>();
+			for (final OpInfo info : infos) {
+				final Set<String> keys = new HashSet<>();
+				addNameKeys(keys, info.getName());
+				final String[] aliases = info.getAliases();
+				if (aliases != null) {
+					for (final String alias : aliases) {
+						addNameKeys(keys, alias);
+					}
+				}
+				for (final String key : keys) {
+					table.computeIfAbsent(key, k -> new ArrayList<>()).add(info);
+				}
+			}
+			names = table;
+		}
+		return table;
+	}
+
+	/** Adds the full name and its simple name (sans namespace) to the keys. */
+	private static void addNameKeys(final Set<String> keys, final String name) {
+		if (name == null || name.isEmpty()) return;
+		keys.add(name);
+		final int dot = name.lastIndexOf(".");
+		if (dot >= 0) keys.add(name.substring(dot + 1));
+	}
+
+	/**
+	 * Gets whether the given type is an op type, i.e. an {@link Op} interface
+	 * which declares a {@code NAME} constant, such as {@link Ops.Math.Add}.
+	 */
+	private static boolean isOpType(final Class<?> type) {
+		return type.isInterface() && Op.class.isAssignableFrom(type) && //
+			ClassUtils.getField(type, "NAME") != null;
+	}
+
+	/**
+	 * Collects the ops which might implement the given op type. An op declared
+	 * with (a subtype of) the op type via {@code @Plugin(type = ...)} matches
+	 * without loading its class. By convention, an op declared with a different
+	 * op type does not implement the requested one, so only ops declared with a
+	 * generic type (e.g. {@code Op.class}) need to be loaded and checked.
+	 */
+	private List<OpInfo> ofOpType(final Class<?> type) {
+		final ArrayList<OpInfo> typed = new ArrayList<>();
+		for (final OpInfo info : infos) {
+			final Class<?> declared;
+			try {
+				declared = info.getType();
+			}
+			catch (final IllegalStateException exc) {
+				// NB: Keep invalid ops, so that the matcher can report them.
+				typed.add(info);
+				continue;
+			}
+			if (type.isAssignableFrom(declared)) typed.add(info);
+			else if (!isOpType(declared) && implementsType(info, type)) {
+				typed.add(info);
+			}
+		}
+		return typed;
+	}
+
+	/** Collects the ops whose class is assignable to the given type. */
+	private List<OpInfo> ofType(final Class<?> type) {
+		final ArrayList<OpInfo> typed = new ArrayList<>();
+		for (final OpInfo info : infos) {
+			if (implementsType(info, type)) typed.add(info);
+		}
+		return typed;
+	}
+
+	/**
+	 * Loads the op's class and checks whether it is assignable to the given
+	 * type. Invalid ops are included, so that the matcher can report them.
+	 */
+	private static boolean implementsType(final OpInfo info,
+		final Class<?> type)
+	{
+		try {
+			return type.isAssignableFrom(info.cInfo().loadClass());
+		}
+		catch (final InstantiableException exc) {
+			return true;
+		}
+	}
+
+}
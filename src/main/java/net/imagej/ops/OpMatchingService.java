@@ -58,6 +58,14 @@ public interface OpMatchingService extends ImageJService {
 	 */
 	OpCandidate findMatch(OpEnvironment ops, OpRef ref);
 
+	/**
+	 * Gets the registry in which timing statistics of matched ops are recorded,
+	 * or null if this service does not record any.
+	 */
+	default OpMetrics metrics() {
+		return null;
+	}
+
 	/**
 	 * Finds and initializes the best module matching any of the given op name
 	 * and/or type + arguments. An {@link OpCandidate} containing the matching
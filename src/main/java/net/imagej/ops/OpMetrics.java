@@ -0,0 +1,269 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registry of timing statistics for ops, recorded per op class.
+ * <p>
+ * For each op class, the registry records how often it was matched, the time
+ * spent matching it and the number of candidates considered, as well as the
+ * time spent in {@link Initializable#initialize()} and in executing the op via
+ * {@link OpEnvironment#run}. Note that special ops which are called directly
+ * (e.g. {@code computer.compute(in, out)}) bypass the registry, except for
+ * their matching and initialization.
+ * </p>
+ * <p>
+ * Recording is off by default. It is enabled by setting a sample interval via
+ * {@link #setSampleInterval(int)}; an interval of {@code n} records every
+ * {@code n}th event. When disabled, the overhead is a single volatile read per
+ * event.
+ * </p>
+ * 
+ * @see OpEnvironment#metrics()
+ */
+public class OpMetrics {
+
+	private volatile int sampleInterval;
+
+	private final AtomicLong events = new AtomicLong();
+
+	private final Map<Class<?>, OpStats> stats = new ConcurrentHashMap<>();
+
+	// -- OpMetrics methods --
+
+	/** Gets whether statistics are being recorded. */
+	public boolean isEnabled() {
+		return sampleInterval > 0;
+	}
+
+	/** Gets the sample interval; 0 means recording is disabled. */
+	public int getSampleInterval() {
+		return sampleInterval;
+	}
+
+	/**
+	 * Sets the sample interval: 1 records every event, {@code n} records every
+	 * {@code n}th event, and 0 disables recording.
+	 */
+	public void setSampleInterval(final int sampleInterval) {
+		if (sampleInterval < 0) {
+			throw new IllegalArgumentException("Invalid sample interval: " +
+				sampleInterval);
+		}
+		this.sampleInterval = sampleInterval;
+	}
+
+	/**
+	 * Decides whether the next event is to be recorded, according to the sample
+	 * interval.
+	 */
+	public boolean sample() {
+		final int interval = sampleInterval;
+		if (interval <= 0) return false;
+		return interval == 1 || events.incrementAndGet() % interval == 0;
+	}
+
+	/** Records the matching of an op, with the number of candidates. */
+	public void recordMatch(final Class<?> opClass, final long nanos,
+		final int candidates)
+	{
+		final OpStats s = stats(opClass);
+		s.matches.increment();
+		s.matchNanos.add(nanos);
+		s.candidates.add(candidates);
+		s.maxCandidates.accumulate(candidates);
+	}
+
+	/** Records the initialization of an op. */
+	public void recordInitialize(final Class<?> opClass, final long nanos) {
+		final OpStats s = stats(opClass);
+		s.initializations.increment();
+		s.initializeNanos.add(nanos);
+	}
+
+	/** Records the execution of an op. */
+	public void recordCompute(final Class<?> opClass, final long nanos) {
+		final OpStats s = stats(opClass);
+		s.computations.increment();
+		s.computeNanos.add(nanos);
+	}
+
+	/** Gets the statistics of the given op class, or null if none. */
+	public OpStats get(final Class<?> opClass) {
+		return stats.get(opClass);
+	}
+
+	/** Gets the statistics of all recorded op classes, sorted by class name. */
+	public List<OpStats> all() {
+		final List<OpStats> all = new ArrayList<>(stats.values());
+		all.sort(Comparator.comparing(s -> s.opClass().getName()));
+		return Collections.unmodifiableList(all);
+	}
+
+	/** Discards all recorded statistics. */
+	public void clear() {
+		stats.clear();
+	}
+
+	/** Dumps the recorded statistics as CSV, with one row per op class. */
+	public String toCSV() {
+		final StringBuilder sb = new StringBuilder();
+		sb.append("op,matches,matchNanos,candidates,maxCandidates," +
+			"initializations,initializeNanos,computations,computeNanos\n");
+		for (final OpStats s : all()) {
+			sb.append(s.opClass().getName());
+			for (final long value : s.values()) {
+				sb.append(",").append(value);
+			}
+			sb.append("\n");
+		}
+		return sb.toString();
+	}
+
+	/** Dumps the recorded statistics as a JSON array of objects. */
+	public String toJSON() {
+		final StringBuilder sb = new StringBuilder("[");
+		boolean first = true;
+		for (final OpStats s : all()) {
+			if (first) first = false;
+			else sb.append(",");
+			final long[] v = s.values();
+			sb.append("\n  {\"op\": \"").append(s.opClass().getName());
+			sb.append("\", \"matches\": ").append(v[0]);
+			sb.append(", \"matchNanos\": ").append(v[1]);
+			sb.append(", \"candidates\": ").append(v[2]);
+			sb.append(", \"maxCandidates\": ").append(v[3]);
+			sb.append(", \"initializations\": ").append(v[4]);
+			sb.append(", \"initializeNanos\": ").append(v[5]);
+			sb.append(", \"computations\": ").append(v[6]);
+			sb.append(", \"computeNanos\": ").append(v[7]).append("}");
+		}
+		return sb.append(first ? "]" : "\n]").toString();
+	}
+
+	// -- Helper methods --
+
+	private OpStats stats(final Class<?> opClass) {
+		return stats.computeIfAbsent(opClass, OpStats::new);
+	}
+
+	// -- Helper classes --
+
+	/** Statistics recorded for a single op class. */
+	public static class OpStats {
+
+		private final Class<?> opClass;
+		private final LongAdder matches = new LongAdder();
+		private final LongAdder matchNanos = new LongAdder();
+		private final LongAdder candidates = new LongAdder();
+		private final LongAccumulator maxCandidates = new LongAccumulator(
+			Math::max, 0);
+		private final LongAdder initializations = new LongAdder();
+		private final LongAdder initializeNanos = new LongAdder();
+		private final LongAdder computations = new LongAdder();
+		private final LongAdder computeNanos = new LongAdder();
+
+		private OpStats(final Class<?> opClass) {
+			this.opClass = opClass;
+		}
+
+		/** Gets the op class to which these statistics belong. */
+		public Class<?> opClass() {
+			return opClass;
+		}
+
+		/** Gets the number of recorded matches. */
+		public long getMatches() {
+			return matches.sum();
+		}
+
+		/** Gets the total time spent matching, in nanoseconds. */
+		public long getMatchNanos() {
+			return matchNanos.sum();
+		}
+
+		/** Gets the total number of candidates considered while matching. */
+		public long getCandidates() {
+			return candidates.sum();
+		}
+
+		/** Gets the largest number of candidates considered by one match. */
+		public long getMaxCandidates() {
+			return maxCandidates.get();
+		}
+
+		/** Gets the number of recorded initializations. */
+		public long getInitializations() {
+			return initializations.sum();
+		}
+
+		/** Gets the total time spent initializing, in nanoseconds. */
+		public long getInitializeNanos() {
+			return initializeNanos.sum();
+		}
+
+		/** Gets the number of recorded executions. */
+		public long getComputations() {
+			return computations.sum();
+		}
+
+		/** Gets the total time spent executing, in nanoseconds. */
+		public long getComputeNanos() {
+			return computeNanos.sum();
+		}
+
+		private long[] values() {
+			return new long[] { getMatches(), getMatchNanos(), getCandidates(),
+				getMaxCandidates(), getInitializations(), getInitializeNanos(),
+				getComputations(), getComputeNanos() };
+		}
+
+		@Override
+		public String toString() {
+			return opClass.getName() + ": " + getMatches() + " matches (" +
+				getMatchNanos() + " ns), " + getInitializations() +
+				" initializations (" + getInitializeNanos() + " ns), " +
+				getComputations() + " computations (" + getComputeNanos() + " ns)";
+		}
+
+	}
+
+}
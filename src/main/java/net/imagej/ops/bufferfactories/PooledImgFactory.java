@@ -0,0 +1,194 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.bufferfactories;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import net.imagej.ops.special.UnaryOutputFactory;
+import net.imglib2.img.Img;
+import net.imglib2.type.Type;
+
+/**
+ * {@link BufferPool} of {@link Img}s, which recycles the outputs of another
+ * {@link UnaryOutputFactory}, such as {@link ImgImgFactory} or
+ * {@link ImgImgSameTypeFactory}, across invocations. Released images are kept
+ * per dimensions, element type and storage of the input they were created
+ * for; at most {@link #getMaxPerKey()} are kept per such key.
+ * <p>
+ * The counters {@link #getAllocations()}, {@link #getReuses()} and
+ * {@link #getElementsSaved()} report how many images were actually created and
+ * how many allocations the pool saved.
+ * </p>
+ * 
+ * @param <T> element type of inputs
+ * @param <V> element type of the pooled images
+ */
+public class PooledImgFactory<T extends Type<T>, V extends Type<V>> implements
+	BufferPool<Img<T>, Img<V>>
+{
+
+	/** Default number of images kept per key. */
+	public static final int DEFAULT_MAX_PER_KEY = 2;
+
+	private final UnaryOutputFactory<Img<T>, Img<V>> factory;
+
+	private final int maxPerKey;
+
+	/** Released images, per key. */
+	private final Map<Key, Deque<Img<V>>> pool = new HashMap<>();
+
+	/** Keys of the images which are currently handed out. */
+	private final Map<Img<V>, Key> lent = new IdentityHashMap<>();
+
+	private long allocations;
+	private long reuses;
+	private long elementsSaved;
+
+	/**
+	 * @param factory used to create images which cannot be taken from the pool
+	 */
+	public PooledImgFactory(final UnaryOutputFactory<Img<T>, Img<V>> factory) {
+		this(factory, DEFAULT_MAX_PER_KEY);
+	}
+
+	/**
+	 * @param factory used to create images which cannot be taken from the pool
+	 * @param maxPerKey maximum number of released images kept per key
+	 */
+	public PooledImgFactory(final UnaryOutputFactory<Img<T>, Img<V>> factory,
+		final int maxPerKey)
+	{
+		this.factory = factory;
+		this.maxPerKey = maxPerKey;
+	}
+
+	// -- PooledImgFactory methods --
+
+	/** @return maximum number of released images kept per key */
+	public int getMaxPerKey() {
+		return maxPerKey;
+	}
+
+	/** @return number of images created by the wrapped factory */
+	public synchronized long getAllocations() {
+		return allocations;
+	}
+
+	/** @return number of images handed out again instead of being created */
+	public synchronized long getReuses() {
+		return reuses;
+	}
+
+	/** @return total number of elements of the reused images */
+	public synchronized long getElementsSaved() {
+		return elementsSaved;
+	}
+
+	/** Drops all released images. */
+	public synchronized void clear() {
+		pool.clear();
+	}
+
+	// -- UnaryOutputFactory methods --
+
+	@Override
+	public Img<V> createOutput(final Img<T> input) {
+		final Key key = new Key(input);
+		synchronized (this) {
+			final Deque<Img<V>> free = pool.get(key);
+			if (free != null && !free.isEmpty()) {
+				final Img<V> output = free.pop();
+				lent.put(output, key);
+				reuses++;
+				elementsSaved += output.size();
+				return output;
+			}
+		}
+		final Img<V> output = factory.createOutput(input);
+		synchronized (this) {
+			lent.put(output, key);
+			allocations++;
+		}
+		return output;
+	}
+
+	// -- BufferPool methods --
+
+	@Override
+	public synchronized void release(final Img<V> output) {
+		final Key key = lent.remove(output);
+		if (key == null) return;
+		Deque<Img<V>> free = pool.get(key);
+		if (free == null) {
+			free = new ArrayDeque<>(maxPerKey);
+			pool.put(key, free);
+		}
+		if (free.size() < maxPerKey) free.push(output);
+	}
+
+	// -- Helper classes --
+
+	/** Dimensions, element type and storage of an input image. */
+	private static final class Key {
+
+		private final long[] dims;
+		private final Class<?> type;
+		private final Class<?> storage;
+
+		private Key(final Img<?> img) {
+			dims = new long[img.numDimensions()];
+			img.dimensions(dims);
+			type = img.firstElement().getClass();
+			storage = img.factory().getClass();
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if (!(o instanceof Key)) return false;
+			final Key other = (Key) o;
+			return type == other.type && storage == other.storage && Arrays.equals(
+				dims, other.dims);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * Arrays.hashCode(dims) + type.hashCode()) + storage
+				.hashCode();
+		}
+
+	}
+
+}
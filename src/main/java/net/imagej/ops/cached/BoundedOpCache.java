@@ -0,0 +1,286 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.cached;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import net.imglib2.img.Img;
+import net.imglib2.type.NativeType;
+import net.imglib2.type.numeric.RealType;
+
+/**
+ * A memory-bounded cache for the outputs of a {@link CachedOpEnvironment}.
+ * <p>
+ * Each entry is charged its estimated footprint in bytes (see
+ * {@link #sizeOf(Object)}); whenever the total exceeds the byte budget,
+ * entries are evicted according to the {@link EvictionPolicy} until it fits
+ * again. Values which alone exceed the budget are not cached at all.
+ * </p>
+ */
+public class BoundedOpCache {
+
+	/** Strategies for choosing which entry to evict. */
+	public enum EvictionPolicy {
+			/** Evict the least recently used entry. */
+			LRU,
+			/** Evict the least frequently used entry; ties go to the least recent. */
+			LFU
+	}
+
+	/** Estimated footprint of objects whose size is not known. */
+	private static final long DEFAULT_SIZE = 64;
+
+	/** Estimated overhead of an array object. */
+	private static final long ARRAY_HEADER = 16;
+
+	private final long maxBytes;
+
+	private final EvictionPolicy policy;
+
+	/** Entries in access order, least recently used first. */
+	private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(16,
+		0.75f, true);
+
+	private long bytes;
+
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	/**
+	 * Creates a cache with the given byte budget and LRU eviction.
+	 *
+	 * @param maxBytes Maximum estimated footprint of all cached values.
+	 */
+	public BoundedOpCache(final long maxBytes) {
+		this(maxBytes, EvictionPolicy.LRU);
+	}
+
+	/**
+	 * Creates a cache with the given byte budget and eviction policy.
+	 *
+	 * @param maxBytes Maximum estimated footprint of all cached values.
+	 * @param policy Strategy for choosing which entries to evict.
+	 */
+	public BoundedOpCache(final long maxBytes, final EvictionPolicy policy) {
+		if (maxBytes < 0) {
+			throw new IllegalArgumentException("Invalid byte budget: " + maxBytes);
+		}
+		this.maxBytes = maxBytes;
+		this.policy = policy;
+	}
+
+	// -- BoundedOpCache methods --
+
+	/** Gets the cached value for the given key, or null if there is none. */
+	public synchronized Object get(final Object key) {
+		final Entry entry = entries.get(key);
+		if (entry == null) {
+			misses++;
+			return null;
+		}
+		hits++;
+		entry.uses++;
+		return entry.value;
+	}
+
+	/**
+	 * Caches the given value, evicting other entries as needed to stay within
+	 * the byte budget.
+	 */
+	public synchronized void put(final Object key, final Object value) {
+		final Entry old = entries.remove(key);
+		if (old != null) bytes -= old.size;
+		if (value == null) return;
+
+		final long size = sizeOf(value);
+		if (size > maxBytes) return;
+
+		bytes += size;
+		entries.put(key, new Entry(value, size));
+		while (bytes > maxBytes) {
+			evict(key);
+		}
+	}
+
+	/**
+	 * Discards the cached values whose keys match the given filter. Statistics
+	 * are retained.
+	 *
+	 * @return The number of discarded values.
+	 */
+	public synchronized int removeIf(final Predicate<Object> keyFilter) {
+		int removed = 0;
+		final Iterator<Map.Entry<Object, Entry>> iter = entries.entrySet()
+			.iterator();
+		while (iter.hasNext()) {
+			final Map.Entry<Object, Entry> e = iter.next();
+			if (!keyFilter.test(e.getKey())) continue;
+			bytes -= e.getValue().size;
+			iter.remove();
+			removed++;
+		}
+		return removed;
+	}
+
+	/** Discards all cached values. Statistics are retained. */
+	public synchronized void clear() {
+		entries.clear();
+		bytes = 0;
+	}
+
+	/** Gets the maximum estimated footprint of all cached values. */
+	public long getMaxBytes() {
+		return maxBytes;
+	}
+
+	/** Gets the strategy for choosing which entries to evict. */
+	public EvictionPolicy getPolicy() {
+		return policy;
+	}
+
+	/** Gets the current estimated footprint of all cached values. */
+	public synchronized long getBytes() {
+		return bytes;
+	}
+
+	/** Gets the number of cached values. */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/** Gets the number of lookups which found a cached value. */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/** Gets the number of lookups which did not find a cached value. */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/** Gets the number of values evicted to stay within the byte budget. */
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * Estimates the memory footprint in bytes of the given value. Primitive
+	 * arrays (including nested ones) and images of {@link NativeType}s are
+	 * measured by their element counts; other objects are charged a small
+	 * constant. Subclasses may override this to account for further types.
+	 */
+	protected long sizeOf(final Object value) {
+		if (value == null) return 0;
+		if (value instanceof Img) return imgSize((Img<?>) value);
+		final Class<?> c = value.getClass();
+		if (!c.isArray()) return DEFAULT_SIZE;
+
+		final Class<?> component = c.getComponentType();
+		if (component == double.class) return array(((double[]) value).length, 8);
+		if (component == long.class) return array(((long[]) value).length, 8);
+		if (component == float.class) return array(((float[]) value).length, 4);
+		if (component == int.class) return array(((int[]) value).length, 4);
+		if (component == short.class) return array(((short[]) value).length, 2);
+		if (component == char.class) return array(((char[]) value).length, 2);
+		if (component == byte.class) return array(((byte[]) value).length, 1);
+		if (component == boolean.class) {
+			return array(((boolean[]) value).length, 1);
+		}
+
+		final Object[] array = (Object[]) value;
+		long size = array(array.length, 8);
+		for (final Object element : array) {
+			size += sizeOf(element);
+		}
+		return size;
+	}
+
+	// -- Helper methods --
+
+	private long imgSize(final Img<?> img) {
+		final long n = img.size();
+		final Object type = n == 0 ? null : img.firstElement();
+		if (type instanceof RealType) {
+			return DEFAULT_SIZE + (n * ((RealType<?>) type).getBitsPerPixel() + 7) /
+				8;
+		}
+		if (type instanceof NativeType) {
+			// NB: Assume the widest primitive entity (8 bytes) per entity.
+			return DEFAULT_SIZE + 8 * ((NativeType<?>) type).getEntitiesPerPixel()
+				.mulCeil(n);
+		}
+		return DEFAULT_SIZE + n * DEFAULT_SIZE;
+	}
+
+	private static long array(final long length, final int bytesPerElement) {
+		return ARRAY_HEADER + length * bytesPerElement;
+	}
+
+	/** Evicts a single entry, other than the given one if possible. */
+	private void evict(final Object keep) {
+		Map.Entry<Object, Entry> victim = null;
+		final Iterator<Map.Entry<Object, Entry>> iter = entries.entrySet()
+			.iterator();
+		while (iter.hasNext()) {
+			final Map.Entry<Object, Entry> e = iter.next();
+			if (e.getKey().equals(keep) && entries.size() > 1) continue;
+			if (policy == EvictionPolicy.LRU) {
+				victim = e;
+				break;
+			}
+			if (victim == null || e.getValue().uses < victim.getValue().uses) {
+				victim = e;
+			}
+		}
+		entries.remove(victim.getKey());
+		bytes -= victim.getValue().size;
+		evictions++;
+	}
+
+	// -- Helper classes --
+
+	private static class Entry {
+
+		private final Object value;
+		private final long size;
+		private long uses;
+
+		public Entry(final Object value, final long size) {
+			this.value = value;
+			this.size = size;
+		}
+	}
+
+}
@@ -0,0 +1,104 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.cached;
+
+import net.imglib2.IterableInterval;
+import net.imglib2.Localizable;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.Sampler;
+import net.imglib2.type.Type;
+
+/**
+ * Strategy for turning the inputs of a cached op into keys of the output
+ * cache of a {@link CachedOpEnvironment}.
+ * <p>
+ * Two inputs whose keys are {@link Object#equals equal} are treated as the
+ * same input, i.e., the cached output computed for one is returned for the
+ * other.
+ * </p>
+ * 
+ * @see ImgCacheKeyStrategy
+ */
+public interface CacheKeyStrategy {
+
+	/** Strategy which uses each input object itself as its key. */
+	CacheKeyStrategy DEFAULT = obj -> obj;
+
+	/**
+	 * Gets the cache key of the given op input.
+	 *
+	 * @param obj The input; may be null.
+	 * @return An object with suitable {@code equals} and {@code hashCode}
+	 *         semantics; may be null if the input is null.
+	 */
+	Object key(Object obj);
+
+	/**
+	 * Gets whether the key of the given input keeps identifying the input's
+	 * current value while it is cached, such that outputs of unary computers
+	 * may be cached for it. This is not the case for per-element proxies such
+	 * as imglib2 {@link Type}s, {@link Sampler}s and {@link Localizable}
+	 * neighborhoods, which cursors reuse and reposition from one element to
+	 * the next.
+	 * <p>
+	 * By default, images are not stable either: their key would be the image
+	 * itself, which the cache then keeps alive along with a copy of each
+	 * output, and in-place modifications would go unnoticed. Strategies with
+	 * suitable image keys, such as {@link ImgCacheKeyStrategy}, override this.
+	 * </p>
+	 *
+	 * @param obj The input; may be null.
+	 */
+	default boolean isStable(final Object obj) {
+		return !(obj instanceof Type || obj instanceof Sampler ||
+			obj instanceof Localizable || obj instanceof RandomAccessibleInterval ||
+			obj instanceof IterableInterval);
+	}
+
+	/**
+	 * Discards the bookkeeping of inputs which have been garbage collected.
+	 *
+	 * @return Whether any keys have become {@link #isStale stale} since the
+	 *         last call.
+	 */
+	default boolean expungeStaleKeys() {
+		return false;
+	}
+
+	/**
+	 * Gets whether the given key refers to an input which has been garbage
+	 * collected, such that the key can never be looked up again.
+	 */
+	default boolean isStale(final Object key) {
+		return false;
+	}
+
+}
@@ -32,7 +32,12 @@ package net.imagej.ops.cached;
 
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 import net.imagej.ops.AbstractOp;
 import net.imagej.ops.CustomOpEnvironment;
@@ -40,8 +45,20 @@ import net.imagej.ops.Op;
 import net.imagej.ops.OpEnvironment;
 import net.imagej.ops.OpInfo;
 import net.imagej.ops.OpRef;
+import net.imagej.ops.Ops;
+import net.imagej.ops.special.BinaryOp;
+import net.imagej.ops.special.computer.UnaryComputerOp;
+import net.imagej.ops.special.function.BinaryFunctionOp;
 import net.imagej.ops.special.function.UnaryFunctionOp;
+import net.imagej.ops.special.hybrid.BinaryHybridCF;
+import net.imagej.ops.special.hybrid.Hybrids;
 import net.imagej.ops.special.hybrid.UnaryHybridCF;
+import net.imagej.ops.special.inplace.UnaryInplaceOp;
+import net.imglib2.Dimensions;
+import net.imglib2.IterableInterval;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.util.Intervals;
+import net.imglib2.util.Util;
 
 import org.scijava.Priority;
 import org.scijava.cache.CacheService;
@@ -53,6 +70,8 @@ import org.scijava.util.GenericUtils;
 
 /**
  * Creates {@link CachedFunctionOp}s which know how to cache their outputs.
+ * Unary and binary functions and hybrids, as well as unary computers which
+ * cannot run in place, are wrapped.
  * 
  * @author Christian Dietz (University of Konstanz)
  */
@@ -62,6 +81,12 @@ public class CachedOpEnvironment extends CustomOpEnvironment {
 	private CacheService cs;
 	private Collection<Class<?>> ignoredOps;
 
+	/** Size-bounded cache to use instead of the {@link CacheService}. */
+	private final BoundedOpCache boundedCache;
+
+	/** Strategy for deriving cache keys from op inputs. */
+	private CacheKeyStrategy keyStrategy = CacheKeyStrategy.DEFAULT;
+
 	public CachedOpEnvironment(final OpEnvironment parent) {
 		this(parent, null, new ArrayList<>());
 	}
@@ -75,6 +100,23 @@ public class CachedOpEnvironment extends CustomOpEnvironment {
 	public CachedOpEnvironment(final OpEnvironment parent,
 		final Collection<? extends OpInfo> prioritizedInfos,
 		final Collection<Class<?>> ignoredOps)
+	{
+		this(parent, prioritizedInfos, ignoredOps, null);
+	}
+
+	/**
+	 * Creates a cached op environment whose outputs are held in the given
+	 * {@link BoundedOpCache} rather than the {@link CacheService}.
+	 *
+	 * @param parent The parent op environment.
+	 * @param prioritizedInfos Ops to prefer over those of the parent, or null.
+	 * @param ignoredOps Op types whose outputs should not be cached.
+	 * @param cache The cache in which to store outputs, or null to use the
+	 *          {@link CacheService}.
+	 */
+	public CachedOpEnvironment(final OpEnvironment parent,
+		final Collection<? extends OpInfo> prioritizedInfos,
+		final Collection<Class<?>> ignoredOps, final BoundedOpCache cache)
 	{
 		super(parent, prioritizedInfos);
 
@@ -83,6 +125,32 @@ public class CachedOpEnvironment extends CustomOpEnvironment {
 		}
 
 		this.ignoredOps = ignoredOps;
+		boundedCache = cache;
+	}
+
+	// -- CachedOpEnvironment methods --
+
+	/**
+	 * Gets the size-bounded cache holding the outputs, or null if outputs are
+	 * held in the {@link CacheService}.
+	 */
+	public BoundedOpCache getBoundedCache() {
+		return boundedCache;
+	}
+
+	/** Gets the strategy for deriving cache keys from op inputs. */
+	public CacheKeyStrategy getKeyStrategy() {
+		return keyStrategy;
+	}
+
+	/**
+	 * Sets the strategy for deriving cache keys from op inputs.
+	 *
+	 * @see ImgCacheKeyStrategy
+	 */
+	public void setKeyStrategy(final CacheKeyStrategy keyStrategy) {
+		this.keyStrategy = keyStrategy == null ? CacheKeyStrategy.DEFAULT
+			: keyStrategy;
 	}
 
 	@Override
@@ -100,12 +168,23 @@ public class CachedOpEnvironment extends CustomOpEnvironment {
 		}
 
 		final Op cachedOp;
-		if (op instanceof UnaryHybridCF) {
+		if (op instanceof BinaryHybridCF) {
+			cachedOp = wrapBinaryHybrid((BinaryHybridCF<?, ?, ?>) op);
+		}
+		else if (op instanceof BinaryFunctionOp) {
+			cachedOp = wrapBinaryFunction((BinaryFunctionOp<?, ?, ?>) op);
+		}
+		else if (op instanceof UnaryHybridCF) {
 			cachedOp = wrapUnaryHybrid((UnaryHybridCF<?, ?>) op);
 		}
 		else if (op instanceof UnaryFunctionOp) {
 			cachedOp = wrapUnaryFunction((UnaryFunctionOp<?, ?>) op);
 		}
+		else if (op instanceof UnaryComputerOp && !(op instanceof BinaryOp) &&
+			!(op instanceof UnaryInplaceOp))
+		{
+			cachedOp = wrapUnaryComputer((UnaryComputerOp<?, ?>) op);
+		}
 		else return op;
 
 		getContext().inject(cachedOp);
@@ -114,6 +193,129 @@ public class CachedOpEnvironment extends CustomOpEnvironment {
 
 	// -- Helper methods --
 
+	/** Creates the cache key of the given op applied to the given input. */
+	private Hash hash(final Object input, final Op delegate,
+		final Object[] args)
+	{
+		final Object[] argKeys = new Object[args.length];
+		for (int i = 0; i < args.length; i++) {
+			argKeys[i] = keyStrategy.key(args[i]);
+		}
+		return new Hash(keyStrategy.key(input), delegate, argKeys);
+	}
+
+	/**
+	 * Creates the cache key of the given computer applied to the given input.
+	 * The key includes the signature of the output, so that a computer which
+	 * is reused with outputs of different types or sizes never copies a cached
+	 * result into an incompatible output.
+	 */
+	private Hash hash(final Object input, final Op delegate,
+		final Object[] args, final Object output)
+	{
+		final Object[] argKeys = new Object[args.length + 1];
+		for (int i = 0; i < args.length; i++) {
+			argKeys[i] = keyStrategy.key(args[i]);
+		}
+		argKeys[args.length] = signature(output);
+		return new Hash(keyStrategy.key(input), delegate, argKeys);
+	}
+
+	/**
+	 * Gets the class of the given output plus, for images, its dimensions and
+	 * element class.
+	 */
+	private static List<Object> signature(final Object output) {
+		final List<Object> signature = new ArrayList<>();
+		signature.add(output.getClass());
+		if (output instanceof Dimensions) {
+			for (final long d : Intervals.dimensionsAsLongArray(
+				(Dimensions) output))
+			{
+				signature.add(d);
+			}
+		}
+		signature.add(elementClass(output));
+		return signature;
+	}
+
+	/**
+	 * Gets the class of the elements of the given image, or null if it is no
+	 * image or has no elements.
+	 */
+	private static Class<?> elementClass(final Object output) {
+		if (output instanceof IterableInterval) {
+			final IterableInterval<?> ii = (IterableInterval<?>) output;
+			if (ii.size() > 0) return ii.firstElement().getClass();
+		}
+		else if (output instanceof RandomAccessibleInterval) {
+			final RandomAccessibleInterval<?> rai =
+				(RandomAccessibleInterval<?>) output;
+			if (Intervals.numElements(rai) > 0) {
+				return Util.getTypeFromInterval(rai).getClass();
+			}
+		}
+		return null;
+	}
+
+	/** Creates the cache key of the given op applied to the given inputs. */
+	private Hash hash(final Object input1, final Object input2,
+		final Op delegate, final Object[] args)
+	{
+		final Object[] allArgs = new Object[args.length + 1];
+		allArgs[0] = input2;
+		System.arraycopy(args, 0, allArgs, 1, args.length);
+		return hash(input1, delegate, allArgs);
+	}
+
+	/**
+	 * Gets an op which copies values like the given one, or null if no such op
+	 * is known. The op is matched in the parent environment, so that its own
+	 * outputs are not cached.
+	 */
+	private <O> UnaryHybridCF<O, O> copier(final O sample) {
+		final Class<? extends Op> copyType;
+		if (sample instanceof net.imglib2.type.Type) {
+			copyType = Ops.Copy.Type.class;
+		}
+		else if (sample instanceof RandomAccessibleInterval) {
+			copyType = Ops.Copy.RAI.class;
+		}
+		else if (sample instanceof IterableInterval) {
+			copyType = Ops.Copy.IterableInterval.class;
+		}
+		else return null;
+		try {
+			return Hybrids.unaryCF(parent(), copyType, sample, sample);
+		}
+		catch (final IllegalArgumentException exc) {
+			// NB: No copy op for this kind of output.
+			return null;
+		}
+	}
+
+	private Object cacheGet(final Object key) {
+		expungeStaleEntries();
+		return boundedCache == null ? cs.get(key) : boundedCache.get(key);
+	}
+
+	private void cachePut(final Object key, final Object value) {
+		if (boundedCache == null) cs.put(key, value);
+		else boundedCache.put(key, value);
+	}
+
+	/**
+	 * Discards the outputs cached for inputs which have been garbage collected.
+	 * Such entries can never be looked up again, but would otherwise keep their
+	 * outputs alive until evicted. Entries of the {@link CacheService} are left
+	 * to its own eviction.
+	 */
+	private void expungeStaleEntries() {
+		if (!keyStrategy.expungeStaleKeys() || boundedCache == null) return;
+		boundedCache.removeIf(key -> key instanceof Hash && ((Hash) key)
+			.isStale());
+	}
+
 	private <I, O> CachedFunctionOp<I, O> wrapUnaryFunction(
 		final UnaryFunctionOp<I, O> op)
 	{
@@ -126,6 +328,24 @@ public class CachedOpEnvironment extends CustomOpEnvironment {
 		return new CachedHybridOp<>(op, otherArgs(op, 2));
 	}
 
+	private <I, O> CachedComputerOp<I, O> wrapUnaryComputer(
+		final UnaryComputerOp<I, O> op)
+	{
+		return new CachedComputerOp<>(op, otherArgs(op, 2));
+	}
+
+	private <I1, I2, O> CachedBinaryFunctionOp<I1, I2, O> wrapBinaryFunction(
+		final BinaryFunctionOp<I1, I2, O> op)
+	{
+		return new CachedBinaryFunctionOp<>(op, otherArgs(op, 2));
+	}
+
+	private <I1, I2, O> CachedBinaryHybridOp<I1, I2, O> wrapBinaryHybrid(
+		final BinaryHybridCF<I1, I2, O> op)
+	{
+		return new CachedBinaryHybridOp<>(op, otherArgs(op, 3));
+	}
+
 	/**
 	 * Gets the given {@link Op} instance's argument value, starting at the
 	 * specified offset.
@@ -155,9 +375,6 @@ public class CachedOpEnvironment extends CustomOpEnvironment {
 		UnaryFunctionOp<I, O>
 	{
 
-		@Parameter
-		private CacheService cache;
-
 		private final UnaryFunctionOp<I, O> delegate;
 
 		private final Object[] args;
@@ -172,14 +389,14 @@ public class CachedOpEnvironment extends CustomOpEnvironment {
 		@Override
 		public O calculate(final I input) {
 
-			final Hash hash = new Hash(input, delegate, args);
+			final Hash hash = hash(input, delegate, args);
 
 			@SuppressWarnings("unchecked")
-			O output = (O) cache.get(hash);
+			O output = (O) cacheGet(hash);
 
 			if (output == null) {
 				output = delegate.calculate(input);
-				cache.put(hash, output);
+				cachePut(hash, output);
 			}
 			return output;
 		}
@@ -229,9 +446,6 @@ public class CachedOpEnvironment extends CustomOpEnvironment {
 		UnaryHybridCF<I, O>
 	{
 
-		@Parameter
-		private CacheService cache;
-
 		private final UnaryHybridCF<I, O> delegate;
 
 		private final Object[] args;
@@ -246,15 +460,15 @@ public class CachedOpEnvironment extends CustomOpEnvironment {
 
 		@Override
 		public O calculate(final I input) {
-			final Hash hash = new Hash(input, delegate, args);
+			final Hash hash = hash(input, delegate, args);
 
 			@SuppressWarnings("unchecked")
-			O output = (O) cache.get(hash);
+			O output = (O) cacheGet(hash);
 
 			if (output == null) {
 				output = createOutput(input);
 				compute(input, output);
-				cache.put(hash, output);
+				cachePut(hash, output);
 			}
 			return output;
 		}
@@ -281,21 +495,281 @@ public class CachedOpEnvironment extends CustomOpEnvironment {
 	}
 
 	/**
-	 * Simple utility class to wrap two objects and an array of objects in a
-	 * single object which combines their hashes.
+	 * Wraps a {@link UnaryComputerOp} and caches the results. For previously
+	 * seen inputs, the cached result is copied into the given output rather than
+	 * being recomputed.
+	 * <p>
+	 * Results are only cached if they can be copied with one of the
+	 * {@link Ops.Copy} ops, and only for inputs whose keys are
+	 * {@link CacheKeyStrategy#isStable stable}; otherwise, the computer is
+	 * simply delegated to. Computers mapped over the elements or neighborhoods
+	 * of an image are therefore never served from the cache, and neither are
+	 * computers on images unless a {@link CacheKeyStrategy} such as
+	 * {@link ImgCacheKeyStrategy} declares them stable. A copy of each cached
+	 * output is held by the cache.
+	 * </p>
+	 * <p>
+	 * The copy op is matched once per kind of output, i.e., per class of the
+	 * output and of its elements.
+	 * </p>
+	 * 
+	 * @param <I>
+	 * @param <O>
+	 */
+	class CachedComputerOp<I, O> extends AbstractOp implements
+		UnaryComputerOp<I, O>
+	{
+
+		private final UnaryComputerOp<I, O> delegate;
+
+		private final Object[] args;
+
+		private final Map<List<Class<?>>, UnaryHybridCF<O, O>> copiers =
+			new HashMap<>();
+
+		public CachedComputerOp(final UnaryComputerOp<I, O> delegate,
+			final Object[] args)
+		{
+			this.delegate = delegate;
+			this.args = args;
+		}
+
+		@Override
+		public void compute(final I input, final O output) {
+			final UnaryHybridCF<O, O> copier = keyStrategy.isStable(input)
+				? copier(output) : null;
+			if (copier == null) {
+				delegate.compute(input, output);
+				return;
+			}
+
+			final Hash hash = hash(input, delegate, args, output);
+
+			@SuppressWarnings("unchecked")
+			final O cached = (O) cacheGet(hash);
+
+			if (cached == null) {
+				delegate.compute(input, output);
+				cachePut(hash, copier.calculate(output));
+			}
+			else copier.compute(cached, output);
+		}
+
+		/** Gets the copy op matching the kind of the given output. */
+		private UnaryHybridCF<O, O> copier(final O output) {
+			final List<Class<?>> kind = Arrays.asList(output.getClass(),
+				elementClass(output));
+			synchronized (copiers) {
+				if (!copiers.containsKey(kind)) {
+					copiers.put(kind, CachedOpEnvironment.this.copier(output));
+				}
+				return copiers.get(kind);
+			}
+		}
+
+		@Override
+		public void run() {
+			delegate.run();
+		}
+
+		@Override
+		public I in() {
+			return delegate.in();
+		}
+
+		@Override
+		public void setInput(final I input) {
+			delegate.setInput(input);
+		}
+
+		@Override
+		public O out() {
+			return delegate.out();
+		}
+
+		@Override
+		public void setOutput(final O output) {
+			delegate.setOutput(output);
+		}
+
+		@Override
+		public void initialize() {
+			delegate.initialize();
+		}
+
+		@Override
+		public CachedComputerOp<I, O> getIndependentInstance() {
+			return this;
+		}
+
+	}
+
+	/**
+	 * Wraps a {@link BinaryFunctionOp} and caches the results. New pairs of
+	 * inputs will result in re-computation of the result.
+	 * 
+	 * @param <I1>
+	 * @param <I2>
+	 * @param <O>
+	 */
+	class CachedBinaryFunctionOp<I1, I2, O> extends AbstractOp implements
+		BinaryFunctionOp<I1, I2, O>
+	{
+
+		private final BinaryFunctionOp<I1, I2, O> delegate;
+
+		private final Object[] args;
+
+		public CachedBinaryFunctionOp(final BinaryFunctionOp<I1, I2, O> delegate,
+			final Object[] args)
+		{
+			this.delegate = delegate;
+			this.args = args;
+		}
+
+		@Override
+		public O calculate(final I1 input1, final I2 input2) {
+			final Hash hash = hash(input1, input2, delegate, args);
+
+			@SuppressWarnings("unchecked")
+			O output = (O) cacheGet(hash);
+
+			if (output == null) {
+				output = delegate.calculate(input1, input2);
+				cachePut(hash, output);
+			}
+			return output;
+		}
+
+		@Override
+		public void run() {
+			delegate.run();
+		}
+
+		@Override
+		public I1 in1() {
+			return delegate.in1();
+		}
+
+		@Override
+		public I2 in2() {
+			return delegate.in2();
+		}
+
+		@Override
+		public void setInput1(final I1 input1) {
+			delegate.setInput1(input1);
+		}
+
+		@Override
+		public void setInput2(final I2 input2) {
+			delegate.setInput2(input2);
+		}
+
+		@Override
+		public O out() {
+			return delegate.out();
+		}
+
+		@Override
+		public void initialize() {
+			delegate.initialize();
+		}
+
+		@Override
+		public CachedBinaryFunctionOp<I1, I2, O> getIndependentInstance() {
+			return this;
+		}
+
+	}
+
+	/**
+	 * Wraps a {@link BinaryHybridCF} and caches the results. New pairs of inputs
+	 * will result in re-computation if {@link BinaryHybridCF} is used as
+	 * {@link BinaryFunctionOp}.
+	 * 
+	 * @param <I1>
+	 * @param <I2>
+	 * @param <O>
+	 */
+	class CachedBinaryHybridOp<I1, I2, O> extends
+		CachedBinaryFunctionOp<I1, I2, O> implements BinaryHybridCF<I1, I2, O>
+	{
+
+		private final BinaryHybridCF<I1, I2, O> delegate;
+
+		private final Object[] args;
+
+		public CachedBinaryHybridOp(final BinaryHybridCF<I1, I2, O> delegate,
+			final Object[] args)
+		{
+			super(delegate, args);
+			this.delegate = delegate;
+			this.args = args;
+		}
+
+		@Override
+		public O calculate(final I1 input1, final I2 input2) {
+			final Hash hash = hash(input1, input2, delegate, args);
+
+			@SuppressWarnings("unchecked")
+			O output = (O) cacheGet(hash);
+
+			if (output == null) {
+				output = createOutput(input1, input2);
+				compute(input1, input2, output);
+				cachePut(hash, output);
+			}
+			return output;
+		}
+
+		@Override
+		public O createOutput(final I1 input1, final I2 input2) {
+			return delegate.createOutput(input1, input2);
+		}
+
+		@Override
+		public void compute(final I1 input1, final I2 input2, final O output) {
+			delegate.compute(input1, input2, output);
+		}
+
+		@Override
+		public void setOutput(final O output) {
+			delegate.setOutput(output);
+		}
+
+		@Override
+		public CachedBinaryHybridOp<I1, I2, O> getIndependentInstance() {
+			return this;
+		}
+	}
+
+	/**
+	 * Simple utility class to wrap the key of an input, the class of an op and
+	 * the keys of its other arguments in a single object.
 	 */
 	private class Hash {
 
+		private final Object input;
+		private final Class<?> opClass;
+		private final Object[] args;
 		private final int hash;
 
-		public Hash(final Object o1, final Object o2, final Object[] args) {
-			long h = o1.hashCode() ^ o2.getClass().getSimpleName().hashCode();
+		public Hash(final Object input, final Object op, final Object[] args) {
+			this.input = input;
+			this.opClass = op.getClass();
+			this.args = args;
+			hash = 31 * (31 * Objects.hashCode(input) + opClass.hashCode()) + Arrays
+				.hashCode(args);
+		}
 
-			for (final Object o : args) {
-				h ^= o.hashCode();
+		/** Gets whether any of the keys has been garbage collected. */
+		public boolean isStale() {
+			if (keyStrategy.isStale(input)) return true;
+			for (final Object arg : args) {
+				if (keyStrategy.isStale(arg)) return true;
 			}
-
-			hash = (int) h;
+			return false;
 		}
 
 		@Override
@@ -306,8 +780,10 @@ public class CachedOpEnvironment extends CustomOpEnvironment {
 		@Override
 		public boolean equals(final Object obj) {
 			if (obj == this) return true;
-			if (obj instanceof Hash) return hash == ((Hash) obj).hash;
-			return false;
+			if (!(obj instanceof Hash)) return false;
+			final Hash that = (Hash) obj;
+			return hash == that.hash && opClass == that.opClass && Objects.equals(
+				input, that.input) && Arrays.equals(args, that.args);
 		}
 	}
 }
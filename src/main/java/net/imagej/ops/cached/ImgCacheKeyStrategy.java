@@ -0,0 +1,369 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.cached;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import net.imglib2.IterableInterval;
+import net.imglib2.Localizable;
+import net.imglib2.RandomAccessible;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.Sampler;
+import net.imglib2.img.Img;
+import net.imglib2.transform.integer.MixedTransform;
+import net.imglib2.type.Type;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.util.Intervals;
+import net.imglib2.view.IntervalView;
+import net.imglib2.view.MixedTransformView;
+import net.imglib2.view.Views;
+
+/**
+ * {@link CacheKeyStrategy} tailored to images.
+ * <ul>
+ * <li>Small intervals of {@link RealType}s (up to a configurable number of
+ * elements) are keyed by their content in flat iteration order. The values
+ * are copied when the key is created, but only hashed when the key is first
+ * looked up.</li>
+ * <li>{@link IntervalView}s and {@link MixedTransformView}s are keyed by the
+ * key of their source plus their interval or transform, so that distinct view
+ * objects onto the same region of the same source are equal keys.</li>
+ * <li>Other {@link Img}s are keyed by identity plus a modification stamp.
+ * Since images do not track their own modifications, callers which change an
+ * image in place must call {@link #markModified(Object)} afterwards, so that
+ * outputs cached for the previous content are no longer returned. Images
+ * are only weakly referenced and compared by identity, regardless of their
+ * {@code equals} methods; once an image has been garbage collected, its keys
+ * become {@link #isStale stale}.</li>
+ * <li>All other objects are their own key.</li>
+ * </ul>
+ */
+public class ImgCacheKeyStrategy implements CacheKeyStrategy {
+
+	/** Default maximum number of elements for content-based keys. */
+	public static final long DEFAULT_CONTENT_THRESHOLD = 4096;
+
+	private final long contentThreshold;
+
+	/** Weak references to the images keyed by identity, with their stamps. */
+	private final Map<IdentityRef, IdentityRef> refs = new HashMap<>();
+
+	/** Queue of references to images which have been garbage collected. */
+	private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+	/** Whether references have been expunged since the last report. */
+	private boolean expunged;
+
+	public ImgCacheKeyStrategy() {
+		this(DEFAULT_CONTENT_THRESHOLD);
+	}
+
+	/**
+	 * @param contentThreshold Maximum number of elements of an image to be keyed
+	 *          by its content.
+	 */
+	public ImgCacheKeyStrategy(final long contentThreshold) {
+		this.contentThreshold = contentThreshold;
+	}
+
+	// -- ImgCacheKeyStrategy methods --
+
+	/**
+	 * Notes that the given image has been modified, invalidating all cache keys
+	 * created for it by identity.
+	 */
+	public void markModified(final Object img) {
+		synchronized (refs) {
+			ref(img).stamp++;
+		}
+	}
+
+	// -- CacheKeyStrategy methods --
+
+	@Override
+	public Object key(final Object obj) {
+		if (obj instanceof RandomAccessibleInterval) {
+			// NB: Compare in flat order, regardless of the storage layout.
+			final IterableInterval<?> flat = Views.flatIterable(
+				(RandomAccessibleInterval<?>) obj);
+			if (isSmall(flat)) return new ContentKey(flat);
+		}
+		if (obj instanceof IntervalView) {
+			final IntervalView<?> view = (IntervalView<?>) obj;
+			return new ViewKey(key(view.getSource()), Intervals.minAsLongArray(view),
+				Intervals.maxAsLongArray(view));
+		}
+		if (obj instanceof MixedTransformView) {
+			final MixedTransformView<?> view = (MixedTransformView<?>) obj;
+			return new ViewKey(key(view.getSource()), transform(view
+				.getTransformToSource()));
+		}
+		if (obj instanceof Img) {
+			synchronized (refs) {
+				drain();
+				final IdentityRef ref = ref(obj);
+				return new IdentityKey(ref, ref.stamp);
+			}
+		}
+		return obj;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * {@link Img}s, small images and views onto them are stable, since their
+	 * keys neither keep them alive nor outlast a {@link #markModified
+	 * modification}. Other images are their own key and hence not stable.
+	 * </p>
+	 */
+	@Override
+	public boolean isStable(final Object obj) {
+		if (obj instanceof Type || obj instanceof Sampler ||
+			obj instanceof Localizable) return false;
+		if (obj instanceof Img) return true;
+		if (obj instanceof IntervalView) {
+			return isStable(((IntervalView<?>) obj).getSource());
+		}
+		if (obj instanceof MixedTransformView) {
+			return isStable(((MixedTransformView<?>) obj).getSource());
+		}
+		if (obj instanceof RandomAccessibleInterval) {
+			return isSmall(Views.flatIterable((RandomAccessibleInterval<?>) obj));
+		}
+		return !(obj instanceof RandomAccessible ||
+			obj instanceof IterableInterval);
+	}
+
+	@Override
+	public boolean expungeStaleKeys() {
+		synchronized (refs) {
+			drain();
+			final boolean result = expunged;
+			expunged = false;
+			return result;
+		}
+	}
+
+	@Override
+	public boolean isStale(final Object key) {
+		if (key instanceof IdentityKey) return ((IdentityKey) key).ref
+			.get() == null;
+		if (key instanceof ViewKey) return isStale(((ViewKey) key).source);
+		return false;
+	}
+
+	// -- Helper methods --
+
+	private boolean isSmall(final IterableInterval<?> ii) {
+		return ii.size() <= contentThreshold && ii.size() > 0 && ii
+			.firstElement() instanceof RealType;
+	}
+
+	/**
+	 * Forgets the references to images which have been garbage collected; must
+	 * hold the lock. Called whenever a key is created, so that the references
+	 * do not pile up even if {@link #expungeStaleKeys()} is never called.
+	 */
+	private void drain() {
+		for (Reference<?> r; (r = queue.poll()) != null;) {
+			refs.remove(r);
+			expunged = true;
+		}
+	}
+
+	/** Gets the canonical reference to the given image; must hold the lock. */
+	private IdentityRef ref(final Object img) {
+		final IdentityRef lookup = new IdentityRef(img, null);
+		IdentityRef ref = refs.get(lookup);
+		if (ref == null) {
+			ref = new IdentityRef(img, queue);
+			refs.put(ref, ref);
+		}
+		return ref;
+	}
+
+	private static long[] transform(final MixedTransform t) {
+		final int n = t.numSourceDimensions();
+		final int m = t.numTargetDimensions();
+		final long[] translation = new long[m];
+		final int[] mapping = new int[m];
+		final boolean[] zero = new boolean[m];
+		final boolean[] inversion = new boolean[m];
+		t.getTranslation(translation);
+		t.getComponentMapping(mapping);
+		t.getComponentZero(zero);
+		t.getComponentInversion(inversion);
+
+		final long[] signature = new long[2 + 4 * m];
+		signature[0] = n;
+		signature[1] = m;
+		for (int d = 0; d < m; d++) {
+			signature[2 + 4 * d] = translation[d];
+			signature[3 + 4 * d] = mapping[d];
+			signature[4 + 4 * d] = zero[d] ? 1 : 0;
+			signature[5 + 4 * d] = inversion[d] ? 1 : 0;
+		}
+		return signature;
+	}
+
+	// -- Helper classes --
+
+	/** Key comparing a snapshot of the values of a small image. */
+	private static class ContentKey {
+
+		private final Class<?> type;
+		private final long[] min, max;
+		private final double[] values;
+		private int hash;
+		private boolean hashed;
+
+		public ContentKey(final IterableInterval<?> ii) {
+			type = ii.firstElement().getClass();
+			min = Intervals.minAsLongArray(ii);
+			max = Intervals.maxAsLongArray(ii);
+			values = new double[(int) ii.size()];
+			int i = 0;
+			for (final Object t : ii) {
+				values[i++] = ((RealType<?>) t).getRealDouble();
+			}
+		}
+
+		@Override
+		public int hashCode() {
+			if (!hashed) {
+				hash = Objects.hash(type, Arrays.hashCode(min), Arrays.hashCode(max),
+					Arrays.hashCode(values));
+				hashed = true;
+			}
+			return hash;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (obj == this) return true;
+			if (!(obj instanceof ContentKey)) return false;
+			final ContentKey that = (ContentKey) obj;
+			return type == that.type && Arrays.equals(min, that.min) && Arrays
+				.equals(max, that.max) && Arrays.equals(values, that.values);
+		}
+	}
+
+	/** Key of a view: the key of its source plus the view's geometry. */
+	private static class ViewKey {
+
+		private final Object source;
+		private final long[][] geometry;
+
+		public ViewKey(final Object source, final long[]... geometry) {
+			this.source = source;
+			this.geometry = geometry;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * Objects.hashCode(source) + Arrays.deepHashCode(geometry);
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (obj == this) return true;
+			if (!(obj instanceof ViewKey)) return false;
+			final ViewKey that = (ViewKey) obj;
+			return Objects.equals(source, that.source) && Arrays.deepEquals(geometry,
+				that.geometry);
+		}
+	}
+
+	/**
+	 * Weak reference to an image, compared by the identity of the image. Once
+	 * cleared, a reference is only equal to itself.
+	 */
+	private static class IdentityRef extends WeakReference<Object> {
+
+		private final int identityHash;
+		private long stamp;
+
+		public IdentityRef(final Object obj,
+			final ReferenceQueue<Object> queue)
+		{
+			super(obj, queue);
+			identityHash = System.identityHashCode(obj);
+		}
+
+		@Override
+		public int hashCode() {
+			return identityHash;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (obj == this) return true;
+			if (!(obj instanceof IdentityRef)) return false;
+			final Object referent = get();
+			return referent != null && referent == ((IdentityRef) obj).get();
+		}
+	}
+
+	/**
+	 * Key of an image by identity and modification stamp. The image itself is
+	 * only weakly referenced, so that cache keys do not keep it alive.
+	 */
+	private static class IdentityKey {
+
+		private final IdentityRef ref;
+		private final long stamp;
+
+		public IdentityKey(final IdentityRef ref, final long stamp) {
+			this.ref = ref;
+			this.stamp = stamp;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * ref.hashCode() + Long.hashCode(stamp);
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (obj == this) return true;
+			if (!(obj instanceof IdentityKey)) return false;
+			final IdentityKey that = (IdentityKey) obj;
+			return ref == that.ref && ref.get() != null && stamp == that.stamp;
+		}
+	}
+
+}
@@ -44,6 +44,7 @@ import net.imagej.ops.special.function.UnaryFunctionOp;
 import net.imagej.ops.special.hybrid.Hybrids;
 import net.imagej.ops.special.hybrid.UnaryHybridCF;
 import net.imagej.ops.special.inplace.UnaryInplaceOp;
+import net.imagej.ops.thread.OpMonitor;
 import net.imglib2.Dimensions;
 import net.imglib2.FinalInterval;
 import net.imglib2.Interval;
@@ -173,8 +174,12 @@ public class RichardsonLucyC<I extends RealType<I>, O extends RealType<O>, K ext
 
 		// -- perform iterations --
 
+		final OpMonitor monitor = OpMonitor.of(ops());
+
 		for (int i = 0; i < getMaxIterations(); i++) {
 
+			monitor.checkCanceled();
+
 			if (status != null) {
 				status.showProgress(i, getMaxIterations());
 			}
@@ -202,6 +207,8 @@ public class RichardsonLucyC<I extends RealType<I>, O extends RealType<O>, K ext
 			if (getAccelerator() != null) {
 				getAccelerator().mutate(raiExtendedEstimate);
 			}
+
+			monitor.progress(this, i + 1, getMaxIterations());
 		}
 
 		// -- copy crop padded back to original size
@@ -40,6 +40,7 @@ import net.imagej.ops.create.img.CreateImgFromDimsAndType;
 import net.imagej.ops.special.function.Functions;
 import net.imagej.ops.special.function.UnaryFunctionOp;
 import net.imagej.ops.special.hybrid.AbstractUnaryHybridCF;
+import net.imagej.ops.thread.OpExecutor;
 import net.imagej.ops.thread.chunker.CursorBasedChunk;
 import net.imglib2.Cursor;
 import net.imglib2.FinalInterval;
@@ -60,7 +61,6 @@ import net.imglib2.view.composite.GenericComposite;
 
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
-import org.scijava.thread.ThreadService;
 
 /**
  * Calculates a histogram of oriented gradients which is a feature descriptor.
@@ -99,12 +99,9 @@ public class HistogramOfOrientedGradients2D<T extends RealType<T>>
 
 	private ExecutorService es;
 
-	@Parameter
-	private ThreadService ts;
-
 	@Override
 	public void initialize() {
-		es = ts.getExecutorService();
+		es = OpExecutor.of(ops()).executorService();
 
 		createOp = Functions.unary(ops(), CreateImgFromDimsAndType.class, RandomAccessibleInterval.class,
 				new FinalInterval(in().dimension(0), in().dimension(1), numOrientations), new FloatType());
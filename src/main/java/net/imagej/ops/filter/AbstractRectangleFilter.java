@@ -0,0 +1,561 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.filter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.imagej.ops.Contingent;
+import net.imagej.ops.Parallel;
+import net.imagej.ops.special.computer.AbstractUnaryComputerOp;
+import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imagej.ops.thread.chunker.LongChunk;
+import net.imglib2.FinalDimensions;
+import net.imglib2.IterableInterval;
+import net.imglib2.RandomAccess;
+import net.imglib2.RandomAccessible;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.algorithm.neighborhood.Neighborhood;
+import net.imglib2.algorithm.neighborhood.RectangleShape;
+import net.imglib2.algorithm.neighborhood.Shape;
+import net.imglib2.img.Img;
+import net.imglib2.outofbounds.OutOfBoundsBorderFactory;
+import net.imglib2.outofbounds.OutOfBoundsFactory;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.type.numeric.real.DoubleType;
+import net.imglib2.util.Intervals;
+import net.imglib2.view.Views;
+
+import org.scijava.plugin.Parameter;
+
+/**
+ * Abstract superclass of neighborhood filters which slide a
+ * {@link RectangleShape} window along the lines of an image.
+ * <p>
+ * {@link #isSeparable() Separable} filters, such as the minimum, maximum and
+ * mean, filter one dimension after the other with a window of single values,
+ * i.e. 2r+1 values wide. With monotonic deques or running sums as
+ * {@link Window}, each pass takes amortized constant time per element, so a
+ * whole filter takes O(n) time per element, regardless of the radius r. The
+ * passes but the last write to intermediate images, which extend the output
+ * by r in each dimension not yet filtered. To bound their memory, the output
+ * is cut along its last dimension into tiles of about {@link #tileSize()}
+ * elements, and the passes of a tile alternate between two intermediate
+ * buffers of the size of one tile, which are reused for all tiles. The
+ * intermediates are {@code double}s, unless the filter
+ * {@link #getIntermediateType chooses} another type.
+ * </p>
+ * <p>
+ * Other filters, such as the median, slide an n-dimensional window along the
+ * first dimension. Instead of visiting all (2r+1)<sup>n</sup> values of each
+ * neighborhood, the {@link Window} is updated with the slab of
+ * (2r+1)<sup>n-1</sup> values entering it and the slab leaving it, so such a
+ * filter reads (2r+1)<sup>n-1</sup> values per element.
+ * </p>
+ * <p>
+ * Each line is processed in one sweep, and the lines are distributed among
+ * threads. Other shapes, and rectangles skipping their center, are left to the
+ * generic {@link AbstractNeighborhoodBasedFilter}s.
+ * </p>
+ * 
+ * @param <I> input type
+ * @param <O> output type
+ */
+public abstract class AbstractRectangleFilter<I extends RealType<I>, O extends RealType<O>>
+	extends
+	AbstractUnaryComputerOp<RandomAccessibleInterval<I>, IterableInterval<O>>
+	implements Contingent, Parallel
+{
+
+	/** Default number of output elements per tile of a separable filter. */
+	public static final long TILE_SIZE = 1 << 22;
+
+	@Parameter
+	private Shape shape;
+
+	@Parameter(required = false)
+	private OutOfBoundsFactory<I, RandomAccessibleInterval<I>> outOfBoundsFactory =
+		new OutOfBoundsBorderFactory<>();
+
+	@Override
+	public boolean conforms() {
+		if (!(shape instanceof RectangleShape)) return false;
+		if (!(out() instanceof RandomAccessibleInterval) || !Intervals
+			.equalDimensions(in(), (RandomAccessibleInterval<?>) out())) return false;
+		if (!(Views.iterable(in()).firstElement() instanceof RealType) || !(out()
+			.firstElement() instanceof RealType)) return false;
+
+		// NB: A rectangle skipping its center has one element less than its box.
+		final Neighborhood<I> neighborhood = shape.neighborhoodsRandomAccessible(
+			in()).randomAccess().get();
+		return neighborhood.size() == Intervals.numElements(neighborhood);
+	}
+
+	@Override
+	public void compute(final RandomAccessibleInterval<I> input,
+		final IterableInterval<O> output)
+	{
+		final int span = getShape().getSpan();
+		final RandomAccessible<I> extended = Views.extend(input,
+			outOfBoundsFactory);
+		@SuppressWarnings("unchecked")
+		final RandomAccessibleInterval<O> out =
+			(RandomAccessibleInterval<O>) output;
+
+		if (isSeparable()) {
+			filterSeparably(input, extended, out, span);
+			return;
+		}
+
+		final int n = input.numDimensions();
+		long lines = 1;
+		for (int d = 1; d < n; d++) {
+			lines *= input.dimension(d);
+		}
+
+		ops().run(ChunkerOp.class, new LongChunk() {
+
+			@Override
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
+			{
+				final Sweep sweep = new Sweep(input, extended, out, span);
+				for (long i = 0; i < numSteps; i++) {
+					sweep.run(startIndex + i * stepSize);
+				}
+			}
+		}, lines);
+	}
+
+	/**
+	 * Get the shape (structuring element) used by this filter.
+	 * 
+	 * @return the shape
+	 */
+	public RectangleShape getShape() {
+		return (RectangleShape) shape;
+	}
+
+	/**
+	 * Gets whether the filter of a box equals filtering one dimension after the
+	 * other with windows of {@code slabSize} 1, as for the minimum, maximum and
+	 * mean. Such filters are computed in separate passes per dimension.
+	 */
+	protected boolean isSeparable() {
+		return false;
+	}
+
+	/**
+	 * Gets the type of the intermediate images between the passes of a
+	 * {@link #isSeparable() separable} filter. By default, these are
+	 * {@link DoubleType}s; filters whose results are always values of the input,
+	 * such as the minimum and maximum, can keep the input type.
+	 * 
+	 * @param type first element of the input
+	 */
+	protected RealType<?> getIntermediateType(final I type) {
+		return new DoubleType();
+	}
+
+	/**
+	 * Gets the number of output elements which a {@link #isSeparable()
+	 * separable} filter processes at once, bounding the size of its
+	 * intermediate images. Tiles are never thinner than the window, though.
+	 */
+	protected long tileSize() {
+		return TILE_SIZE;
+	}
+
+	/**
+	 * Creates the state of a window sliding along one line.
+	 * 
+	 * @param type first element of the input, for determining the value range
+	 * @param width the width of the window in each dimension, 2r+1
+	 * @param slabSize the number of values per slab, (2r+1)<sup>n-1</sup>
+	 * @return a new, empty window
+	 */
+	protected abstract Window createWindow(final I type, final int width,
+		final int slabSize);
+
+	// -- Helper methods --
+
+	/**
+	 * Filters each dimension in turn, tile by tile along the last dimension.
+	 * All positions are in the coordinates of the input; the pass along
+	 * dimension d covers the tile extended by the radius in the dimensions after
+	 * d, whose passes read these values.
+	 */
+	private void filterSeparably(final RandomAccessibleInterval<I> input,
+		final RandomAccessible<I> extended, final RandomAccessibleInterval<O> out,
+		final int span)
+	{
+		final int n = input.numDimensions();
+		final I type = Views.iterable(input).firstElement();
+		final long[] offset = new long[n];
+		for (int d = 0; d < n; d++) {
+			offset[d] = input.min(d) - out.min(d);
+		}
+		final RandomAccessibleInterval<O> target = Views.translate(out, offset);
+		if (n == 1) {
+			pass(extended, target, 0, span, type);
+			return;
+		}
+
+		// NB: Tiles are no thinner than the window, limiting the overlap.
+		final int last = n - 1;
+		long plane = 1;
+		for (int d = 0; d < last; d++) {
+			plane *= input.dimension(d) + (d > 0 ? 2 * span : 0);
+		}
+		final long thickness = Math.min(input.dimension(last), Math.max(2 * span +
+			1, tileSize() / plane));
+
+		// NB: The first pass has the largest target; the others fit into it.
+		final long[] dims = Intervals.dimensionsAsLongArray(input);
+		for (int d = 1; d < n; d++) {
+			dims[d] += 2 * span;
+		}
+		dims[last] = thickness + 2 * span;
+		final RealType<?> intermediate = getIntermediateType(type);
+		final List<Img<? extends RealType<?>>> buffers = new ArrayList<>();
+		for (int i = 0; i < Math.min(2, last); i++) {
+			buffers.add(createBuffer(dims, intermediate));
+		}
+
+		final long[] min = Intervals.minAsLongArray(input);
+		final long[] max = Intervals.maxAsLongArray(input);
+		for (long z = input.min(last); z <= input.max(last); z += thickness) {
+			min[last] = z;
+			max[last] = Math.min(z + thickness - 1, input.max(last));
+			RandomAccessible<? extends RealType<?>> source = extended;
+			for (int d = 0; d < last; d++) {
+				final long[] tileMin = min.clone();
+				final long[] tileMax = max.clone();
+				for (int e = d + 1; e < n; e++) {
+					tileMin[e] -= span;
+					tileMax[e] += span;
+				}
+				final RandomAccessibleInterval<? extends RealType<?>> buffer = Views
+					.interval(Views.translate(buffers.get(d % 2), tileMin), tileMin,
+						tileMax);
+				pass(source, buffer, d, span, type);
+				source = buffer;
+			}
+			pass(source, Views.interval(target, min, max), last, span, type);
+		}
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private Img<? extends RealType<?>> createBuffer(final long[] dims,
+		final RealType<?> type)
+	{
+		return (Img) ops().create().img(new FinalDimensions(dims), (RealType) type
+			.createVariable());
+	}
+
+	/** Filters all lines of the target along the given dimension. */
+	private void pass(final RandomAccessible<? extends RealType<?>> source,
+		final RandomAccessibleInterval<? extends RealType<?>> target,
+		final int dim, final int span, final I type)
+	{
+		long lines = 1;
+		for (int d = 0; d < target.numDimensions(); d++) {
+			if (d != dim) lines *= target.dimension(d);
+		}
+		ops().run(ChunkerOp.class, new LongChunk() {
+
+			@Override
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
+			{
+				final LineSweep sweep = new LineSweep(source, target, dim, span, type);
+				for (long i = 0; i < numSteps; i++) {
+					sweep.run(startIndex + i * stepSize);
+				}
+			}
+		}, lines);
+	}
+
+	// -- Helper classes --
+
+	/**
+	 * The state of a window, updated slab by slab. Slabs leave the window in the
+	 * order they entered it.
+	 */
+	protected static abstract class Window {
+
+		/** Resets the window before the sweep of a line. */
+		public abstract void clear();
+
+		/** Adds the values of a slab entering the window. */
+		public abstract void enter(double[] slab);
+
+		/** Removes the values of the oldest slab, which leaves the window. */
+		public abstract void leave(double[] slab);
+
+		/** Gets the filtered value of the current window. */
+		public abstract double get();
+
+	}
+
+	/**
+	 * Window tracking the extreme value with a monotonic deque of slab extrema,
+	 * which takes amortized constant time per slab.
+	 */
+	protected static class ExtremumWindow extends Window {
+
+		private final boolean max;
+		private final int width;
+		private final long[] indices;
+		private final double[] values;
+		private int head, tail;
+		private long entered, left;
+
+		public ExtremumWindow(final int width, final boolean max) {
+			this.width = width;
+			this.max = max;
+			indices = new long[width];
+			values = new double[width];
+		}
+
+		@Override
+		public void clear() {
+			head = tail = 0;
+			entered = left = 0;
+		}
+
+		@Override
+		public void enter(final double[] slab) {
+			double v = slab[0];
+			for (int i = 1; i < slab.length; i++) {
+				if (max ? slab[i] > v : slab[i] < v) v = slab[i];
+			}
+			// drop the extrema which can no longer win against the new one
+			while (tail > head) {
+				final double last = values[(tail - 1) % width];
+				if (max ? last > v : last < v) break;
+				tail--;
+			}
+			indices[tail % width] = entered++;
+			values[tail % width] = v;
+			tail++;
+		}
+
+		@Override
+		public void leave(final double[] slab) {
+			if (tail > head && indices[head % width] == left) head++;
+			left++;
+			if (head >= width) {
+				head -= width;
+				tail -= width;
+			}
+		}
+
+		@Override
+		public double get() {
+			return values[head % width];
+		}
+
+	}
+
+	/**
+	 * Sweeps a window of single values along the lines of one dimension, for
+	 * one pass of a separable filter.
+	 */
+	private class LineSweep {
+
+		private final RandomAccessibleInterval<? extends RealType<?>> target;
+		private final RandomAccess<? extends RealType<?>> in;
+		private final RandomAccess<? extends RealType<?>> out;
+		private final int dim, span, width;
+		private final double[][] values;
+		private final Window window;
+
+		private LineSweep(final RandomAccessible<? extends RealType<?>> source,
+			final RandomAccessibleInterval<? extends RealType<?>> target,
+			final int dim, final int span, final I type)
+		{
+			this.target = target;
+			this.dim = dim;
+			this.span = span;
+			width = 2 * span + 1;
+			in = source.randomAccess();
+			out = target.randomAccess();
+			// NB: Ring of the values in the window, so leaving ones need no rereading.
+			values = new double[width][1];
+			window = createWindow(type, width, 1);
+		}
+
+		/** Filters the line with the given index. */
+		private void run(final long line) {
+			long rest = line;
+			for (int d = 0; d < target.numDimensions(); d++) {
+				if (d == dim) continue;
+				final long pos = target.min(d) + rest % target.dimension(d);
+				rest /= target.dimension(d);
+				in.setPosition(pos, d);
+				out.setPosition(pos, d);
+			}
+
+			final long start = target.min(dim);
+			final long end = target.max(dim);
+			window.clear();
+			for (long c = start - span; c < start + span; c++) {
+				window.enter(read(c));
+			}
+			for (long x = start; x <= end; x++) {
+				window.enter(read(x + span));
+				out.setPosition(x, dim);
+				out.get().setReal(window.get());
+				window.leave(value(x - span));
+			}
+			// empty the window, leaving it ready for the next line
+			for (long c = end + 1 - span; c <= end + span; c++) {
+				window.leave(value(c));
+			}
+		}
+
+		private double[] value(final long c) {
+			return values[(int) ((c - target.min(dim) + span) % width)];
+		}
+
+		private double[] read(final long c) {
+			final double[] value = value(c);
+			in.setPosition(c, dim);
+			value[0] = in.get().getRealDouble();
+			return value;
+		}
+
+	}
+
+	/** Sweeps the window along lines of the first dimension. */
+	private class Sweep {
+
+		private final RandomAccessibleInterval<I> input;
+		private final RandomAccess<I> in;
+		private final RandomAccess<O> out;
+		private final int span, width;
+		private final long[] min, offset, center;
+		private final double[][] slabs;
+		private final Window window;
+
+		private Sweep(final RandomAccessibleInterval<I> input,
+			final RandomAccessible<I> extended,
+			final RandomAccessibleInterval<O> output, final int span)
+		{
+			this.input = input;
+			this.span = span;
+			width = 2 * span + 1;
+			in = extended.randomAccess();
+			out = output.randomAccess();
+
+			final int n = input.numDimensions();
+			min = new long[n];
+			offset = new long[n];
+			center = new long[n];
+			input.min(min);
+			for (int d = 0; d < n; d++) {
+				offset[d] = output.min(d) - min[d];
+			}
+			int slabSize = 1;
+			for (int d = 1; d < n; d++) {
+				slabSize *= width;
+			}
+			// NB: Ring of the slabs in the window, so leaving ones need no rereading.
+			slabs = new double[width][slabSize];
+			window = createWindow(Views.iterable(input).firstElement(), width,
+				slabSize);
+		}
+
+		/** Filters the line with the given index. */
+		private void run(final long line) {
+			long rest = line;
+			for (int d = 1; d < center.length; d++) {
+				center[d] = min[d] + rest % input.dimension(d);
+				rest /= input.dimension(d);
+				out.setPosition(center[d] + offset[d], d);
+			}
+
+			final long start = min[0];
+			final long end = input.max(0);
+			window.clear();
+			for (long c = start - span; c < start + span; c++) {
+				window.enter(read(c, slab(c)));
+			}
+			for (long x = start; x <= end; x++) {
+				window.enter(read(x + span, slab(x + span)));
+				out.setPosition(x + offset[0], 0);
+				out.get().setReal(window.get());
+				window.leave(slab(x - span));
+			}
+			// empty the window, leaving it ready for the next line
+			for (long c = end + 1 - span; c <= end + span; c++) {
+				window.leave(slab(c));
+			}
+		}
+
+		private double[] slab(final long c) {
+			return slabs[(int) ((c - min[0] + span) % width)];
+		}
+
+		/** Reads the slab at the given position of the first dimension. */
+		private double[] read(final long c, final double[] slab) {
+			final int n = center.length;
+			in.setPosition(c, 0);
+			if (n == 1) {
+				slab[0] = in.get().getRealDouble();
+				return slab;
+			}
+			for (int d = 1; d < n; d++) {
+				in.setPosition(center[d] - span, d);
+			}
+			int i = 0;
+			while (true) {
+				for (int k = 0; k < width; k++) {
+					slab[i++] = in.get().getRealDouble();
+					in.fwd(1);
+				}
+				in.move(-width, 1);
+				int d = 2;
+				for (; d < n; d++) {
+					if (in.getLongPosition(d) < center[d] + span) {
+						in.fwd(d);
+						break;
+					}
+					in.setPosition(center[d] - span, d);
+				}
+				if (d == n) return slab;
+			}
+		}
+
+	}
+
+}
@@ -30,18 +30,19 @@
 
 package net.imagej.ops.filter.fft;
 
+import java.util.concurrent.ExecutorService;
+
 import net.imagej.ops.Contingent;
 import net.imagej.ops.Ops;
 import net.imagej.ops.special.computer.AbstractUnaryComputerOp;
+import net.imagej.ops.thread.OpExecutor;
 import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.algorithm.fft2.FFTMethods;
 import net.imglib2.type.numeric.ComplexType;
 import net.imglib2.type.numeric.RealType;
 
 import org.scijava.Priority;
-import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
-import org.scijava.thread.ThreadService;
 
 /**
  * Forward FFT computer that operates on an RAI and wraps FFTMethods. The input
@@ -60,9 +61,6 @@ public class FFTMethodsOpC<T extends RealType<T>, C extends ComplexType<C>>
 	implements Ops.Filter.FFT, Contingent
 {
 
-	@Parameter
-	ThreadService ts;
-
 	/**
 	 * Computes an ND FFT using FFTMethods
 	 */
@@ -70,14 +68,14 @@ public class FFTMethodsOpC<T extends RealType<T>, C extends ComplexType<C>>
 	public void compute(final RandomAccessibleInterval<T> input,
 		final RandomAccessibleInterval<C> output)
 	{
+		final ExecutorService es = OpExecutor.of(ops()).executorService();
 
 		// perform a real to complex FFT in the first dimension
-		FFTMethods.realToComplex(input, output, 0, false, ts.getExecutorService());
+		FFTMethods.realToComplex(input, output, 0, false, es);
 
 		// loop and perform complex to complex FFT in the remaining dimensions
 		for (int d = 1; d < input.numDimensions(); d++)
-			FFTMethods.complexToComplex(output, d, true, false, ts
-				.getExecutorService());
+			FFTMethods.complexToComplex(output, d, true, false, es);
 	}
 
 	/**
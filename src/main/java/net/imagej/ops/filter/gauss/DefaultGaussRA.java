@@ -32,10 +32,10 @@ package net.imagej.ops.filter.gauss;
 
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
-import org.scijava.thread.ThreadService;
 
 import net.imagej.ops.Ops;
 import net.imagej.ops.special.computer.AbstractUnaryComputerOp;
+import net.imagej.ops.thread.OpExecutor;
 import net.imglib2.RandomAccessible;
 import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.algorithm.gauss3.Gauss3;
@@ -56,8 +56,6 @@ public class DefaultGaussRA<T extends NumericType<T> & NativeType<T>> extends
 	AbstractUnaryComputerOp<RandomAccessible<T>, RandomAccessibleInterval<T>>
 	implements Ops.Filter.Gauss
 {
-	@Parameter
-	private ThreadService threads;
 
 	@Parameter
 	private double[] sigmas;
@@ -68,7 +66,7 @@ public class DefaultGaussRA<T extends NumericType<T> & NativeType<T>> extends
 	{
 		try {
 			SeparableSymmetricConvolution.convolve(Gauss3.halfkernels(sigmas), input,
-				output, threads.getExecutorService());
+				output, OpExecutor.of(ops()).executorService());
 		}
 		catch (final IncompatibleTypeException e) {
 			throw new RuntimeException(e);
@@ -32,6 +32,7 @@ package net.imagej.ops.filter.gauss;
 
 import net.imagej.ops.Ops;
 import net.imagej.ops.special.hybrid.AbstractUnaryHybridCF;
+import net.imagej.ops.thread.OpExecutor;
 import net.imglib2.RandomAccessible;
 import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.algorithm.gauss3.Gauss3;
@@ -47,7 +48,6 @@ import net.imglib2.view.Views;
 
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
-import org.scijava.thread.ThreadService;
 
 /**
  * Gaussian filter, wrapping {@link Gauss3} of imglib2-algorithms.
@@ -63,9 +63,6 @@ public class DefaultGaussRAI<T extends NumericType<T> & NativeType<T>> extends
 	implements Ops.Filter.Gauss
 {
 
-	@Parameter
-	private ThreadService threads;
-
 	@Parameter
 	private double[] sigmas;
 
@@ -86,7 +83,7 @@ public class DefaultGaussRAI<T extends NumericType<T> & NativeType<T>> extends
 
 		try {
 			SeparableSymmetricConvolution.convolve(Gauss3.halfkernels(sigmas), eIn,
-				output, threads.getExecutorService());
+				output, OpExecutor.of(ops()).executorService());
 		}
 		catch (final IncompatibleTypeException e) {
 			throw new RuntimeException(e);
@@ -30,17 +30,18 @@
 
 package net.imagej.ops.filter.ifft;
 
+import java.util.concurrent.ExecutorService;
+
 import net.imagej.ops.Contingent;
 import net.imagej.ops.Ops;
 import net.imagej.ops.special.computer.AbstractUnaryComputerOp;
+import net.imagej.ops.thread.OpExecutor;
 import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.algorithm.fft2.FFTMethods;
 import net.imglib2.type.numeric.ComplexType;
 import net.imglib2.type.numeric.RealType;
 
-import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
-import org.scijava.thread.ThreadService;
 
 /**
  * Inverse FFT computer that operates on an RAI and wraps FFTMethods. The input
@@ -59,9 +60,6 @@ public class IFFTMethodsOpC<C extends ComplexType<C>, T extends RealType<T>>
 	implements Ops.Filter.IFFT, Contingent
 {
 
-	@Parameter
-	ThreadService ts;
-
 	/**
 	 * Compute an ND inverse FFT
 	 */
@@ -69,13 +67,13 @@ public class IFFTMethodsOpC<C extends ComplexType<C>, T extends RealType<T>>
 	public void compute(final RandomAccessibleInterval<C> input,
 		final RandomAccessibleInterval<T> output)
 	{
+		final ExecutorService es = OpExecutor.of(ops()).executorService();
+
 		for (int d = input.numDimensions() - 1; d > 0; d--)
-			FFTMethods.complexToComplex(input, d, false, true, ts
-				.getExecutorService());
+			FFTMethods.complexToComplex(input, d, false, true, es);
 
 		FFTMethods.complexToReal(input, output, FFTMethods
-			.unpaddingIntervalCentered(input, output), 0, true, ts
-				.getExecutorService());
+			.unpaddingIntervalCentered(input, output), 0, true, es);
 	}
 
 	/**
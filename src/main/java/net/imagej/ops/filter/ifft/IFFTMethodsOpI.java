@@ -30,16 +30,17 @@
 
 package net.imagej.ops.filter.ifft;
 
+import java.util.concurrent.ExecutorService;
+
 import net.imagej.ops.Contingent;
 import net.imagej.ops.Ops;
 import net.imagej.ops.special.inplace.AbstractUnaryInplaceOp;
+import net.imagej.ops.thread.OpExecutor;
 import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.algorithm.fft2.FFTMethods;
 import net.imglib2.type.numeric.ComplexType;
 
-import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
-import org.scijava.thread.ThreadService;
 
 /**
  * Inverse FFT inplace operator -- complex to complex only, output size must
@@ -55,17 +56,14 @@ public class IFFTMethodsOpI<C extends ComplexType<C>> extends
 	Ops.Filter.IFFT, Contingent
 {
 
-	@Parameter
-	ThreadService ts;
-
 	/**
 	 * Compute an ND inverse FFT
 	 */
 	@Override
 	public void mutate(final RandomAccessibleInterval<C> inout) {
+		final ExecutorService es = OpExecutor.of(ops()).executorService();
 		for (int d = inout.numDimensions() - 1; d >= 0; d--)
-			FFTMethods.complexToComplex(inout, d, false, true, ts
-				.getExecutorService());
+			FFTMethods.complexToComplex(inout, d, false, true, es);
 	}
 
 	/**
@@ -0,0 +1,128 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.filter.median;
+
+import net.imagej.ops.Ops;
+import net.imagej.ops.filter.AbstractRectangleFilter;
+import net.imglib2.algorithm.neighborhood.RectangleShape;
+import net.imglib2.type.numeric.IntegerType;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.view.Views;
+
+import org.scijava.plugin.Plugin;
+
+/**
+ * {@link MedianFilterOp} on {@link RectangleShape} neighborhoods of integers
+ * with at most {@value #MAX_BITS} bits, which keeps a histogram of the values
+ * in the sliding window (Huang's algorithm).
+ * <p>
+ * The median is tracked by its bin and the number of values below it. As
+ * neighboring windows share most of their values, it moves by a few bins per
+ * step instead of being searched from scratch.
+ * </p>
+ * 
+ * @param <T> input type
+ * @param <V> output type
+ */
+@Plugin(type = Ops.Filter.Median.class)
+public class RectangleMedianFilter<T extends RealType<T>, V extends RealType<V>>
+	extends AbstractRectangleFilter<T, V> implements MedianFilterOp<T, V>
+{
+
+	/** Maximum number of bits of the integer types counted in a histogram. */
+	private static final int MAX_BITS = 16;
+
+	@Override
+	public boolean conforms() {
+		if (!super.conforms()) return false;
+		final T type = Views.iterable(in()).firstElement();
+		return type instanceof IntegerType && type.getBitsPerPixel() <= MAX_BITS;
+	}
+
+	@Override
+	protected Window createWindow(final T type, final int width,
+		final int slabSize)
+	{
+		final int min = (int) type.getMinValue();
+		final int range = (int) (type.getMaxValue() - type.getMinValue()) + 1;
+		// NB: Same rank as the median of DefaultMedianFilter.
+		final long rank = (long) width * slabSize / 2;
+
+		return new Window() {
+
+			private final long[] counts = new long[range];
+
+			/** The bin of the median. */
+			private int median;
+
+			/** The number of values below the median bin. */
+			private long below;
+
+			@Override
+			public void clear() {
+				// NB: The previous sweep left the window empty.
+				below = 0;
+			}
+
+			@Override
+			public void enter(final double[] slab) {
+				for (final double v : slab) {
+					final int bin = (int) v - min;
+					counts[bin]++;
+					if (bin < median) below++;
+				}
+			}
+
+			@Override
+			public void leave(final double[] slab) {
+				for (final double v : slab) {
+					final int bin = (int) v - min;
+					counts[bin]--;
+					if (bin < median) below--;
+				}
+			}
+
+			@Override
+			public double get() {
+				while (below > rank) {
+					median--;
+					below -= counts[median];
+				}
+				while (below + counts[median] <= rank) {
+					below += counts[median];
+					median++;
+				}
+				return min + median;
+			}
+		};
+	}
+
+}
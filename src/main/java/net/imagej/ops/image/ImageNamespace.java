@@ -202,6 +202,60 @@ public class ImageNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	/** Executes the "histogram" operation on the given arguments. */
+	@OpMethod(op = net.imagej.ops.image.histogram.HistogramParallel.class)
+	public <T extends RealType<T>> Histogram1d<T> histogram(
+			final IterableInterval<T> in) {
+		@SuppressWarnings("unchecked")
+		final Histogram1d<T> result = (Histogram1d<T>) ops().run(
+				net.imagej.ops.Ops.Image.Histogram.class, in);
+		return result;
+	}
+
+	/** Executes the "histogram" operation on the given arguments. */
+	@OpMethod(op = net.imagej.ops.image.histogram.HistogramParallel.class)
+	public <T extends RealType<T>> Histogram1d<T> histogram(
+			final IterableInterval<T> in, final int numBins) {
+		@SuppressWarnings("unchecked")
+		final Histogram1d<T> result = (Histogram1d<T>) ops().run(
+				net.imagej.ops.Ops.Image.Histogram.class, in, numBins);
+		return result;
+	}
+
+	/** Executes the "histogram" operation on the given arguments. */
+	@OpMethod(op = net.imagej.ops.image.histogram.HistogramParallel.class)
+	public <T extends RealType<T>> Histogram1d<T> histogram(
+			final IterableInterval<T> in, final int numBins, final Double minValue,
+			final Double maxValue) {
+		@SuppressWarnings("unchecked")
+		final Histogram1d<T> result = (Histogram1d<T>) ops().run(
+				net.imagej.ops.Ops.Image.Histogram.class, in, numBins, minValue,
+				maxValue);
+		return result;
+	}
+
+	/** Executes the "histogram" operation on the given arguments. */
+	@OpMethod(op = net.imagej.ops.image.histogram.HistogramParallel.class)
+	public <T extends RealType<T>> Histogram1d<T> histogram(
+			final IterableInterval<T> in, final int numBins, final Double minValue,
+			final Double maxValue, final boolean typeRange) {
+		@SuppressWarnings("unchecked")
+		final Histogram1d<T> result = (Histogram1d<T>) ops().run(
+				net.imagej.ops.Ops.Image.Histogram.class, in, numBins, minValue,
+				maxValue, typeRange);
+		return result;
+	}
+
+	/** Executes the "histogram" operation on the given arguments. */
+	@OpMethod(op = net.imagej.ops.image.histogram.HistogramAdd.class)
+	public <T extends RealType<T>> Histogram1d<T> histogram(
+			final Histogram1d<T> histogram, final Iterable<T> in) {
+		@SuppressWarnings("unchecked")
+		final Histogram1d<T> result = (Histogram1d<T>) ops().run(
+				net.imagej.ops.Ops.Image.Histogram.class, histogram, in);
+		return result;
+	}
+
 	//-- integral --
 
 	@SuppressWarnings({ "unchecked", "rawtypes" })
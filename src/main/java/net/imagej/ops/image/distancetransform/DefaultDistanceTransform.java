@@ -41,6 +41,7 @@ import net.imagej.ops.create.img.CreateImgFromDimsAndType;
 import net.imagej.ops.special.function.Functions;
 import net.imagej.ops.special.function.UnaryFunctionOp;
 import net.imagej.ops.special.hybrid.AbstractUnaryHybridCF;
+import net.imagej.ops.thread.OpExecutor;
 import net.imglib2.FinalInterval;
 import net.imglib2.RandomAccess;
 import net.imglib2.RandomAccessibleInterval;
@@ -50,9 +51,7 @@ import net.imglib2.type.numeric.real.FloatType;
 import net.imglib2.util.IntervalIndexer;
 
 import org.scijava.Priority;
-import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
-import org.scijava.thread.ThreadService;
 
 /**
  * Computes a distance transform, i.e. for every foreground pixel its distance
@@ -65,9 +64,6 @@ public class DefaultDistanceTransform<B extends BooleanType<B>, T extends RealTy
 		extends AbstractUnaryHybridCF<RandomAccessibleInterval<B>, RandomAccessibleInterval<T>>
 		implements Ops.Image.DistanceTransform, Contingent {
 
-	@Parameter
-	private ThreadService ts;
-
 	@SuppressWarnings("rawtypes")
 	private UnaryFunctionOp<FinalInterval, RandomAccessibleInterval> createOp;
 
@@ -83,7 +79,6 @@ public class DefaultDistanceTransform<B extends BooleanType<B>, T extends RealTy
 
 	@Override
 	public void initialize() {
-		es = ts.getExecutorService();
 		createOp = Functions.unary(ops(), CreateImgFromDimsAndType.class, RandomAccessibleInterval.class,
 				new FinalInterval(in()), new FloatType());
 	}
@@ -100,6 +95,7 @@ public class DefaultDistanceTransform<B extends BooleanType<B>, T extends RealTy
 	 */
 	@Override
 	public void compute(final RandomAccessibleInterval<B> in, final RandomAccessibleInterval<T> out) {
+		es = OpExecutor.of(ops()).executorService();
 		// stores the size of each dimension
 		final int[] dimensSizes = new int[in.numDimensions()];
 
@@ -41,6 +41,7 @@ import net.imagej.ops.create.img.CreateImgFromDimsAndType;
 import net.imagej.ops.special.function.Functions;
 import net.imagej.ops.special.function.UnaryFunctionOp;
 import net.imagej.ops.special.hybrid.AbstractUnaryHybridCF;
+import net.imagej.ops.thread.OpExecutor;
 import net.imglib2.FinalInterval;
 import net.imglib2.RandomAccess;
 import net.imglib2.RandomAccessibleInterval;
@@ -52,7 +53,6 @@ import net.imglib2.util.IntervalIndexer;
 import org.scijava.Priority;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
-import org.scijava.thread.ThreadService;
 
 /**
  * Computes a distance transform, i.e. for every foreground pixel its distance
@@ -68,9 +68,6 @@ public class DefaultDistanceTransformCalibration<B extends BooleanType<B>, T ext
 	@Parameter(required = true)
 	private double[] calibration;
 
-	@Parameter
-	private ThreadService ts;
-
 	@SuppressWarnings("rawtypes")
 	private UnaryFunctionOp<FinalInterval, RandomAccessibleInterval> createOp;
 
@@ -86,7 +83,6 @@ public class DefaultDistanceTransformCalibration<B extends BooleanType<B>, T ext
 
 	@Override
 	public void initialize() {
-		es = ts.getExecutorService();
 		createOp = Functions.unary(ops(), CreateImgFromDimsAndType.class, RandomAccessibleInterval.class,
 				new FinalInterval(in()), new FloatType());
 	}
@@ -103,6 +99,7 @@ public class DefaultDistanceTransformCalibration<B extends BooleanType<B>, T ext
 	 */
 	@Override
 	public void compute(final RandomAccessibleInterval<B> in, final RandomAccessibleInterval<T> out) {
+		es = OpExecutor.of(ops()).executorService();
 		// stores the size of each dimension
 		final int[] dimensSizes = new int[in.numDimensions()];
 
@@ -40,6 +40,7 @@ import net.imagej.ops.create.img.CreateImgFromDimsAndType;
 import net.imagej.ops.special.function.Functions;
 import net.imagej.ops.special.function.UnaryFunctionOp;
 import net.imagej.ops.special.hybrid.AbstractUnaryHybridCF;
+import net.imagej.ops.thread.OpExecutor;
 import net.imglib2.FinalInterval;
 import net.imglib2.RandomAccess;
 import net.imglib2.RandomAccessibleInterval;
@@ -49,7 +50,6 @@ import net.imglib2.type.numeric.real.FloatType;
 
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
-import org.scijava.thread.ThreadService;
 
 /**
  * Computes a distance transform, i.e. for every foreground pixel its distance
@@ -65,9 +65,6 @@ public class DistanceTransform2DCalibration<B extends BooleanType<B>, T extends
 	@Parameter(required = true)
 	private double[] calibration;
 
-	@Parameter
-	private ThreadService ts;
-
 	@SuppressWarnings("rawtypes")
 	private UnaryFunctionOp<FinalInterval, RandomAccessibleInterval> createOp;
 
@@ -84,7 +81,6 @@ public class DistanceTransform2DCalibration<B extends BooleanType<B>, T extends
 
 	@Override
 	public void initialize() {
-		es = ts.getExecutorService();
 		createOp = Functions.unary(ops(), CreateImgFromDimsAndType.class, RandomAccessibleInterval.class,
 				new FinalInterval(in()), new FloatType());
 	}
@@ -101,6 +97,7 @@ public class DistanceTransform2DCalibration<B extends BooleanType<B>, T extends
 	 */
 	@Override
 	public void compute(final RandomAccessibleInterval<B> in, final RandomAccessibleInterval<T> out) {
+		es = OpExecutor.of(ops()).executorService();
 
 		// tempValues stores the integer values of the first phase, i.e. the
 		// first two scans
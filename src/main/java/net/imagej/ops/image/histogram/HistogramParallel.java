@@ -0,0 +1,120 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.image.histogram;
+
+import net.imagej.ops.Ops;
+import net.imagej.ops.Parallel;
+import net.imagej.ops.special.function.AbstractUnaryFunctionOp;
+import net.imagej.ops.special.function.Functions;
+import net.imagej.ops.special.function.UnaryFunctionOp;
+import net.imglib2.IterableInterval;
+import net.imglib2.histogram.Histogram1d;
+import net.imglib2.histogram.Real1dBinMapper;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.util.Pair;
+
+import org.scijava.Priority;
+import org.scijava.plugin.Parameter;
+import org.scijava.plugin.Plugin;
+
+/**
+ * Creates a {@link Histogram1d} of an {@link IterableInterval}, counting the
+ * values with several threads.
+ * <p>
+ * The range of the bins is the one given by {@code minValue} and
+ * {@code maxValue}, or the range of the type if {@code typeRange} is set.
+ * Either way, the values are read only once. Otherwise the range spans the
+ * values, which takes another pass to find their minimum and maximum. Values
+ * of later planes can be added with {@link HistogramAdd}.
+ * </p>
+ * <p>
+ * Values outside of {@code minValue} and {@code maxValue} are not recorded
+ * in the histogram, so its {@link Histogram1d#totalCount()} equals its
+ * {@link Histogram1d#distributionCount()}. Their number is the size of the
+ * input minus {@link Histogram1d#distributionCount()}. The other ranges
+ * cover all values, so none are left out.
+ * </p>
+ * 
+ * @param <T> element type
+ */
+@Plugin(type = Ops.Image.Histogram.class, priority = Priority.HIGH_PRIORITY)
+public class HistogramParallel<T extends RealType<T>> extends
+	AbstractUnaryFunctionOp<IterableInterval<T>, Histogram1d<T>> implements
+	Ops.Image.Histogram, Parallel
+{
+
+	@Parameter(required = false)
+	private int numBins = 256;
+
+	@Parameter(required = false)
+	private Double minValue;
+
+	@Parameter(required = false)
+	private Double maxValue;
+
+	@Parameter(required = false)
+	private boolean typeRange;
+
+	private UnaryFunctionOp<Iterable<T>, Pair<T, T>> minMaxFunc;
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	@Override
+	public void initialize() {
+		minMaxFunc = (UnaryFunctionOp) Functions.unary(ops(),
+			Ops.Stats.MinMax.class, Pair.class, in() != null ? in()
+				: IterableInterval.class);
+	}
+
+	@Override
+	public Histogram1d<T> calculate(final IterableInterval<T> input) {
+		final double min, max;
+		if (minValue != null && maxValue != null) {
+			min = minValue;
+			max = maxValue;
+		}
+		else if (typeRange) {
+			final T type = input.firstElement();
+			min = type.getMinValue();
+			max = type.getMaxValue();
+		}
+		else {
+			final Pair<T, T> res = minMaxFunc.calculate(input);
+			min = res.getA().getRealDouble();
+			max = res.getB().getRealDouble();
+		}
+
+		final Histogram1d<T> histogram = new Histogram1d<>(
+			new Real1dBinMapper<T>(min, max, numBins, false));
+		Histograms.add(ops(), histogram, input);
+		return histogram;
+	}
+
+}
@@ -0,0 +1,145 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.image.histogram;
+
+import java.util.Collections;
+import java.util.Iterator;
+
+import net.imagej.ops.OpEnvironment;
+import net.imagej.ops.reduce.Reducer;
+import net.imagej.ops.reduce.Reductions;
+import net.imglib2.histogram.DiscreteFrequencyDistribution;
+import net.imglib2.histogram.Histogram1d;
+import net.imglib2.type.numeric.RealType;
+
+/**
+ * Utility class for counting values into {@link Histogram1d}s in parallel.
+ */
+public final class Histograms {
+
+	private Histograms() {
+		// NB: Prevent instantiation of utility class.
+	}
+
+	/**
+	 * Adds the given values to the counts of the histogram, keeping the counts
+	 * of values added before. Large {@link net.imglib2.IterableInterval}s are
+	 * counted by several threads into separate {@code long[]} bins, which are
+	 * summed up afterwards.
+	 * <p>
+	 * Values outside of all bins are only counted, not added: the histogram
+	 * can record them one at a time only, which would cost another pass over
+	 * them. Hence {@link Histogram1d#ignoredCount()} is left unchanged and
+	 * {@link Histogram1d#totalCount()} grows by the number of values in the
+	 * bins only. Callers that need the ignored values use the returned count,
+	 * or derive it from the size of the data and the growth of
+	 * {@link Histogram1d#distributionCount()}.
+	 * </p>
+	 * 
+	 * @return the number of values outside of all bins
+	 * @see Reductions#reduce(OpEnvironment, Iterable, Reducer)
+	 */
+	public static <T extends RealType<T>> long add(final OpEnvironment ops,
+		final Histogram1d<T> histogram, final Iterable<T> data)
+	{
+		final Iterator<T> it = data.iterator();
+		if (!it.hasNext()) return 0;
+		if (histogram.firstDataValue() == null && histogram.totalCount() == 0) {
+			// NB: Makes the histogram remember the type of its data.
+			histogram.countData(Collections.singletonList(it.next()));
+			histogram.resetCounters();
+		}
+
+		final Counts<T> counts = Reductions.reduce(ops, data, new Counter<>(
+			histogram));
+
+		final DiscreteFrequencyDistribution dfd = histogram.dfd();
+		final long[] pos = new long[1];
+		for (int bin = 0; bin < counts.bins.length; bin++) {
+			if (counts.bins[bin] == 0) continue;
+			pos[0] = bin;
+			dfd.setFrequency(pos, dfd.frequency(pos) + counts.bins[bin]);
+		}
+		return counts.ignored;
+	}
+
+	// -- Helper classes --
+
+	/** Bin counts, plus the number of values outside of all bins. */
+	private static class Counts<T extends RealType<T>> {
+
+		private final long[] bins;
+		private long ignored;
+
+		private Counts(final int binCount) {
+			bins = new long[binCount];
+		}
+
+	}
+
+	/** Counts values into the bins of a histogram. */
+	private static class Counter<T extends RealType<T>> implements
+		Reducer<T, Counts<T>>
+	{
+
+		private final Histogram1d<T> histogram;
+		private final int binCount;
+
+		private Counter(final Histogram1d<T> histogram) {
+			this.histogram = histogram;
+			binCount = (int) histogram.getBinCount();
+		}
+
+		@Override
+		public Counts<T> create() {
+			return new Counts<>(binCount);
+		}
+
+		@Override
+		public void accumulate(final Counts<T> counts, final T value) {
+			final long bin = histogram.map(value);
+			if (bin >= 0 && bin < binCount) {
+				counts.bins[(int) bin]++;
+			}
+			else counts.ignored++;
+		}
+
+		@Override
+		public void combine(final Counts<T> counts, final Counts<T> partial) {
+			for (int bin = 0; bin < binCount; bin++) {
+				counts.bins[bin] += partial.bins[bin];
+			}
+			counts.ignored += partial.ignored;
+		}
+
+	}
+
+}
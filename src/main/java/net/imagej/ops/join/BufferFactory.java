@@ -59,4 +59,15 @@ public interface BufferFactory<A, B> {
 	 */
 	B getBuffer(A input);
 
+	/**
+	 * Releases a buffer obtained from {@link #getBuffer} once the join is done
+	 * with it. By default, nothing happens, i.e. the buffer is kept for the next
+	 * join.
+	 * 
+	 * @param buffer the buffer which is no longer used
+	 */
+	default void releaseBuffer(final B buffer) {
+		// NB: No action needed.
+	}
+
 }
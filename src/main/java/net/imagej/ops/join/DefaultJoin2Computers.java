@@ -31,6 +31,7 @@
 package net.imagej.ops.join;
 
 import net.imagej.ops.Ops;
+import net.imagej.ops.bufferfactories.BufferPool;
 import net.imagej.ops.special.UnaryOutputFactory;
 import net.imagej.ops.special.computer.AbstractUnaryComputerOp;
 import net.imagej.ops.special.computer.UnaryComputerOp;
@@ -95,10 +96,21 @@ public class DefaultJoin2Computers<A, B, C> extends
 
 	@Override
 	public B getBuffer(final A input) {
+		if (bufferFactory instanceof BufferPool) {
+			return bufferFactory.createOutput(input);
+		}
 		if (buffer == null) buffer = bufferFactory.createOutput(input);
 		return buffer;
 	}
 
+	@Override
+	@SuppressWarnings("unchecked")
+	public void releaseBuffer(final B buf) {
+		if (bufferFactory instanceof BufferPool) {
+			((BufferPool<A, B>) bufferFactory).release(buf);
+		}
+	}
+
 	// -- Threadable methods --
 
 	@Override
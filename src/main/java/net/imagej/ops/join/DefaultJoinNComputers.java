@@ -34,6 +34,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import net.imagej.ops.Ops;
+import net.imagej.ops.bufferfactories.BufferPool;
 import net.imagej.ops.special.UnaryOutputFactory;
 import net.imagej.ops.special.computer.AbstractUnaryComputerOp;
 import net.imagej.ops.special.computer.UnaryComputerOp;
@@ -86,12 +87,23 @@ public class DefaultJoinNComputers<A> extends AbstractUnaryComputerOp<A, A>
 
 	@Override
 	public A getBuffer(final A input) {
+		if (outputFactory instanceof BufferPool) {
+			return outputFactory.createOutput(input);
+		}
 		if (buffer == null) {
 			buffer = outputFactory.createOutput(input);
 		}
 		return buffer;
 	}
 
+	@Override
+	@SuppressWarnings("unchecked")
+	public void releaseBuffer(final A buf) {
+		if (outputFactory instanceof BufferPool) {
+			((BufferPool<A, A>) outputFactory).release(buf);
+		}
+	}
+
 	// -- Threadable methods --
 
 	@Override
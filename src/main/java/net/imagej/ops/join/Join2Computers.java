@@ -50,8 +50,13 @@ public interface Join2Computers<A, B, C> extends UnaryComputerOp<A, C>,
 	@Override
 	default void compute(final A input, final C output) {
 		final B buffer = getBuffer(input);
-		getFirst().compute(input, buffer);
-		getSecond().compute(buffer, output);
+		try {
+			getFirst().compute(input, buffer);
+			getSecond().compute(buffer, output);
+		}
+		finally {
+			releaseBuffer(buffer);
+		}
 	}
 
 }
@@ -59,23 +59,27 @@ public interface JoinNComputers<A> extends UnaryComputerOp<A, A>,
 		}
 
 		final A buffer = getBuffer(input);
+		try {
+			A tmpOutput = output;
+			A tmpInput = buffer;
+			A tmp;
 
-		A tmpOutput = output;
-		A tmpInput = buffer;
-		A tmp;
+			if (ops.size() % 2 == 0) {
+				tmpOutput = buffer;
+				tmpInput = output;
+			}
 
-		if (ops.size() % 2 == 0) {
-			tmpOutput = buffer;
-			tmpInput = output;
-		}
-
-		first.compute(input, tmpOutput);
+			first.compute(input, tmpOutput);
 
-		while (it.hasNext()) {
-			tmp = tmpInput;
-			tmpInput = tmpOutput;
-			tmpOutput = tmp;
-			it.next().compute(tmpInput, tmpOutput);
+			while (it.hasNext()) {
+				tmp = tmpInput;
+				tmpInput = tmpOutput;
+				tmpOutput = tmp;
+				it.next().compute(tmpInput, tmpOutput);
+			}
+		}
+		finally {
+			releaseBuffer(buffer);
 		}
 	}
 
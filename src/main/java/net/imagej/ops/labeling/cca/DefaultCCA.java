@@ -37,6 +37,7 @@ import net.imagej.ops.Ops;
 import net.imagej.ops.special.function.Functions;
 import net.imagej.ops.special.function.UnaryFunctionOp;
 import net.imagej.ops.special.hybrid.AbstractUnaryHybridCF;
+import net.imagej.ops.thread.OpExecutor;
 import net.imglib2.Interval;
 import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.algorithm.labeling.ConnectedComponents;
@@ -47,7 +48,6 @@ import net.imglib2.util.Intervals;
 
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
-import org.scijava.thread.ThreadService;
 
 /**
  * Default Implementation wrapping {@link ConnectedComponents} of
@@ -62,9 +62,6 @@ public class DefaultCCA<T extends IntegerType<T>, L, I extends IntegerType<I>>
 	implements Contingent, Ops.Labeling.CCA
 {
 
-	@Parameter
-	private ThreadService threads;
-
 	@Parameter
 	private StructuringElement se;
 
@@ -90,7 +87,7 @@ public class DefaultCCA<T extends IntegerType<T>, L, I extends IntegerType<I>>
 		}
 
 		ConnectedComponents.labelAllConnectedComponents(input, output,
-			labelGenerator, se, threads.getExecutorService());
+			labelGenerator, se, OpExecutor.of(ops()).executorService());
 	}
 
 	@Override
@@ -0,0 +1,167 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.map;
+
+import java.util.Arrays;
+import java.util.List;
+
+import net.imagej.ops.Contingent;
+import net.imagej.ops.Ops;
+import net.imagej.ops.Parallel;
+import net.imagej.ops.join.JoinNComputers;
+import net.imagej.ops.special.computer.AbstractUnaryComputerOp;
+import net.imagej.ops.special.computer.UnaryComputerOp;
+import net.imagej.ops.thread.OpInstancePool;
+import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imagej.ops.thread.chunker.LongChunk;
+import net.imglib2.IterableInterval;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.type.numeric.real.DoubleType;
+
+import org.scijava.plugin.Parameter;
+import org.scijava.plugin.Plugin;
+
+/**
+ * Maps a pipeline of element-wise {@link UnaryComputerOp}s over an
+ * {@link IterableInterval} in a single pass.
+ * <p>
+ * Chaining whole-image ops, e.g. via {@link JoinNComputers}, writes and reads
+ * back a full intermediate image per stage. This op instead runs all stages
+ * for one element before moving on to the next one, keeping the intermediate
+ * values in two {@link DoubleType} variables per thread. Each stage hence has
+ * to accept any {@link RealType}: the first stage reads the input element, and
+ * the last one writes the output element.
+ * </p>
+ * 
+ * @param <EI> element type of inputs
+ * @param <EO> element type of outputs
+ */
+@Plugin(type = Ops.Map.class)
+public class MapFusedPipeline<EI extends RealType<EI>, EO extends RealType<EO>>
+	extends AbstractUnaryComputerOp<IterableInterval<EI>, IterableInterval<EO>>
+	implements Ops.Map, Contingent, Parallel
+{
+
+	@Parameter
+	private List<? extends UnaryComputerOp<?, ?>> stages;
+
+	private Pipeline<EI, EO> pipeline;
+
+	@Override
+	public void initialize() {
+		pipeline = new Pipeline<>(stages);
+	}
+
+	@Override
+	public boolean conforms() {
+		return !stages.isEmpty() && (out() == null || Maps.compatible(in(),
+			out()));
+	}
+
+	@Override
+	public void compute(final IterableInterval<EI> input,
+		final IterableInterval<EO> output)
+	{
+		if (!Maps.parallelizable(input)) {
+			Maps.map(input, output, pipeline);
+			return;
+		}
+		final OpInstancePool pool = new OpInstancePool();
+		ops().run(ChunkerOp.class, new LongChunk() {
+
+			@Override
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
+			{
+				final Pipeline<EI, EO> op = pool.acquire(pipeline);
+				try {
+					Maps.map(input, output, op, startIndex, stepSize, numSteps);
+				}
+				finally {
+					pool.release(pipeline, op);
+				}
+			}
+		}, input.size());
+	}
+
+	// -- Helper classes --
+
+	/** Runs all stages for a single element. */
+	private static class Pipeline<EI extends RealType<EI>, EO extends RealType<EO>>
+		extends AbstractUnaryComputerOp<EI, EO>
+	{
+
+		private final UnaryComputerOp<?, ?>[] stages;
+
+		private final DoubleType a = new DoubleType();
+		private final DoubleType b = new DoubleType();
+
+		private Pipeline(final List<? extends UnaryComputerOp<?, ?>> stages) {
+			this.stages = stages.toArray(new UnaryComputerOp<?, ?>[stages.size()]);
+		}
+
+		@Override
+		public void compute(final EI input, final EO output) {
+			final int last = stages.length - 1;
+			if (last == 0) {
+				stage(0).compute(input, output);
+				return;
+			}
+			stage(0).compute(input, a);
+			DoubleType source = a;
+			DoubleType target = b;
+			for (int i = 1; i < last; i++) {
+				stage(i).compute(source, target);
+				final DoubleType tmp = source;
+				source = target;
+				target = tmp;
+			}
+			stage(last).compute(source, output);
+		}
+
+		@Override
+		public Pipeline<EI, EO> getIndependentInstance() {
+			final UnaryComputerOp<?, ?>[] copies =
+				new UnaryComputerOp<?, ?>[stages.length];
+			for (int i = 0; i < stages.length; i++) {
+				copies[i] = stages[i].getIndependentInstance();
+			}
+			return new Pipeline<>(Arrays.asList(copies));
+		}
+
+		@SuppressWarnings("unchecked")
+		private UnaryComputerOp<RealType<?>, RealType<?>> stage(final int i) {
+			return (UnaryComputerOp<RealType<?>, RealType<?>>) stages[i];
+		}
+
+	}
+
+}
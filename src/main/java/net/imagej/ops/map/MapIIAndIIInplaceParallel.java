@@ -34,8 +34,10 @@ import net.imagej.ops.Contingent;
 import net.imagej.ops.Ops;
 import net.imagej.ops.Parallel;
 import net.imagej.ops.special.inplace.BinaryInplace1Op;
+import net.imagej.ops.special.inplace.BinaryInplaceOp;
+import net.imagej.ops.thread.OpInstancePool;
 import net.imagej.ops.thread.chunker.ChunkerOp;
-import net.imagej.ops.thread.chunker.CursorBasedChunk;
+import net.imagej.ops.thread.chunker.LongChunk;
 import net.imglib2.IterableInterval;
 
 import org.scijava.Priority;
@@ -62,14 +64,25 @@ public class MapIIAndIIInplaceParallel<EA> extends
 	public void mutate1(final IterableInterval<EA> arg,
 		final IterableInterval<EA> in)
 	{
-		ops().run(ChunkerOp.class, new CursorBasedChunk() {
+		if (!Maps.parallelizable(arg)) {
+			Maps.inplace(arg, in, (BinaryInplace1Op<EA, EA, EA>) getOp());
+			return;
+		}
+		final OpInstancePool pool = new OpInstancePool();
+		ops().run(ChunkerOp.class, new LongChunk() {
 
 			@Override
-			public void execute(final int startIndex, final int stepSize,
-				final int numSteps)
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
 			{
-				Maps.inplace(arg, in, (BinaryInplace1Op<EA, EA, EA>) getOp(),
-					startIndex, stepSize, numSteps);
+				final BinaryInplaceOp<EA, EA> op = pool.acquire(getOp());
+				try {
+					Maps.inplace(arg, in, (BinaryInplace1Op<EA, EA, EA>) op, startIndex,
+						stepSize, numSteps);
+				}
+				finally {
+					pool.release(getOp(), op);
+				}
 			}
 		}, arg.size());
 	}
@@ -78,13 +91,24 @@ public class MapIIAndIIInplaceParallel<EA> extends
 	public void mutate2(final IterableInterval<EA> in,
 		final IterableInterval<EA> arg)
 	{
-		ops().run(ChunkerOp.class, new CursorBasedChunk() {
+		if (!Maps.parallelizable(in)) {
+			Maps.inplace(in, arg, getOp());
+			return;
+		}
+		final OpInstancePool pool = new OpInstancePool();
+		ops().run(ChunkerOp.class, new LongChunk() {
 
 			@Override
-			public void execute(final int startIndex, final int stepSize,
-				final int numSteps)
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
 			{
-				Maps.inplace(in, arg, getOp(), startIndex, stepSize, numSteps);
+				final BinaryInplaceOp<EA, EA> op = pool.acquire(getOp());
+				try {
+					Maps.inplace(in, arg, op, startIndex, stepSize, numSteps);
+				}
+				finally {
+					pool.release(getOp(), op);
+				}
 			}
 		}, in.size());
 	}
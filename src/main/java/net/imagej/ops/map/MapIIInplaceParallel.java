@@ -32,8 +32,10 @@ package net.imagej.ops.map;
 
 import net.imagej.ops.Ops;
 import net.imagej.ops.Parallel;
+import net.imagej.ops.special.inplace.UnaryInplaceOp;
+import net.imagej.ops.thread.OpInstancePool;
 import net.imagej.ops.thread.chunker.ChunkerOp;
-import net.imagej.ops.thread.chunker.CursorBasedChunk;
+import net.imagej.ops.thread.chunker.LongChunk;
 import net.imglib2.IterableInterval;
 
 import org.scijava.Priority;
@@ -52,13 +54,24 @@ public class MapIIInplaceParallel<A> extends
 
 	@Override
 	public void mutate(final IterableInterval<A> arg) {
-		ops().run(ChunkerOp.class, new CursorBasedChunk() {
+		if (!Maps.parallelizable(arg)) {
+			Maps.inplace(arg, getOp());
+			return;
+		}
+		final OpInstancePool pool = new OpInstancePool();
+		ops().run(ChunkerOp.class, new LongChunk() {
 
 			@Override
-			public void execute(final int startIndex, final int stepSize,
-				final int numSteps)
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
 			{
-				Maps.inplace(arg, getOp(), startIndex, stepSize, numSteps);
+				final UnaryInplaceOp<A, A> op = pool.acquire(getOp());
+				try {
+					Maps.inplace(arg, op, startIndex, stepSize, numSteps);
+				}
+				finally {
+					pool.release(getOp(), op);
+				}
 			}
 		}, arg.size());
 	}
@@ -32,7 +32,7 @@ package net.imagej.ops.map;
 
 import net.imagej.ops.Ops;
 import net.imagej.ops.thread.chunker.ChunkerOp;
-import net.imagej.ops.thread.chunker.CursorBasedChunk;
+import net.imagej.ops.thread.chunker.LongChunk;
 import net.imglib2.IterableInterval;
 
 import org.scijava.Priority;
@@ -52,11 +52,11 @@ public class MapNullaryII<O> extends
 
 	@Override
 	public void compute(IterableInterval<O> output) {
-		ops().run(ChunkerOp.class, new CursorBasedChunk() {
+		ops().run(ChunkerOp.class, new LongChunk() {
 
 			@Override
-			public void execute(final int startIndex, final int stepSize,
-				final int numSteps)
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
 			{
 				Maps.map(output, getOp(), startIndex, stepSize, numSteps);
 			}
@@ -30,17 +30,40 @@
 
 package net.imagej.ops.map;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.DoubleUnaryOperator;
+
 import net.imagej.ops.special.computer.BinaryComputerOp;
 import net.imagej.ops.special.computer.NullaryComputerOp;
 import net.imagej.ops.special.computer.UnaryComputerOp;
 import net.imagej.ops.special.inplace.BinaryInplace1Op;
 import net.imagej.ops.special.inplace.BinaryInplaceOp;
 import net.imagej.ops.special.inplace.UnaryInplaceOp;
+import net.imagej.ops.thread.chunker.ChunkMonitor;
+import net.imagej.ops.thread.chunker.ChunkerStorageLayout;
 import net.imglib2.Cursor;
+import net.imglib2.Interval;
 import net.imglib2.IterableInterval;
 import net.imglib2.RandomAccess;
 import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.img.array.ArrayImg;
+import net.imglib2.img.basictypeaccess.array.ArrayDataAccess;
+import net.imglib2.img.cell.AbstractCellImg;
+import net.imglib2.img.planar.PlanarImg;
+import net.imglib2.type.Type;
+import net.imglib2.type.numeric.IntegerType;
+import net.imglib2.type.numeric.integer.ByteType;
+import net.imglib2.type.numeric.integer.IntType;
+import net.imglib2.type.numeric.integer.ShortType;
+import net.imglib2.type.numeric.integer.UnsignedByteType;
+import net.imglib2.type.numeric.integer.UnsignedIntType;
+import net.imglib2.type.numeric.integer.UnsignedShortType;
+import net.imglib2.type.numeric.real.DoubleType;
+import net.imglib2.type.numeric.real.FloatType;
 import net.imglib2.util.Intervals;
+import net.imglib2.view.Views;
 
 /**
  * Utility class for {@link MapOp}s.
@@ -49,10 +72,67 @@ import net.imglib2.util.Intervals;
  */
 public class Maps {
 
+	/**
+	 * Minimum number of elements for which the parallel map computers actually
+	 * split the work across threads; smaller inputs are mapped on the calling
+	 * thread, avoiding the overhead of chunking. Configurable via the
+	 * {@code imagej.ops.map.parallelThreshold} system property.
+	 */
+	public static final long PARALLEL_THRESHOLD = Long.getLong(
+		"imagej.ops.map.parallelThreshold", 10000);
+
+	/** Real types whose {@link ArrayImg}s are mapped over their arrays. */
+	private static final Set<Class<?>> REAL_TYPES = new HashSet<>(Arrays
+		.asList(FloatType.class, DoubleType.class));
+
+	/** Integer types whose {@link ArrayImg}s are mapped over their arrays. */
+	private static final Set<Class<?>> INTEGER_TYPES = new HashSet<>(Arrays
+		.asList(ByteType.class, UnsignedByteType.class, ShortType.class,
+			UnsignedShortType.class, IntType.class, UnsignedIntType.class));
+
+	/** Those of the {@link #INTEGER_TYPES} which are signed. */
+	private static final Set<Class<?>> SIGNED_TYPES = new HashSet<>(Arrays
+		.asList(ByteType.class, ShortType.class, IntType.class));
+
 	private Maps() {
 		// NB: Prevent instantiation of utility class.
 	}
 
+	// -- Helpers for parallel maps --
+
+	/**
+	 * Gets whether the given interval has enough elements to be worth mapping in
+	 * parallel.
+	 * 
+	 * @see #PARALLEL_THRESHOLD
+	 */
+	public static boolean parallelizable(final IterableInterval<?> a) {
+		return a.size() >= PARALLEL_THRESHOLD;
+	}
+
+	/**
+	 * Gets whether mapping between the given images should be split along the
+	 * storage layout of the first one, i.e. per cell of a {@code CellImg} or per
+	 * plane of a {@link PlanarImg}, using the {@link ChunkerStorageLayout}. This
+	 * requires both images to be {@link RandomAccessibleInterval}s with the same
+	 * bounds, so that elements correspond by position.
+	 * 
+	 * @see #map(RandomAccessibleInterval, RandomAccessibleInterval,
+	 *      UnaryComputerOp, Interval)
+	 */
+	public static boolean blockwise(final Object a, final Object b) {
+		if (!(a instanceof RandomAccessibleInterval) ||
+			!(b instanceof RandomAccessibleInterval)) return false;
+		final Interval ia = (Interval) a, ib = (Interval) b;
+		final boolean layout = a instanceof AbstractCellImg ||
+			a instanceof PlanarImg && ia.numDimensions() > 2;
+		if (!layout || ia.numDimensions() != ib.numDimensions()) return false;
+		for (int d = 0; d < ia.numDimensions(); d++) {
+			if (ia.min(d) != ib.min(d) || ia.max(d) != ib.max(d)) return false;
+		}
+		return true;
+	}
+
 	// -- Helpers for conforms() --
 
 	public static <I, O> boolean compatible(final IterableInterval<I> a,
@@ -132,24 +212,36 @@ public class Maps {
 	}
 
 	public static <O> void map(final IterableInterval<O> a,
-		final NullaryComputerOp<O> op, final int startIndex, final int stepSize,
-		final int numSteps)
+		final NullaryComputerOp<O> op, final long startIndex, final long stepSize,
+		final long numSteps)
 	{
 		final Cursor<O> aCursor = a.cursor();
 		aCursor.jumpFwd(startIndex + 1);
-		int ctr = 0;
-		while (ctr < numSteps) {
+		final ChunkMonitor monitor = ChunkMonitor.current();
+		long ctr = 0;
+		while (ctr < numSteps && monitor.proceed(ctr)) {
 			op.compute(aCursor.get());
 			aCursor.jumpFwd(stepSize);
 			ctr++;
 		}
 	}
 
+	public static <O> void map(final IterableInterval<O> a,
+		final NullaryComputerOp<O> op, final int startIndex, final int stepSize,
+		final int numSteps)
+	{
+		map(a, op, (long) startIndex, (long) stepSize, (long) numSteps);
+	}
+
 	// -- Unary Maps --
 
 	public static <I, O> void map(final IterableInterval<I> a,
 		final IterableInterval<O> b, final UnaryComputerOp<I, O> op)
 	{
+		if (primitive(a, b, op)) {
+			mapPrimitive(a, b, (DoubleUnaryOperator) op, 0, 1, a.size());
+			return;
+		}
 		final Cursor<I> aCursor = a.cursor();
 		final Cursor<O> bCursor = b.cursor();
 		while (aCursor.hasNext()) {
@@ -286,14 +378,20 @@ public class Maps {
 
 	public static <I, O> void map(final IterableInterval<I> a,
 		final IterableInterval<O> b, final UnaryComputerOp<I, O> op,
-		final int startIndex, final int stepSize, final int numSteps)
+		final long startIndex, final long stepSize, final long numSteps)
 	{
+		if (primitive(a, b, op)) {
+			mapPrimitive(a, b, (DoubleUnaryOperator) op, startIndex, stepSize,
+				numSteps);
+			return;
+		}
 		final Cursor<I> aCursor = a.cursor();
 		final Cursor<O> bCursor = b.cursor();
 		aCursor.jumpFwd(startIndex + 1);
 		bCursor.jumpFwd(startIndex + 1);
-		int ctr = 0;
-		while (ctr < numSteps) {
+		final ChunkMonitor monitor = ChunkMonitor.current();
+		long ctr = 0;
+		while (ctr < numSteps && monitor.proceed(ctr)) {
 			op.compute(aCursor.get(), bCursor.get());
 			aCursor.jumpFwd(stepSize);
 			bCursor.jumpFwd(stepSize);
@@ -302,14 +400,22 @@ public class Maps {
 	}
 
 	public static <I, O> void map(final IterableInterval<I> a,
-		final RandomAccessibleInterval<O> b, final UnaryComputerOp<I, O> op,
+		final IterableInterval<O> b, final UnaryComputerOp<I, O> op,
 		final int startIndex, final int stepSize, final int numSteps)
+	{
+		map(a, b, op, (long) startIndex, (long) stepSize, (long) numSteps);
+	}
+
+	public static <I, O> void map(final IterableInterval<I> a,
+		final RandomAccessibleInterval<O> b, final UnaryComputerOp<I, O> op,
+		final long startIndex, final long stepSize, final long numSteps)
 	{
 		final Cursor<I> aCursor = a.localizingCursor();
 		final RandomAccess<O> bAccess = b.randomAccess();
 		aCursor.jumpFwd(startIndex + 1);
-		int ctr = 0;
-		while (ctr < numSteps) {
+		final ChunkMonitor monitor = ChunkMonitor.current();
+		long ctr = 0;
+		while (ctr < numSteps && monitor.proceed(ctr)) {
 			bAccess.setPosition(aCursor);
 			op.compute(aCursor.get(), bAccess.get());
 			aCursor.jumpFwd(stepSize);
@@ -317,15 +423,23 @@ public class Maps {
 		}
 	}
 
+	public static <I, O> void map(final IterableInterval<I> a,
+		final RandomAccessibleInterval<O> b, final UnaryComputerOp<I, O> op,
+		final int startIndex, final int stepSize, final int numSteps)
+	{
+		map(a, b, op, (long) startIndex, (long) stepSize, (long) numSteps);
+	}
+
 	public static <I, O> void map(final RandomAccessibleInterval<I> a,
 		final IterableInterval<O> b, final UnaryComputerOp<I, O> op,
-		final int startIndex, final int stepSize, final int numSteps)
+		final long startIndex, final long stepSize, final long numSteps)
 	{
 		final RandomAccess<I> aAccess = a.randomAccess();
 		final Cursor<O> bCursor = b.localizingCursor();
 		bCursor.jumpFwd(startIndex + 1);
-		int ctr = 0;
-		while (ctr < numSteps) {
+		final ChunkMonitor monitor = ChunkMonitor.current();
+		long ctr = 0;
+		while (ctr < numSteps && monitor.proceed(ctr)) {
 			aAccess.setPosition(bCursor);
 			op.compute(aAccess.get(), bCursor.get());
 			bCursor.jumpFwd(stepSize);
@@ -333,12 +447,38 @@ public class Maps {
 		}
 	}
 
+	public static <I, O> void map(final RandomAccessibleInterval<I> a,
+		final IterableInterval<O> b, final UnaryComputerOp<I, O> op,
+		final int startIndex, final int stepSize, final int numSteps)
+	{
+		map(a, b, op, (long) startIndex, (long) stepSize, (long) numSteps);
+	}
+
+	/**
+	 * Maps the given block of {@code a} onto the same positions of {@code b},
+	 * iterating the block with a single cursor.
+	 * 
+	 * @see #blockwise(Object, Object)
+	 */
+	public static <I, O> void map(final RandomAccessibleInterval<I> a,
+		final RandomAccessibleInterval<O> b, final UnaryComputerOp<I, O> op,
+		final Interval block)
+	{
+		final Cursor<I> aCursor = Views.interval(a, block).localizingCursor();
+		final RandomAccess<O> bAccess = b.randomAccess(block);
+		while (aCursor.hasNext()) {
+			aCursor.fwd();
+			bAccess.setPosition(aCursor);
+			op.compute(aCursor.get(), bAccess.get());
+		}
+	}
+
 	// -- Parallel Binary Maps --
 
 	public static <I1, I2, O> void map(final IterableInterval<I1> a,
 		final IterableInterval<I2> b, final IterableInterval<O> c,
-		final BinaryComputerOp<I1, I2, O> op, final int startIndex,
-		final int stepSize, final int numSteps)
+		final BinaryComputerOp<I1, I2, O> op, final long startIndex,
+		final long stepSize, final long numSteps)
 	{
 		final Cursor<I1> aCursor = a.cursor();
 		final Cursor<I2> bCursor = b.cursor();
@@ -346,8 +486,9 @@ public class Maps {
 		aCursor.jumpFwd(startIndex + 1);
 		bCursor.jumpFwd(startIndex + 1);
 		cCursor.jumpFwd(startIndex + 1);
-		int ctr = 0;
-		while (ctr < numSteps) {
+		final ChunkMonitor monitor = ChunkMonitor.current();
+		long ctr = 0;
+		while (ctr < numSteps && monitor.proceed(ctr)) {
 			op.compute(aCursor.get(), bCursor.get(), cCursor.get());
 			aCursor.jumpFwd(stepSize);
 			bCursor.jumpFwd(stepSize);
@@ -357,17 +498,26 @@ public class Maps {
 	}
 
 	public static <I1, I2, O> void map(final IterableInterval<I1> a,
-		final IterableInterval<I2> b, final RandomAccessibleInterval<O> c,
+		final IterableInterval<I2> b, final IterableInterval<O> c,
 		final BinaryComputerOp<I1, I2, O> op, final int startIndex,
 		final int stepSize, final int numSteps)
+	{
+		map(a, b, c, op, (long) startIndex, (long) stepSize, (long) numSteps);
+	}
+
+	public static <I1, I2, O> void map(final IterableInterval<I1> a,
+		final IterableInterval<I2> b, final RandomAccessibleInterval<O> c,
+		final BinaryComputerOp<I1, I2, O> op, final long startIndex,
+		final long stepSize, final long numSteps)
 	{
 		final Cursor<I1> aCursor = a.localizingCursor();
 		final Cursor<I2> bCursor = b.cursor();
 		final RandomAccess<O> cAccess = c.randomAccess();
 		aCursor.jumpFwd(startIndex + 1);
 		bCursor.jumpFwd(startIndex + 1);
-		int ctr = 0;
-		while (ctr < numSteps) {
+		final ChunkMonitor monitor = ChunkMonitor.current();
+		long ctr = 0;
+		while (ctr < numSteps && monitor.proceed(ctr)) {
 			cAccess.setPosition(aCursor);
 			op.compute(aCursor.get(), bCursor.get(), cAccess.get());
 			aCursor.jumpFwd(stepSize);
@@ -377,17 +527,26 @@ public class Maps {
 	}
 
 	public static <I1, I2, O> void map(final IterableInterval<I1> a,
-		final RandomAccessibleInterval<I2> b, final IterableInterval<O> c,
+		final IterableInterval<I2> b, final RandomAccessibleInterval<O> c,
 		final BinaryComputerOp<I1, I2, O> op, final int startIndex,
 		final int stepSize, final int numSteps)
+	{
+		map(a, b, c, op, (long) startIndex, (long) stepSize, (long) numSteps);
+	}
+
+	public static <I1, I2, O> void map(final IterableInterval<I1> a,
+		final RandomAccessibleInterval<I2> b, final IterableInterval<O> c,
+		final BinaryComputerOp<I1, I2, O> op, final long startIndex,
+		final long stepSize, final long numSteps)
 	{
 		final Cursor<I1> aCursor = a.localizingCursor();
 		final RandomAccess<I2> bAccess = b.randomAccess();
 		final Cursor<O> cCursor = c.cursor();
 		aCursor.jumpFwd(startIndex + 1);
 		cCursor.jumpFwd(startIndex + 1);
-		int ctr = 0;
-		while (ctr < numSteps) {
+		final ChunkMonitor monitor = ChunkMonitor.current();
+		long ctr = 0;
+		while (ctr < numSteps && monitor.proceed(ctr)) {
 			bAccess.setPosition(aCursor);
 			op.compute(aCursor.get(), bAccess.get(), cCursor.get());
 			aCursor.jumpFwd(stepSize);
@@ -396,18 +555,27 @@ public class Maps {
 		}
 	}
 
-	public static <I1, I2, O> void map(final RandomAccessibleInterval<I1> a,
-		final IterableInterval<I2> b, final IterableInterval<O> c,
+	public static <I1, I2, O> void map(final IterableInterval<I1> a,
+		final RandomAccessibleInterval<I2> b, final IterableInterval<O> c,
 		final BinaryComputerOp<I1, I2, O> op, final int startIndex,
 		final int stepSize, final int numSteps)
+	{
+		map(a, b, c, op, (long) startIndex, (long) stepSize, (long) numSteps);
+	}
+
+	public static <I1, I2, O> void map(final RandomAccessibleInterval<I1> a,
+		final IterableInterval<I2> b, final IterableInterval<O> c,
+		final BinaryComputerOp<I1, I2, O> op, final long startIndex,
+		final long stepSize, final long numSteps)
 	{
 		final RandomAccess<I1> aAccess = a.randomAccess();
 		final Cursor<I2> bCursor = b.localizingCursor();
 		final Cursor<O> cCursor = c.cursor();
 		bCursor.jumpFwd(startIndex + 1);
 		cCursor.jumpFwd(startIndex + 1);
-		int ctr = 0;
-		while (ctr < numSteps) {
+		final ChunkMonitor monitor = ChunkMonitor.current();
+		long ctr = 0;
+		while (ctr < numSteps && monitor.proceed(ctr)) {
 			aAccess.setPosition(bCursor);
 			op.compute(aAccess.get(), bCursor.get(), cCursor.get());
 			bCursor.jumpFwd(stepSize);
@@ -416,17 +584,26 @@ public class Maps {
 		}
 	}
 
-	public static <I1, I2, O> void map(final IterableInterval<I1> a,
-		final RandomAccessibleInterval<I2> b, final RandomAccessibleInterval<O> c,
+	public static <I1, I2, O> void map(final RandomAccessibleInterval<I1> a,
+		final IterableInterval<I2> b, final IterableInterval<O> c,
 		final BinaryComputerOp<I1, I2, O> op, final int startIndex,
 		final int stepSize, final int numSteps)
+	{
+		map(a, b, c, op, (long) startIndex, (long) stepSize, (long) numSteps);
+	}
+
+	public static <I1, I2, O> void map(final IterableInterval<I1> a,
+		final RandomAccessibleInterval<I2> b, final RandomAccessibleInterval<O> c,
+		final BinaryComputerOp<I1, I2, O> op, final long startIndex,
+		final long stepSize, final long numSteps)
 	{
 		final Cursor<I1> aCursor = a.localizingCursor();
 		final RandomAccess<I2> bAccess = b.randomAccess();
 		final RandomAccess<O> cAccess = c.randomAccess();
 		aCursor.jumpFwd(startIndex + 1);
-		int ctr = 0;
-		while (ctr < numSteps) {
+		final ChunkMonitor monitor = ChunkMonitor.current();
+		long ctr = 0;
+		while (ctr < numSteps && monitor.proceed(ctr)) {
 			bAccess.setPosition(aCursor);
 			cAccess.setPosition(aCursor);
 			op.compute(aCursor.get(), bAccess.get(), cAccess.get());
@@ -435,17 +612,26 @@ public class Maps {
 		}
 	}
 
-	public static <I1, I2, O> void map(final RandomAccessibleInterval<I1> a,
-		final IterableInterval<I2> b, final RandomAccessibleInterval<O> c,
+	public static <I1, I2, O> void map(final IterableInterval<I1> a,
+		final RandomAccessibleInterval<I2> b, final RandomAccessibleInterval<O> c,
 		final BinaryComputerOp<I1, I2, O> op, final int startIndex,
 		final int stepSize, final int numSteps)
+	{
+		map(a, b, c, op, (long) startIndex, (long) stepSize, (long) numSteps);
+	}
+
+	public static <I1, I2, O> void map(final RandomAccessibleInterval<I1> a,
+		final IterableInterval<I2> b, final RandomAccessibleInterval<O> c,
+		final BinaryComputerOp<I1, I2, O> op, final long startIndex,
+		final long stepSize, final long numSteps)
 	{
 		final RandomAccess<I1> aAccess = a.randomAccess();
 		final Cursor<I2> bCursor = b.localizingCursor();
 		final RandomAccess<O> cAccess = c.randomAccess();
 		bCursor.jumpFwd(startIndex + 1);
-		int ctr = 0;
-		while (ctr < numSteps) {
+		final ChunkMonitor monitor = ChunkMonitor.current();
+		long ctr = 0;
+		while (ctr < numSteps && monitor.proceed(ctr)) {
 			aAccess.setPosition(bCursor);
 			cAccess.setPosition(bCursor);
 			op.compute(aAccess.get(), bCursor.get(), cAccess.get());
@@ -455,16 +641,25 @@ public class Maps {
 	}
 
 	public static <I1, I2, O> void map(final RandomAccessibleInterval<I1> a,
-		final RandomAccessibleInterval<I2> b, final IterableInterval<O> c,
+		final IterableInterval<I2> b, final RandomAccessibleInterval<O> c,
 		final BinaryComputerOp<I1, I2, O> op, final int startIndex,
 		final int stepSize, final int numSteps)
+	{
+		map(a, b, c, op, (long) startIndex, (long) stepSize, (long) numSteps);
+	}
+
+	public static <I1, I2, O> void map(final RandomAccessibleInterval<I1> a,
+		final RandomAccessibleInterval<I2> b, final IterableInterval<O> c,
+		final BinaryComputerOp<I1, I2, O> op, final long startIndex,
+		final long stepSize, final long numSteps)
 	{
 		final RandomAccess<I1> aAccess = a.randomAccess();
 		final RandomAccess<I2> bAccess = b.randomAccess();
 		final Cursor<O> cCursor = c.localizingCursor();
 		cCursor.jumpFwd(startIndex + 1);
-		int ctr = 0;
-		while (ctr < numSteps) {
+		final ChunkMonitor monitor = ChunkMonitor.current();
+		long ctr = 0;
+		while (ctr < numSteps && monitor.proceed(ctr)) {
 			aAccess.setPosition(cCursor);
 			bAccess.setPosition(cCursor);
 			op.compute(aAccess.get(), bAccess.get(), cCursor.get());
@@ -473,6 +668,14 @@ public class Maps {
 		}
 	}
 
+	public static <I1, I2, O> void map(final RandomAccessibleInterval<I1> a,
+		final RandomAccessibleInterval<I2> b, final IterableInterval<O> c,
+		final BinaryComputerOp<I1, I2, O> op, final int startIndex,
+		final int stepSize, final int numSteps)
+	{
+		map(a, b, c, op, (long) startIndex, (long) stepSize, (long) numSteps);
+	}
+
 	// -- Unary Inplace Maps --
 
 	public static <I, O extends I> void inplace(final Iterable<O> arg,
@@ -483,19 +686,27 @@ public class Maps {
 	}
 
 	public static <I, O extends I> void inplace(final IterableInterval<O> arg,
-		final UnaryInplaceOp<I, O> op, final int startIndex, final int stepSize,
-		final int numSteps)
+		final UnaryInplaceOp<I, O> op, final long startIndex, final long stepSize,
+		final long numSteps)
 	{
 		final Cursor<O> argCursor = arg.cursor();
 		argCursor.jumpFwd(startIndex + 1);
-		int ctr = 0;
-		while (ctr < numSteps) {
+		final ChunkMonitor monitor = ChunkMonitor.current();
+		long ctr = 0;
+		while (ctr < numSteps && monitor.proceed(ctr)) {
 			op.mutate(argCursor.get());
 			argCursor.jumpFwd(stepSize);
 			ctr++;
 		}
 	}
 
+	public static <I, O extends I> void inplace(final IterableInterval<O> arg,
+		final UnaryInplaceOp<I, O> op, final int startIndex, final int stepSize,
+		final int numSteps)
+	{
+		inplace(arg, op, (long) startIndex, (long) stepSize, (long) numSteps);
+	}
+
 	// -- Binary Inplace Maps --
 
 	public static <I1, I2, O extends I1> void inplace(
@@ -536,14 +747,15 @@ public class Maps {
 
 	public static <A, I> void inplace(final IterableInterval<A> arg,
 		final IterableInterval<I> in, final BinaryInplace1Op<A, I, A> op,
-		final int startIndex, final int stepSize, final int numSteps)
+		final long startIndex, final long stepSize, final long numSteps)
 	{
 		final Cursor<A> argCursor = arg.cursor();
 		final Cursor<I> inCursor = in.cursor();
 		argCursor.jumpFwd(startIndex + 1);
 		inCursor.jumpFwd(startIndex + 1);
-		int ctr = 0;
-		while (ctr < numSteps) {
+		final ChunkMonitor monitor = ChunkMonitor.current();
+		long ctr = 0;
+		while (ctr < numSteps && monitor.proceed(ctr)) {
 			op.mutate1(argCursor.get(), inCursor.get());
 			argCursor.jumpFwd(stepSize);
 			inCursor.jumpFwd(stepSize);
@@ -552,14 +764,22 @@ public class Maps {
 	}
 
 	public static <A, I> void inplace(final IterableInterval<A> arg,
-		final RandomAccessibleInterval<I> in, final BinaryInplace1Op<A, I, A> op,
+		final IterableInterval<I> in, final BinaryInplace1Op<A, I, A> op,
 		final int startIndex, final int stepSize, final int numSteps)
+	{
+		inplace(arg, in, op, (long) startIndex, (long) stepSize, (long) numSteps);
+	}
+
+	public static <A, I> void inplace(final IterableInterval<A> arg,
+		final RandomAccessibleInterval<I> in, final BinaryInplace1Op<A, I, A> op,
+		final long startIndex, final long stepSize, final long numSteps)
 	{
 		final Cursor<A> argCursor = arg.localizingCursor();
 		final RandomAccess<I> inAccess = in.randomAccess();
 		argCursor.jumpFwd(startIndex + 1);
-		int ctr = 0;
-		while (ctr < numSteps) {
+		final ChunkMonitor monitor = ChunkMonitor.current();
+		long ctr = 0;
+		while (ctr < numSteps && monitor.proceed(ctr)) {
 			inAccess.setPosition(argCursor);
 			op.mutate1(argCursor.get(), inAccess.get());
 			argCursor.jumpFwd(stepSize);
@@ -567,15 +787,23 @@ public class Maps {
 		}
 	}
 
+	public static <A, I> void inplace(final IterableInterval<A> arg,
+		final RandomAccessibleInterval<I> in, final BinaryInplace1Op<A, I, A> op,
+		final int startIndex, final int stepSize, final int numSteps)
+	{
+		inplace(arg, in, op, (long) startIndex, (long) stepSize, (long) numSteps);
+	}
+
 	public static <A, I> void inplace(final RandomAccessibleInterval<A> arg,
 		final IterableInterval<I> in, final BinaryInplace1Op<A, I, A> op,
-		final int startIndex, final int stepSize, final int numSteps)
+		final long startIndex, final long stepSize, final long numSteps)
 	{
 		final RandomAccess<A> argAccess = arg.randomAccess();
 		final Cursor<I> inCursor = in.localizingCursor();
 		inCursor.jumpFwd(startIndex + 1);
-		int ctr = 0;
-		while (ctr < numSteps) {
+		final ChunkMonitor monitor = ChunkMonitor.current();
+		long ctr = 0;
+		while (ctr < numSteps && monitor.proceed(ctr)) {
 			argAccess.setPosition(inCursor);
 			op.mutate1(argAccess.get(), inCursor.get());
 			inCursor.jumpFwd(stepSize);
@@ -583,6 +811,13 @@ public class Maps {
 		}
 	}
 
+	public static <A, I> void inplace(final RandomAccessibleInterval<A> arg,
+		final IterableInterval<I> in, final BinaryInplace1Op<A, I, A> op,
+		final int startIndex, final int stepSize, final int numSteps)
+	{
+		inplace(arg, in, op, (long) startIndex, (long) stepSize, (long) numSteps);
+	}
+
 	public static <A> void inplace(final IterableInterval<A> arg,
 		final IterableInterval<A> in, final BinaryInplaceOp<A, A> op)
 	{
@@ -595,14 +830,15 @@ public class Maps {
 
 	public static <A> void inplace(final IterableInterval<A> arg,
 		final IterableInterval<A> in, final BinaryInplaceOp<A, A> op,
-		final int startIndex, final int stepSize, final int numSteps)
+		final long startIndex, final long stepSize, final long numSteps)
 	{
 		final Cursor<A> argCursor = arg.cursor();
 		final Cursor<A> inCursor = in.cursor();
 		argCursor.jumpFwd(startIndex + 1);
 		inCursor.jumpFwd(startIndex + 1);
-		int ctr = 0;
-		while (ctr < numSteps) {
+		final ChunkMonitor monitor = ChunkMonitor.current();
+		long ctr = 0;
+		while (ctr < numSteps && monitor.proceed(ctr)) {
 			op.mutate2(argCursor.get(), inCursor.get());
 			argCursor.jumpFwd(stepSize);
 			inCursor.jumpFwd(stepSize);
@@ -610,4 +846,139 @@ public class Maps {
 		}
 	}
 
+	public static <A> void inplace(final IterableInterval<A> arg,
+		final IterableInterval<A> in, final BinaryInplaceOp<A, A> op,
+		final int startIndex, final int stepSize, final int numSteps)
+	{
+		inplace(arg, in, op, (long) startIndex, (long) stepSize, (long) numSteps);
+	}
+
+	// -- Helper methods --
+
+	/**
+	 * Gets whether the given op can be applied directly to the primitive arrays
+	 * of the given intervals: the op must compute a {@link DoubleUnaryOperator},
+	 * as e.g. the {@link net.imagej.ops.math.UnaryRealTypeMath} ops do, and both
+	 * intervals must be {@link ArrayImg}s of the same dimensions, backed by
+	 * {@link ArrayDataAccess}es. Their element types must either both be
+	 * {@link FloatType} or {@link DoubleType}, or both be the same one of the
+	 * signed and unsigned byte, short and int types.
+	 */
+	private static boolean primitive(final IterableInterval<?> a,
+		final IterableInterval<?> b, final UnaryComputerOp<?, ?> op)
+	{
+		if (!(op instanceof DoubleUnaryOperator)) return false;
+		final Class<?> in = primitiveType(a);
+		final Class<?> out = primitiveType(b);
+		if (in == null || out == null || !Intervals.equalDimensions(a, b)) {
+			return false;
+		}
+		return in == out || REAL_TYPES.contains(in) && REAL_TYPES.contains(out);
+	}
+
+	/**
+	 * Gets the element type of the given interval, if it is an {@link ArrayImg}
+	 * whose primitive array can be mapped directly; null otherwise.
+	 */
+	private static Class<?> primitiveType(final IterableInterval<?> ii) {
+		if (!(ii instanceof ArrayImg) || ii.size() == 0) return null;
+		if (!(((ArrayImg<?, ?>) ii).update(null) instanceof ArrayDataAccess)) {
+			return null;
+		}
+		final Class<?> type = ii.firstElement().getClass();
+		return REAL_TYPES.contains(type) || INTEGER_TYPES.contains(type) ? type
+			: null;
+	}
+
+	/**
+	 * Maps over the primitive arrays backing two {@link ArrayImg}s with a plain
+	 * index loop, calling the primitive function of the op instead of its
+	 * {@code compute} method on linked types.
+	 * <p>
+	 * The results equal those of {@code compute}, which sets the real value of
+	 * the output: {@link FloatType} and {@link DoubleType} merely narrow or keep
+	 * it, and for the integer types, it is rounded and stored by a standalone
+	 * variable of the output type, exactly as {@code setReal} does.
+	 * </p>
+	 */
+	private static void mapPrimitive(final IterableInterval<?> a,
+		final IterableInterval<?> b, final DoubleUnaryOperator f,
+		final long startIndex, final long stepSize, final long numSteps)
+	{
+		final Object in = storage(a);
+		final Object out = storage(b);
+		final ChunkMonitor monitor = ChunkMonitor.current();
+		final int step = (int) stepSize;
+		int i = (int) startIndex;
+		if (in instanceof float[] && out instanceof float[]) {
+			final float[] x = (float[]) in, y = (float[]) out;
+			for (long ctr = 0; ctr < numSteps && monitor.proceed(ctr); ctr++) {
+				y[i] = (float) f.applyAsDouble(x[i]);
+				i += step;
+			}
+		}
+		else if (in instanceof double[] && out instanceof double[]) {
+			final double[] x = (double[]) in, y = (double[]) out;
+			for (long ctr = 0; ctr < numSteps && monitor.proceed(ctr); ctr++) {
+				y[i] = f.applyAsDouble(x[i]);
+				i += step;
+			}
+		}
+		else if (in instanceof float[]) {
+			final float[] x = (float[]) in;
+			final double[] y = (double[]) out;
+			for (long ctr = 0; ctr < numSteps && monitor.proceed(ctr); ctr++) {
+				y[i] = f.applyAsDouble(x[i]);
+				i += step;
+			}
+		}
+		else if (in instanceof double[]) {
+			final double[] x = (double[]) in;
+			final float[] y = (float[]) out;
+			for (long ctr = 0; ctr < numSteps && monitor.proceed(ctr); ctr++) {
+				y[i] = (float) f.applyAsDouble(x[i]);
+				i += step;
+			}
+		}
+		else {
+			// NB: Input and output have the same integer type.
+			final IntegerType<?> t = (IntegerType<?>) ((Type<?>) b.firstElement())
+				.createVariable();
+			final boolean unsigned = !SIGNED_TYPES.contains(t.getClass());
+			if (in instanceof byte[]) {
+				final byte[] x = (byte[]) in, y = (byte[]) out;
+				for (long ctr = 0; ctr < numSteps && monitor.proceed(ctr); ctr++) {
+					t.setReal(f.applyAsDouble(unsigned ? x[i] & 0xff : x[i]));
+					y[i] = (byte) t.getIntegerLong();
+					i += step;
+				}
+			}
+			else if (in instanceof short[]) {
+				final short[] x = (short[]) in, y = (short[]) out;
+				for (long ctr = 0; ctr < numSteps && monitor.proceed(ctr); ctr++) {
+					t.setReal(f.applyAsDouble(unsigned ? x[i] & 0xffff : x[i]));
+					y[i] = (short) t.getIntegerLong();
+					i += step;
+				}
+			}
+			else {
+				final int[] x = (int[]) in, y = (int[]) out;
+				for (long ctr = 0; ctr < numSteps && monitor.proceed(ctr); ctr++) {
+					t.setReal(f.applyAsDouble(unsigned ? x[i] & 0xffffffffL : x[i]));
+					y[i] = (int) t.getIntegerLong();
+					i += step;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the primitive array backing the given {@link ArrayImg}, which has
+	 * been checked by {@link #primitiveType}.
+	 */
+	private static Object storage(final IterableInterval<?> img) {
+		return ((ArrayDataAccess<?>) ((ArrayImg<?, ?>) img).update(null))
+			.getCurrentStorageArray();
+	}
+
 }
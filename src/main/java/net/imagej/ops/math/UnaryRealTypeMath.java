@@ -31,6 +31,7 @@
 package net.imagej.ops.math;
 
 import java.util.Random;
+import java.util.function.DoubleUnaryOperator;
 
 import net.imagej.ops.Ops;
 import net.imagej.ops.special.computer.AbstractUnaryComputerOp;
@@ -59,12 +60,17 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Abs.class)
 	public static class Abs<I extends RealType<I>, O extends RealType<O>> extends
-		AbstractUnaryComputerOp<I, O> implements Ops.Math.Abs
+		AbstractUnaryComputerOp<I, O> implements Ops.Math.Abs, DoubleUnaryOperator
 	{
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal(Math.abs(input.getRealDouble()));
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return Math.abs(value);
 		}
 	}
 
@@ -74,12 +80,18 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Arccos.class)
 	public static class Arccos<I extends RealType<I>, O extends RealType<O>>
-		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.Arccos
+		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.Arccos,
+		DoubleUnaryOperator
 	{
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal(Math.acos(input.getRealDouble()));
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return Math.acos(value);
 		}
 	}
 
@@ -236,12 +248,18 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Arcsin.class)
 	public static class Arcsin<I extends RealType<I>, O extends RealType<O>>
-		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.Arcsin
+		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.Arcsin,
+		DoubleUnaryOperator
 	{
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal(Math.asin(input.getRealDouble()));
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return Math.asin(value);
 		}
 	}
 
@@ -268,12 +286,18 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Arctan.class)
 	public static class Arctan<I extends RealType<I>, O extends RealType<O>>
-		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.Arctan
+		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.Arctan,
+		DoubleUnaryOperator
 	{
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal(Math.atan(input.getRealDouble()));
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return Math.atan(value);
 		}
 	}
 
@@ -299,12 +323,17 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Ceil.class)
 	public static class Ceil<I extends RealType<I>, O extends RealType<O>> extends
-		AbstractUnaryComputerOp<I, O> implements Ops.Math.Ceil
+		AbstractUnaryComputerOp<I, O> implements Ops.Math.Ceil, DoubleUnaryOperator
 	{
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal(Math.ceil(input.getRealDouble()));
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return Math.ceil(value);
 		}
 	}
 
@@ -314,12 +343,17 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Cos.class)
 	public static class Cos<I extends RealType<I>, O extends RealType<O>> extends
-		AbstractUnaryComputerOp<I, O> implements Ops.Math.Cos
+		AbstractUnaryComputerOp<I, O> implements Ops.Math.Cos, DoubleUnaryOperator
 	{
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal(Math.cos(input.getRealDouble()));
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return Math.cos(value);
 		}
 	}
 
@@ -329,12 +363,17 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Cosh.class)
 	public static class Cosh<I extends RealType<I>, O extends RealType<O>> extends
-		AbstractUnaryComputerOp<I, O> implements Ops.Math.Cosh
+		AbstractUnaryComputerOp<I, O> implements Ops.Math.Cosh, DoubleUnaryOperator
 	{
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal(Math.cosh(input.getRealDouble()));
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return Math.cosh(value);
 		}
 	}
 
@@ -344,12 +383,17 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Cot.class)
 	public static class Cot<I extends RealType<I>, O extends RealType<O>> extends
-		AbstractUnaryComputerOp<I, O> implements Ops.Math.Cot
+		AbstractUnaryComputerOp<I, O> implements Ops.Math.Cot, DoubleUnaryOperator
 	{
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal(1.0 / Math.tan(input.getRealDouble()));
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return 1.0 / Math.tan(value);
 		}
 	}
 
@@ -359,12 +403,17 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Coth.class)
 	public static class Coth<I extends RealType<I>, O extends RealType<O>> extends
-		AbstractUnaryComputerOp<I, O> implements Ops.Math.Coth
+		AbstractUnaryComputerOp<I, O> implements Ops.Math.Coth, DoubleUnaryOperator
 	{
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal(1.0 / Math.tanh(input.getRealDouble()));
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return 1.0 / Math.tanh(value);
 		}
 	}
 
@@ -374,12 +423,17 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Csc.class)
 	public static class Csc<I extends RealType<I>, O extends RealType<O>> extends
-		AbstractUnaryComputerOp<I, O> implements Ops.Math.Csc
+		AbstractUnaryComputerOp<I, O> implements Ops.Math.Csc, DoubleUnaryOperator
 	{
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal(1.0 / Math.sin(input.getRealDouble()));
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return 1.0 / Math.sin(value);
 		}
 	}
 
@@ -389,12 +443,17 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Csch.class)
 	public static class Csch<I extends RealType<I>, O extends RealType<O>> extends
-		AbstractUnaryComputerOp<I, O> implements Ops.Math.Csch
+		AbstractUnaryComputerOp<I, O> implements Ops.Math.Csch, DoubleUnaryOperator
 	{
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal(1.0 / Math.sinh(input.getRealDouble()));
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return 1.0 / Math.sinh(value);
 		}
 	}
 
@@ -404,12 +463,18 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.CubeRoot.class)
 	public static class CubeRoot<I extends RealType<I>, O extends RealType<O>>
-		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.CubeRoot
+		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.CubeRoot,
+		DoubleUnaryOperator
 	{
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal(Math.cbrt(input.getRealDouble()));
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return Math.cbrt(value);
 		}
 	}
 
@@ -419,12 +484,17 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Exp.class)
 	public static class Exp<I extends RealType<I>, O extends RealType<O>> extends
-		AbstractUnaryComputerOp<I, O> implements Ops.Math.Exp
+		AbstractUnaryComputerOp<I, O> implements Ops.Math.Exp, DoubleUnaryOperator
 	{
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal(Math.exp(input.getRealDouble()));
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return Math.exp(value);
 		}
 	}
 
@@ -434,12 +504,18 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.ExpMinusOne.class)
 	public static class ExpMinusOne<I extends RealType<I>, O extends RealType<O>>
-		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.ExpMinusOne
+		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.ExpMinusOne,
+		DoubleUnaryOperator
 	{
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal(Math.exp(input.getRealDouble()) - 1);
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return Math.exp(value) - 1;
 		}
 	}
 
@@ -449,12 +525,18 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Floor.class)
 	public static class Floor<I extends RealType<I>, O extends RealType<O>>
-		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.Floor
+		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.Floor,
+		DoubleUnaryOperator
 	{
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal(Math.floor(input.getRealDouble()));
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return Math.floor(value);
 		}
 	}
 
@@ -486,7 +568,8 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Invert.class)
 	public static class Invert<I extends RealType<I>, O extends RealType<O>>
-		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.Invert
+		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.Invert,
+		DoubleUnaryOperator
 	{
 
 		@Parameter
@@ -496,7 +579,12 @@ public final class UnaryRealTypeMath {
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal(specifiedMax - (input.getRealDouble() - specifiedMin));
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return specifiedMax - (value - specifiedMin);
 		}
 	}
 
@@ -506,12 +594,17 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Log.class)
 	public static class Log<I extends RealType<I>, O extends RealType<O>> extends
-		AbstractUnaryComputerOp<I, O> implements Ops.Math.Log
+		AbstractUnaryComputerOp<I, O> implements Ops.Math.Log, DoubleUnaryOperator
 	{
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal(Math.log(input.getRealDouble()));
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return Math.log(value);
 		}
 	}
 
@@ -521,12 +614,18 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Log10.class)
 	public static class Log10<I extends RealType<I>, O extends RealType<O>>
-		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.Log10
+		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.Log10,
+		DoubleUnaryOperator
 	{
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal(Math.log10(input.getRealDouble()));
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return Math.log10(value);
 		}
 	}
 
@@ -536,12 +635,17 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Log2.class)
 	public static class Log2<I extends RealType<I>, O extends RealType<O>> extends
-		AbstractUnaryComputerOp<I, O> implements Ops.Math.Log2
+		AbstractUnaryComputerOp<I, O> implements Ops.Math.Log2, DoubleUnaryOperator
 	{
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal(Math.log(input.getRealDouble()) / Math.log(2));
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return Math.log(value) / Math.log(2);
 		}
 	}
 
@@ -552,12 +656,18 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.LogOnePlusX.class)
 	public static class LogOnePlusX<I extends RealType<I>, O extends RealType<O>>
-		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.LogOnePlusX
+		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.LogOnePlusX,
+		DoubleUnaryOperator
 	{
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal(Math.log1p(input.getRealDouble()));
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return Math.log1p(value);
 		}
 	}
 
@@ -568,7 +678,8 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Max.class)
 	public static class MaxConstant<I extends RealType<I>, O extends RealType<O>>
-		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.Max
+		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.Max,
+		DoubleUnaryOperator
 	{
 
 		@Parameter
@@ -576,9 +687,12 @@ public final class UnaryRealTypeMath {
 
 		@Override
 		public void compute(final I input, final O output) {
-			final double value = input.getRealDouble();
-			if (value < constant) output.setReal(value);
-			else output.setReal(constant);
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return value < constant ? value : constant;
 		}
 	}
 
@@ -590,7 +704,8 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Min.class)
 	public static class MinConstant<I extends RealType<I>, O extends RealType<O>>
-		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.Min
+		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.Min,
+		DoubleUnaryOperator
 	{
 
 		@Parameter
@@ -598,9 +713,12 @@ public final class UnaryRealTypeMath {
 
 		@Override
 		public void compute(final I input, final O output) {
-			final double value = input.getRealDouble();
-			if (value > constant) output.setReal(value);
-			else output.setReal(constant);
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return value > constant ? value : constant;
 		}
 	}
 
@@ -610,12 +728,18 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.NearestInt.class)
 	public static class NearestInt<I extends RealType<I>, O extends RealType<O>>
-		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.NearestInt
+		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.NearestInt,
+		DoubleUnaryOperator
 	{
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal(Math.rint(input.getRealDouble()));
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return Math.rint(value);
 		}
 	}
 
@@ -625,12 +749,18 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Negate.class)
 	public static class Negate<I extends RealType<I>, O extends RealType<O>>
-		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.Negate
+		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.Negate,
+		DoubleUnaryOperator
 	{
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal(-input.getRealDouble());
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return -value;
 		}
 	}
 
@@ -640,7 +770,8 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Power.class)
 	public static class PowerConstant<I extends RealType<I>, O extends RealType<O>>
-		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.Power
+		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.Power,
+		DoubleUnaryOperator
 	{
 
 		@Parameter
@@ -648,7 +779,12 @@ public final class UnaryRealTypeMath {
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal(Math.pow(input.getRealDouble(), constant));
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return Math.pow(value, constant);
 		}
 	}
 
@@ -719,7 +855,8 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Reciprocal.class)
 	public static class Reciprocal<I extends RealType<I>, O extends RealType<O>>
-		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.Reciprocal
+		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.Reciprocal,
+		DoubleUnaryOperator
 	{
 
 		@Parameter
@@ -727,9 +864,12 @@ public final class UnaryRealTypeMath {
 
 		@Override
 		public void compute(final I input, final O output) {
-			final double inputVal = input.getRealDouble();
-			if (inputVal == 0) output.setReal(dbzVal);
-			else output.setReal(1.0 / inputVal);
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return value == 0 ? dbzVal : 1.0 / value;
 		}
 	}
 
@@ -739,12 +879,18 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Round.class)
 	public static class Round<I extends RealType<I>, O extends RealType<O>>
-		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.Round
+		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.Round,
+		DoubleUnaryOperator
 	{
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal((double) Math.round(input.getRealDouble()));
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return (double) Math.round(value);
 		}
 	}
 
@@ -754,12 +900,17 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Sec.class)
 	public static class Sec<I extends RealType<I>, O extends RealType<O>> extends
-		AbstractUnaryComputerOp<I, O> implements Ops.Math.Sec
+		AbstractUnaryComputerOp<I, O> implements Ops.Math.Sec, DoubleUnaryOperator
 	{
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal(1.0 / Math.cos(input.getRealDouble()));
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return 1.0 / Math.cos(value);
 		}
 	}
 
@@ -769,12 +920,17 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Sech.class)
 	public static class Sech<I extends RealType<I>, O extends RealType<O>> extends
-		AbstractUnaryComputerOp<I, O> implements Ops.Math.Sech
+		AbstractUnaryComputerOp<I, O> implements Ops.Math.Sech, DoubleUnaryOperator
 	{
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal(1.0 / Math.cosh(input.getRealDouble()));
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return 1.0 / Math.cosh(value);
 		}
 	}
 
@@ -786,12 +942,18 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Signum.class)
 	public static class Signum<I extends RealType<I>, O extends RealType<O>>
-		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.Signum
+		extends AbstractUnaryComputerOp<I, O> implements Ops.Math.Signum,
+		DoubleUnaryOperator
 	{
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal(Math.signum(input.getRealDouble()));
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return Math.signum(value);
 		}
 	}
 
@@ -801,12 +963,17 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Sin.class)
 	public static class Sin<I extends RealType<I>, O extends RealType<O>> extends
-		AbstractUnaryComputerOp<I, O> implements Ops.Math.Sin
+		AbstractUnaryComputerOp<I, O> implements Ops.Math.Sin, DoubleUnaryOperator
 	{
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal(Math.sin(input.getRealDouble()));
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return Math.sin(value);
 		}
 	}
 
@@ -856,12 +1023,17 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Sinh.class)
 	public static class Sinh<I extends RealType<I>, O extends RealType<O>> extends
-		AbstractUnaryComputerOp<I, O> implements Ops.Math.Sinh
+		AbstractUnaryComputerOp<I, O> implements Ops.Math.Sinh, DoubleUnaryOperator
 	{
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal(Math.sinh(input.getRealDouble()));
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return Math.sinh(value);
 		}
 	}
 
@@ -871,13 +1043,17 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Sqr.class)
 	public static class Sqr<I extends RealType<I>, O extends RealType<O>> extends
-		AbstractUnaryComputerOp<I, O> implements Ops.Math.Sqr
+		AbstractUnaryComputerOp<I, O> implements Ops.Math.Sqr, DoubleUnaryOperator
 	{
 
 		@Override
 		public void compute(final I input, final O output) {
-			final double value = input.getRealDouble();
-			output.setReal(value * value);
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return value * value;
 		}
 	}
 
@@ -887,12 +1063,17 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Sqrt.class)
 	public static class Sqrt<I extends RealType<I>, O extends RealType<O>> extends
-		AbstractUnaryComputerOp<I, O> implements Ops.Math.Sqrt
+		AbstractUnaryComputerOp<I, O> implements Ops.Math.Sqrt, DoubleUnaryOperator
 	{
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal(Math.sqrt(input.getRealDouble()));
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return Math.sqrt(value);
 		}
 	}
 
@@ -920,12 +1101,17 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Tan.class)
 	public static class Tan<I extends RealType<I>, O extends RealType<O>> extends
-		AbstractUnaryComputerOp<I, O> implements Ops.Math.Tan
+		AbstractUnaryComputerOp<I, O> implements Ops.Math.Tan, DoubleUnaryOperator
 	{
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal(Math.tan(input.getRealDouble()));
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return Math.tan(value);
 		}
 	}
 
@@ -935,12 +1121,17 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Tanh.class)
 	public static class Tanh<I extends RealType<I>, O extends RealType<O>> extends
-		AbstractUnaryComputerOp<I, O> implements Ops.Math.Tanh
+		AbstractUnaryComputerOp<I, O> implements Ops.Math.Tanh, DoubleUnaryOperator
 	{
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal(Math.tanh(input.getRealDouble()));
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return Math.tanh(value);
 		}
 	}
 
@@ -952,12 +1143,17 @@ public final class UnaryRealTypeMath {
 	 */
 	@Plugin(type = Ops.Math.Ulp.class)
 	public static class Ulp<I extends RealType<I>, O extends RealType<O>> extends
-		AbstractUnaryComputerOp<I, O> implements Ops.Math.Ulp
+		AbstractUnaryComputerOp<I, O> implements Ops.Math.Ulp, DoubleUnaryOperator
 	{
 
 		@Override
 		public void compute(final I input, final O output) {
-			output.setReal(Math.ulp(input.getRealDouble()));
+			output.setReal(applyAsDouble(input.getRealDouble()));
+		}
+
+		@Override
+		public double applyAsDouble(final double value) {
+			return Math.ulp(value);
 		}
 	}
 
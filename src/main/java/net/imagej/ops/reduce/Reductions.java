@@ -0,0 +1,118 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.reduce;
+
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import net.imagej.ops.OpEnvironment;
+import net.imagej.ops.map.Maps;
+import net.imagej.ops.thread.chunker.ChunkMonitor;
+import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imagej.ops.thread.chunker.LongChunk;
+import net.imglib2.Cursor;
+import net.imglib2.IterableInterval;
+
+/**
+ * Utility class for reducing {@link Iterable}s with {@link Reducer}s.
+ */
+public final class Reductions {
+
+	private Reductions() {
+		// NB: Prevent instantiation of utility class.
+	}
+
+	/** Reduces all elements on the calling thread. */
+	public static <T, A> A reduce(final Iterable<T> input,
+		final Reducer<T, A> reducer)
+	{
+		final A accumulator = reducer.create();
+		for (final T element : input) {
+			reducer.accumulate(accumulator, element);
+		}
+		return accumulator;
+	}
+
+	/** Reduces the given range of elements on the calling thread. */
+	public static <T, A> A reduce(final IterableInterval<T> input,
+		final Reducer<T, A> reducer, final long startIndex, final long stepSize,
+		final long numSteps)
+	{
+		final A accumulator = reducer.create();
+		final Cursor<T> cursor = input.cursor();
+		cursor.jumpFwd(startIndex + 1);
+		final ChunkMonitor monitor = ChunkMonitor.current();
+		long ctr = 0;
+		while (ctr < numSteps && monitor.proceed(ctr)) {
+			reducer.accumulate(accumulator, cursor.get());
+			cursor.jumpFwd(stepSize);
+			ctr++;
+		}
+		return accumulator;
+	}
+
+	/**
+	 * Reduces all elements, splitting {@link IterableInterval}s with enough
+	 * elements across the threads of the given environment. The partial
+	 * accumulators are combined in the order of their chunks, which keeps
+	 * floating point results reproducible for a given chunking.
+	 * 
+	 * @see Maps#parallelizable(IterableInterval)
+	 */
+	public static <T, A> A reduce(final OpEnvironment ops,
+		final Iterable<T> input, final Reducer<T, A> reducer)
+	{
+		if (!(input instanceof IterableInterval) || !Maps.parallelizable(
+			(IterableInterval<T>) input))
+		{
+			return reduce(input, reducer);
+		}
+		final IterableInterval<T> ii = (IterableInterval<T>) input;
+		final ConcurrentSkipListMap<Long, A> partials =
+			new ConcurrentSkipListMap<>();
+		ops.run(ChunkerOp.class, new LongChunk() {
+
+			@Override
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
+			{
+				partials.put(startIndex, reduce(ii, reducer, startIndex, stepSize,
+					numSteps));
+			}
+		}, ii.size());
+
+		final A accumulator = reducer.create();
+		for (final A partial : partials.values()) {
+			reducer.combine(accumulator, partial);
+		}
+		return accumulator;
+	}
+
+}
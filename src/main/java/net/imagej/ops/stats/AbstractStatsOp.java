@@ -31,6 +31,10 @@
 package net.imagej.ops.stats;
 
 import net.imagej.ops.OpService;
+import net.imagej.ops.Ops;
+import net.imagej.ops.cached.CachedOpEnvironment;
+import net.imagej.ops.special.function.Functions;
+import net.imagej.ops.special.function.UnaryFunctionOp;
 import net.imagej.ops.special.hybrid.AbstractUnaryHybridCF;
 import net.imglib2.type.numeric.RealType;
 import net.imglib2.type.numeric.real.DoubleType;
@@ -47,10 +51,31 @@ public abstract class AbstractStatsOp<I, O extends RealType<O>> extends
 	AbstractUnaryHybridCF<I, O> implements StatsOp<I, O>
 {
 
+	private UnaryFunctionOp<Iterable<?>, StatsSummary> summaryFunc;
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public O createOutput(I input) {
 		return (O) new DoubleType();
 	}
 
+	/**
+	 * Gets the {@code stats.summary} of the given input, if this op runs in a
+	 * {@link CachedOpEnvironment}. The summary is then computed in one pass per
+	 * input and shared by all statistics asking for it, e.g. the ones of a
+	 * feature set, instead of each of them walking the input on its own.
+	 * 
+	 * @param input the values, which must be {@link RealType}s
+	 * @return the summary, or null if outputs are not cached
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	protected StatsSummary summary(final Iterable<?> input) {
+		if (!(ops() instanceof CachedOpEnvironment)) return null;
+		if (summaryFunc == null) {
+			summaryFunc = (UnaryFunctionOp) Functions.unary(ops(),
+				Ops.Stats.Summary.class, StatsSummary.class, input);
+		}
+		return summaryFunc.calculate(input);
+	}
+
 }
@@ -64,6 +64,12 @@ public class DefaultKurtosis<I extends RealType<I>, O extends RealType<O>>
 	
 	@Override
 	public void compute(final Iterable<I> input, final O output) {
+		final StatsSummary summary = summary(input);
+		if (summary != null) {
+			output.setReal(summary.getKurtosis());
+			return;
+		}
+
 		output.setReal(Double.NaN);
 
 		final double std = stdDevFunc.calculate(input).getRealDouble();
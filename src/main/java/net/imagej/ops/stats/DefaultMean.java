@@ -66,6 +66,12 @@ public class DefaultMean<I extends RealType<I>, O extends RealType<O>> extends
 
 	@Override
 	public void compute(final Iterable<I> input, final O output) {
+		final StatsSummary summary = summary(input);
+		if (summary != null) {
+			output.setReal(summary.getMean());
+			return;
+		}
+
 		output.setReal(sumFunc.calculate(input).getRealDouble() /
 			areaFunc.calculate(input).getRealDouble());
 	}
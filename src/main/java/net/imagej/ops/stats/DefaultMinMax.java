@@ -32,6 +32,7 @@ package net.imagej.ops.stats;
 
 import net.imagej.ops.Op;
 import net.imagej.ops.Ops;
+import net.imagej.ops.reduce.Reductions;
 import net.imagej.ops.special.function.AbstractUnaryFunctionOp;
 import net.imglib2.type.numeric.RealType;
 import net.imglib2.util.Pair;
@@ -53,20 +54,10 @@ public class DefaultMinMax<I extends RealType<I>> extends
 
 	@Override
 	public Pair<I, I> calculate(final Iterable<I> input) {
-		double tmpMin = Double.POSITIVE_INFINITY;
-		double tmpMax = Double.NEGATIVE_INFINITY;
-
-		for (final I in : input) {
-			final double n = in.getRealDouble();
-
-			if (tmpMin > n) {
-				tmpMin = n;
-			}
-
-			if (tmpMax < n) {
-				tmpMax = n;
-			}
-		}
+		final double[] minMax = Reductions.reduce(ops(), input, StatsReducers
+			.<I> minMax());
+		final double tmpMin = minMax[0];
+		final double tmpMax = minMax[1];
 
 		final I min = input.iterator().next().createVariable();
 		min.setReal(tmpMin);
@@ -32,6 +32,7 @@ package net.imagej.ops.stats;
 
 import net.imagej.ops.Op;
 import net.imagej.ops.Ops;
+import net.imagej.ops.reduce.Reductions;
 import net.imagej.ops.special.chain.RTs;
 import net.imagej.ops.special.function.UnaryFunctionOp;
 import net.imglib2.type.numeric.RealType;
@@ -63,14 +64,17 @@ public class DefaultMoment2AboutMean<I extends RealType<I>, O extends RealType<O
 
 	@Override
 	public void compute(final Iterable<I> input, final O output) {
+		final StatsSummary summary = summary(input);
+		if (summary != null) {
+			output.setReal(summary.getMoment2AboutMean());
+			return;
+		}
+
 		final double mean = meanFunc.calculate(input).getRealDouble();
 		final double size = sizeFunc.calculate(input).getRealDouble();
 
-		double res = 0;
-		for (final I in : input) {
-			final double val = in.getRealDouble() - mean;
-			res += val * val;
-		}
+		final double res = Reductions.reduce(ops(), input, StatsReducers
+			.<I> powerSum(mean, 2))[0];
 
 		output.setReal(res / size);
 	}
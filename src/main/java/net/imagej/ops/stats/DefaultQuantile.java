@@ -30,12 +30,13 @@
 
 package net.imagej.ops.stats;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
-import java.util.List;
 
 import net.imagej.ops.Op;
 import net.imagej.ops.Ops;
+import net.imglib2.IterableInterval;
+import net.imglib2.type.numeric.IntegerType;
 import net.imglib2.type.numeric.RealType;
 
 import org.scijava.plugin.Parameter;
@@ -43,6 +44,13 @@ import org.scijava.plugin.Plugin;
 
 /**
  * {@link Op} to calculate the n-th {@code stats.percentile}.
+ * <p>
+ * The values are copied into a primitive {@code double[]}, which is reused by
+ * subsequent calls on the same thread, and the quantile is selected in place.
+ * The values of an {@link IterableInterval} of integers with at most
+ * {@value #MAX_HISTOGRAM_BITS} bits are counted in a histogram instead, if
+ * there are at least as many values as possible integers.
+ * </p>
  * 
  * @author Daniel Seebacher (University of Konstanz)
  * @author Christian Dietz (University of Konstanz)
@@ -55,27 +63,110 @@ public class DefaultQuantile<I extends RealType<I>, O extends RealType<O>>
 	extends AbstractStatsOp<Iterable<I>, O> implements Ops.Stats.Quantile
 {
 
+	/** Maximum number of bits of integer types counted in a histogram. */
+	private static final int MAX_HISTOGRAM_BITS = 16;
+
+	/** Maximum length of the scratch arrays kept per thread. */
+	private static final int MAX_SCRATCH_LENGTH = 1 << 20;
+
+	/** Values to select from, per thread. */
+	private static final ThreadLocal<double[]> VALUES = new ThreadLocal<>();
+
+	/** Histogram counts, per thread. */
+	private static final ThreadLocal<long[]> COUNTS = new ThreadLocal<>();
+
 	@Parameter(min = "0.0", max = "1.0")
 	private double quantile;
 	
 	@Override
 	public void compute(final Iterable<I> input, final O output) {
-		final ArrayList<Double> statistics = new ArrayList<>();
+		if (input instanceof IterableInterval) {
+			final IterableInterval<I> ii = (IterableInterval<I>) input;
+			if (ii.size() > 0 && histogram(ii.firstElement(), ii.size())) {
+				output.setReal(selectFromHistogram(ii));
+				return;
+			}
+		}
 
+		double[] values = values(input instanceof IterableInterval
+			? (int) Math.min(((IterableInterval<I>) input).size(),
+				Integer.MAX_VALUE) : 16);
+		int size = 0;
 		final Iterator<I> it = input.iterator();
 		while (it.hasNext()) {
-			statistics.add(it.next().getRealDouble());
+			if (size == values.length) {
+				values = Arrays.copyOf(values, 2 * size);
+			}
+			values[size++] = it.next().getRealDouble();
 		}
+		if (size == 0) {
+			output.setReal(Double.NaN);
+			return;
+		}
+		if (values.length <= MAX_SCRATCH_LENGTH) VALUES.set(values);
+
+		output.setReal(select(values, 0, size - 1, index(size)));
+	}
+
+	// -- Helper methods --
 
-		output.setReal(select(statistics, 0, statistics.size() - 1, (int) (statistics
-			.size() * quantile)));
+	/** Gets the index of the quantile within the given number of values. */
+	private int index(final long size) {
+		return (int) Math.min((long) (size * quantile), size - 1);
+	}
+
+	/**
+	 * Gets whether values of the given type are better counted in a histogram
+	 * than selected from an array.
+	 */
+	private boolean histogram(final I type, final long size) {
+		return type instanceof IntegerType &&
+			type.getBitsPerPixel() <= MAX_HISTOGRAM_BITS && size >= range(type);
+	}
+
+	/** Gets the number of integers of the given integer type. */
+	private static int range(final RealType<?> type) {
+		return (int) (type.getMaxValue() - type.getMinValue()) + 1;
+	}
+
+	/** Gets the scratch array of this thread, with at least the given length. */
+	private static double[] values(final int length) {
+		final double[] values = VALUES.get();
+		if (values != null && values.length >= length) return values;
+		return new double[Math.max(length, 16)];
+	}
+
+	/** Selects the quantile by counting the integer values. */
+	private double selectFromHistogram(final IterableInterval<I> input) {
+		final I type = input.firstElement();
+		final int min = (int) type.getMinValue();
+		final int range = range(type);
+
+		long[] counts = COUNTS.get();
+		if (counts == null || counts.length < range) {
+			counts = new long[1 << MAX_HISTOGRAM_BITS];
+			COUNTS.set(counts);
+		}
+		Arrays.fill(counts, 0, range, 0);
+
+		for (final I value : input) {
+			counts[((IntegerType<?>) value).getInteger() - min]++;
+		}
+
+		final long k = index(input.size());
+		long seen = 0;
+		for (int bin = 0; bin < range; bin++) {
+			seen += counts[bin];
+			if (seen > k) return min + bin;
+		}
+		return min + range - 1;
 	}
 
 	/**
 	 * Returns the value of the kth lowest element. Do note that for nth lowest
 	 * element, k = n - 1.
 	 */
-	private double select(final ArrayList<Double> array, final int inLeft,
+	private double select(final double[] array, final int inLeft,
 		final int inRight, final int k)
 	{
 
@@ -86,39 +177,39 @@ public class DefaultQuantile<I extends RealType<I>, O extends RealType<O>>
 
 			if (right <= left + 1) {
 
-				if (right == left + 1 && array.get(right) < array.get(left)) {
+				if (right == left + 1 && array[right] < array[left]) {
 					swap(array, left, right);
 				}
 
-				return array.get(k);
+				return array[k];
 
 			}
 			final int middle = (left + right) >>> 1;
 			swap(array, middle, left + 1);
 
-			if (array.get(left) > array.get(right)) {
+			if (array[left] > array[right]) {
 				swap(array, left, right);
 			}
 
-			if (array.get(left + 1) > array.get(right)) {
+			if (array[left + 1] > array[right]) {
 				swap(array, left + 1, right);
 			}
 
-			if (array.get(left) > array.get(left + 1)) {
+			if (array[left] > array[left + 1]) {
 				swap(array, left, left + 1);
 			}
 
 			int i = left + 1;
 			int j = right;
-			final double pivot = array.get(left + 1);
+			final double pivot = array[left + 1];
 
 			while (true) {
 				do
 					++i;
-				while (array.get(i) < pivot);
+				while (array[i] < pivot);
 				do
 					--j;
-				while (array.get(j) > pivot);
+				while (array[j] > pivot);
 
 				if (j < i) {
 					break;
@@ -127,8 +218,8 @@ public class DefaultQuantile<I extends RealType<I>, O extends RealType<O>>
 				swap(array, i, j);
 			}
 
-			array.set(left + 1, array.get(j));
-			array.set(j, pivot);
+			array[left + 1] = array[j];
+			array[j] = pivot;
 
 			if (j >= k) {
 				right = j - 1;
@@ -141,9 +232,9 @@ public class DefaultQuantile<I extends RealType<I>, O extends RealType<O>>
 	}
 
 	/** Helper method for swapping array entries */
-	private void swap(final List<Double> array, final int a, final int b) {
-		final double temp = array.get(a);
-		array.set(a, array.get(b));
-		array.set(b, temp);
+	private void swap(final double[] array, final int a, final int b) {
+		final double temp = array[a];
+		array[a] = array[b];
+		array[b] = temp;
 	}
 }
@@ -63,6 +63,12 @@ public class DefaultSkewness<I extends RealType<I>, O extends RealType<O>>
 	
 	@Override
 	public void compute(final Iterable<I> input, final O output) {
+		final StatsSummary summary = summary(input);
+		if (summary != null) {
+			output.setReal(summary.getSkewness());
+			return;
+		}
+
 		final double moment3 =
 				moment3AboutMeanFunc.calculate(input).getRealDouble();
 		final double std = stdDevFunc.calculate(input).getRealDouble();
@@ -32,6 +32,7 @@ package net.imagej.ops.stats;
 
 import net.imagej.ops.Op;
 import net.imagej.ops.Ops;
+import net.imagej.ops.reduce.Reductions;
 import net.imglib2.type.numeric.RealType;
 
 import org.scijava.plugin.Plugin;
@@ -51,11 +52,13 @@ public class DefaultSum<I extends RealType<I>, O extends RealType<O>> extends
 
 	@Override
 	public void compute(final Iterable<I> input, final O output) {
-		double sum = 0;
-		for (final I in : input) {
-			sum += in.getRealDouble();
+		final StatsSummary summary = summary(input);
+		if (summary != null) {
+			output.setReal(summary.getSum());
+			return;
 		}
 
-		output.setReal(sum);
+		output.setReal(Reductions.reduce(ops(), input, StatsReducers
+			.<I> sum())[0]);
 	}
 }
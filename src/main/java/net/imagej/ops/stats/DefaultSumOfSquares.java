@@ -32,6 +32,7 @@ package net.imagej.ops.stats;
 
 import net.imagej.ops.Op;
 import net.imagej.ops.Ops;
+import net.imagej.ops.reduce.Reductions;
 import net.imglib2.type.numeric.RealType;
 
 import org.scijava.plugin.Plugin;
@@ -51,11 +52,13 @@ public class DefaultSumOfSquares<I extends RealType<I>, O extends RealType<O>>
 
 	@Override
 	public void compute(final Iterable<I> input, final O output) {
-		double res = 0.0;
-		for (final I in : input) {
-			final double tmp = in.getRealDouble();
-			res += tmp * tmp;
+		final StatsSummary summary = summary(input);
+		if (summary != null) {
+			output.setReal(summary.getSumOfSquares());
+			return;
 		}
-		output.setReal(res);
+
+		output.setReal(Reductions.reduce(ops(), input, StatsReducers
+			.<I> sumOfSquares())[0]);
 	}
 }
@@ -32,6 +32,7 @@ package net.imagej.ops.stats;
 
 import net.imagej.ops.Op;
 import net.imagej.ops.Ops;
+import net.imagej.ops.reduce.Reductions;
 import net.imagej.ops.special.chain.RTs;
 import net.imagej.ops.special.function.UnaryFunctionOp;
 import net.imglib2.type.numeric.RealType;
@@ -64,18 +65,17 @@ public class DefaultVariance<I extends RealType<I>, O extends RealType<O>>
 
 	@Override
 	public void compute(final Iterable<I> input, final O output) {
+		final StatsSummary summary = summary(input);
+		if (summary != null) {
+			output.setReal(summary.getVariance());
+			return;
+		}
 
 		double mean = meanOp.calculate(input).getRealDouble();
 
-		int n = 0;
-		double sum = 0d;
-
-		for (I in : input) {
-			n++;
-			double x = in.getRealDouble();
-			sum += (x - mean) * (x - mean);
-		}
+		final double[] sumAndSize = Reductions.reduce(ops(), input, StatsReducers
+			.<I> powerSum(mean, 2));
 
-		output.setReal(sum / (n - 1));
+		output.setReal(sumAndSize[0] / (sumAndSize[1] - 1));
 	}
 }
@@ -32,6 +32,7 @@ package net.imagej.ops.stats;
 
 import net.imagej.ops.Op;
 import net.imagej.ops.Ops;
+import net.imagej.ops.reduce.Reductions;
 import net.imglib2.type.numeric.RealType;
 
 import org.scijava.Priority;
@@ -53,10 +54,6 @@ public class IterableMax<T extends RealType<T>> extends
 
 	@Override
 	public void compute(final Iterable<T> input, final T output) {
-		// Re-use output to compare against
-		output.setReal(output.getMinValue());
-		for (final T in : input)
-			if (output.compareTo(in) < 0)
-				output.set(in);
+		output.set(Reductions.reduce(ops(), input, StatsReducers.max(output)));
 	}
 }
@@ -32,6 +32,7 @@ package net.imagej.ops.stats;
 
 import net.imagej.ops.Op;
 import net.imagej.ops.Ops;
+import net.imagej.ops.reduce.Reductions;
 import net.imglib2.type.numeric.RealType;
 
 import org.scijava.Priority;
@@ -53,16 +54,15 @@ public class IterableMean<I extends RealType<I>, O extends RealType<O>> extends
 
 	@Override
 	public void compute(final Iterable<I> input, final O output) {
-
-		double sum = 0;
-		double size = 0;
-
-		for (final I in : input) {
-			sum += in.getRealDouble();
-			size++;
+		final StatsSummary summary = summary(input);
+		if (summary != null) {
+			output.setReal(summary.getMean());
+			return;
 		}
 
-		output.setReal(sum / size);
+		final double[] sumAndSize = Reductions.reduce(ops(), input, StatsReducers
+			.<I> sumAndCount());
+		output.setReal(sumAndSize[0] / sumAndSize[1]);
 	}
 
 }
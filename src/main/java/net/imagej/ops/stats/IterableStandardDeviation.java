@@ -32,6 +32,7 @@ package net.imagej.ops.stats;
 
 import net.imagej.ops.Op;
 import net.imagej.ops.Ops;
+import net.imagej.ops.reduce.Reductions;
 import net.imglib2.type.numeric.RealType;
 
 import org.scijava.Priority;
@@ -53,18 +54,16 @@ public class IterableStandardDeviation<I extends RealType<I>, O extends RealType
 
 	@Override
 	public void compute(final Iterable<I> input, final O output) {
-		double sum = 0;
-		double sumSqr = 0;
-		int n = 0;
-
-		for (final I in : input) {
-			final double px = in.getRealDouble();
-			++n;
-			sum += px;
-			sumSqr += px * px;
+		final StatsSummary summary = summary(input);
+		if (summary != null) {
+			output.setReal(summary.getStandardDeviation());
+			return;
 		}
 
-		output.setReal(Math.sqrt((sumSqr - (sum * sum / n)) / (n - 1)));
+		// NB: Welford's updates, with partial results merged pairwise.
+		final double[] moments = Reductions.reduce(ops(), input, StatsReducers
+			.<I> variance());
+		output.setReal(Math.sqrt(StatsReducers.variance(moments)));
 	}
 
 }
@@ -32,6 +32,7 @@ package net.imagej.ops.stats;
 
 import net.imagej.ops.Op;
 import net.imagej.ops.Ops;
+import net.imagej.ops.reduce.Reductions;
 import net.imglib2.type.numeric.RealType;
 
 import org.scijava.Priority;
@@ -57,25 +58,16 @@ public class IterableVariance<I extends RealType<I>, O extends RealType<O>>
 
 	@Override
 	public void compute(final Iterable<I> input, final O output) {
-		int n = 0;
-		double mean = 0.0;
-		double M2 = 0.0;
-
-		for (final I in : input) {
-			double x = in.getRealDouble();
-
-			n = n + 1;
-			double delta = x - mean;
-			mean = mean + delta / n;
-			M2 = M2 + delta * (x - mean);
+		final StatsSummary summary = summary(input);
+		if (summary != null) {
+			output.setReal(summary.getVariance());
+			return;
 		}
 
-		if (n < 2) {
-			output.setReal(Double.NaN);
-		}
-		else {
-			output.setReal(M2 / (n - 1));
-		}
+		// NB: Welford's updates, with partial results merged pairwise.
+		final double[] moments = Reductions.reduce(ops(), input, StatsReducers
+			.<I> variance());
+		output.setReal(StatsReducers.variance(moments));
 	}
 
 }
@@ -467,6 +467,13 @@ public class StatsNamespace extends AbstractNamespace {
 		return result;
 	}
 
+	@OpMethod(op = net.imagej.ops.stats.DefaultSummary.class)
+	public <T extends RealType<T>> StatsSummary summary(final Iterable<T> in) {
+		final StatsSummary result =
+			(StatsSummary) ops().run(net.imagej.ops.Ops.Stats.Summary.class, in);
+		return result;
+	}
+
 	@OpMethod(ops = { net.imagej.ops.stats.DefaultVariance.class,
 		net.imagej.ops.stats.IterableVariance.class })
 	public <T extends RealType<T>, O extends RealType<O>> O variance(
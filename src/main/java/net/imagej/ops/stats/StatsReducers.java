@@ -0,0 +1,281 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.stats;
+
+import net.imagej.ops.reduce.Reducer;
+import net.imagej.ops.reduce.Reductions;
+import net.imglib2.type.numeric.RealType;
+
+/**
+ * {@link Reducer}s for the statistics ops, which run them via
+ * {@link Reductions} to use all cores for large images.
+ */
+public final class StatsReducers {
+
+	private StatsReducers() {
+		// NB: Prevent instantiation of utility class.
+	}
+
+	/** Sums the values into {@code [0]}. */
+	public static <T extends RealType<?>> Reducer<T, double[]> sum() {
+		return new Sums<T>(1) {
+
+			@Override
+			public void accumulate(final double[] sums, final T element) {
+				sums[0] += element.getRealDouble();
+			}
+		};
+	}
+
+	/** Sums the squared values into {@code [0]}. */
+	public static <T extends RealType<?>> Reducer<T, double[]> sumOfSquares() {
+		return new Sums<T>(1) {
+
+			@Override
+			public void accumulate(final double[] sums, final T element) {
+				final double v = element.getRealDouble();
+				sums[0] += v * v;
+			}
+		};
+	}
+
+	/** Sums the values into {@code [0]} and counts them in {@code [1]}. */
+	public static <T extends RealType<?>> Reducer<T, double[]> sumAndCount() {
+		return new Sums<T>(2) {
+
+			@Override
+			public void accumulate(final double[] sums, final T element) {
+				sums[0] += element.getRealDouble();
+				sums[1]++;
+			}
+		};
+	}
+
+	/**
+	 * Sums the given power of the deviations from {@code center} into
+	 * {@code [0]} and counts the values in {@code [1]}.
+	 */
+	public static <T extends RealType<?>> Reducer<T, double[]> powerSum(
+		final double center, final int power)
+	{
+		return new Sums<T>(2) {
+
+			@Override
+			public void accumulate(final double[] sums, final T element) {
+				final double d = element.getRealDouble() - center;
+				double p = d;
+				for (int i = 1; i < power; i++) {
+					p *= d;
+				}
+				sums[0] += p;
+				sums[1]++;
+			}
+		};
+	}
+
+	/** Finds the minimum value in {@code [0]} and the maximum in {@code [1]}. */
+	public static <T extends RealType<?>> Reducer<T, double[]> minMax() {
+		return new Reducer<T, double[]>() {
+
+			@Override
+			public double[] create() {
+				return new double[] { Double.POSITIVE_INFINITY,
+					Double.NEGATIVE_INFINITY };
+			}
+
+			@Override
+			public void accumulate(final double[] minMax, final T element) {
+				final double v = element.getRealDouble();
+				if (minMax[0] > v) minMax[0] = v;
+				if (minMax[1] < v) minMax[1] = v;
+			}
+
+			@Override
+			public void combine(final double[] minMax, final double[] partial) {
+				if (minMax[0] > partial[0]) minMax[0] = partial[0];
+				if (minMax[1] < partial[1]) minMax[1] = partial[1];
+			}
+		};
+	}
+
+	/**
+	 * Finds the minimum in a variable of the given type, starting from its
+	 * largest value.
+	 */
+	public static <T extends RealType<T>> Reducer<T, T> min(final T type) {
+		return new Reducer<T, T>() {
+
+			@Override
+			public T create() {
+				final T min = type.createVariable();
+				min.setReal(min.getMaxValue());
+				return min;
+			}
+
+			@Override
+			public void accumulate(final T min, final T element) {
+				if (min.compareTo(element) > 0) min.set(element);
+			}
+
+			@Override
+			public void combine(final T min, final T partial) {
+				accumulate(min, partial);
+			}
+		};
+	}
+
+	/**
+	 * Finds the maximum in a variable of the given type, starting from its
+	 * smallest value.
+	 */
+	public static <T extends RealType<T>> Reducer<T, T> max(final T type) {
+		return new Reducer<T, T>() {
+
+			@Override
+			public T create() {
+				final T max = type.createVariable();
+				max.setReal(max.getMinValue());
+				return max;
+			}
+
+			@Override
+			public void accumulate(final T max, final T element) {
+				if (max.compareTo(element) < 0) max.set(element);
+			}
+
+			@Override
+			public void combine(final T max, final T partial) {
+				accumulate(max, partial);
+			}
+		};
+	}
+
+	/**
+	 * Counts the values in {@code [0]}, and accumulates their mean in
+	 * {@code [1]} and the sum of their squared deviations from it in {@code [2]}
+	 * with Welford's updates. Partial results are merged with the pairwise
+	 * update of Chan et al. Unlike {@link #summary()}, no higher moments or
+	 * extrema are tracked, which keeps e.g. per-neighborhood variances cheap.
+	 * 
+	 * @see #variance(double[])
+	 */
+	public static <T extends RealType<?>> Reducer<T, double[]> variance() {
+		return new Reducer<T, double[]>() {
+
+			@Override
+			public double[] create() {
+				return new double[3];
+			}
+
+			@Override
+			public void accumulate(final double[] moments, final T element) {
+				final double v = element.getRealDouble();
+				final double n = ++moments[0];
+				final double delta = v - moments[1];
+				moments[1] += delta / n;
+				moments[2] += delta * (v - moments[1]);
+			}
+
+			@Override
+			public void combine(final double[] moments, final double[] partial) {
+				final double na = moments[0], nb = partial[0];
+				if (nb == 0) return;
+				if (na == 0) {
+					System.arraycopy(partial, 0, moments, 0, 3);
+					return;
+				}
+				final double n = na + nb;
+				final double delta = partial[1] - moments[1];
+				moments[0] = n;
+				moments[1] += delta * nb / n;
+				moments[2] += partial[2] + delta * delta * na * nb / n;
+			}
+		};
+	}
+
+	/**
+	 * Gets the sample variance from the result of {@link #variance()}, or
+	 * {@link Double#NaN} for less than two values, as
+	 * {@link StatsSummary#getVariance()} does.
+	 */
+	public static double variance(final double[] moments) {
+		return moments[0] < 2 ? Double.NaN : moments[2] / (moments[0] - 1);
+	}
+
+	/** Accumulates a {@link StatsSummary}. */
+	public static <T extends RealType<?>> Reducer<T, StatsSummary> summary() {
+		return new Reducer<T, StatsSummary>() {
+
+			@Override
+			public StatsSummary create() {
+				return new StatsSummary();
+			}
+
+			@Override
+			public void accumulate(final StatsSummary summary, final T element) {
+				summary.add(element.getRealDouble());
+			}
+
+			@Override
+			public void combine(final StatsSummary summary,
+				final StatsSummary partial)
+			{
+				summary.add(partial);
+			}
+		};
+	}
+
+	// -- Helper classes --
+
+	/** Accumulates sums, which are combined by adding them up. */
+	private static abstract class Sums<T> implements Reducer<T, double[]> {
+
+		private final int length;
+
+		private Sums(final int length) {
+			this.length = length;
+		}
+
+		@Override
+		public double[] create() {
+			return new double[length];
+		}
+
+		@Override
+		public void combine(final double[] sums, final double[] partial) {
+			for (int i = 0; i < length; i++) {
+				sums[i] += partial[i];
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,200 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.stats;
+
+/**
+ * Summary statistics of a sequence of values, accumulated in a single pass.
+ * <p>
+ * Besides the count, sum, sum of squares, minimum and maximum, the central
+ * moments are updated with Welford's method, which avoids the cancellation of
+ * the textbook formulas. Summaries of disjoint parts can be combined with
+ * {@link #add(StatsSummary)}, using the pairwise update of Pébay.
+ * </p>
+ * 
+ * @see <a href=
+ *      "https://en.wikipedia.org/wiki/Algorithms_for_calculating_variance#Higher-order_statistics">
+ *      Wikipedia </a>
+ */
+public class StatsSummary {
+
+	private long n;
+	private double sum;
+	private double sumOfSquares;
+	private double min = Double.POSITIVE_INFINITY;
+	private double max = Double.NEGATIVE_INFINITY;
+	private double mean;
+
+	/** Sums of the 2nd, 3rd and 4th powers of deviations from the mean. */
+	private double m2, m3, m4;
+
+	/** Adds a single value. */
+	public void add(final double x) {
+		final long n1 = n++;
+		sum += x;
+		sumOfSquares += x * x;
+		if (x < min) min = x;
+		if (x > max) max = x;
+
+		final double delta = x - mean;
+		final double deltaN = delta / n;
+		final double deltaN2 = deltaN * deltaN;
+		final double term = delta * deltaN * n1;
+		mean += deltaN;
+		m4 += term * deltaN2 * ((double) n * n - 3 * n + 3) + 6 * deltaN2 * m2 -
+			4 * deltaN * m3;
+		m3 += term * deltaN * (n - 2) - 3 * deltaN * m2;
+		m2 += term;
+	}
+
+	/** Adds all values summarized by the given summary. */
+	public void add(final StatsSummary other) {
+		if (other.n == 0) return;
+		if (n == 0) {
+			set(other);
+			return;
+		}
+		final double na = n;
+		final double nb = other.n;
+		final double nn = na + nb;
+		final double delta = other.mean - mean;
+		final double delta2 = delta * delta;
+
+		final double m2ab = m2 + other.m2 + delta2 * na * nb / nn;
+		final double m3ab = m3 + other.m3 + delta * delta2 * na * nb * (na - nb) /
+			(nn * nn) + 3 * delta * (na * other.m2 - nb * m2) / nn;
+		final double m4ab = m4 + other.m4 + delta2 * delta2 * na * nb * (na * na -
+			na * nb + nb * nb) / (nn * nn * nn) + 6 * delta2 * (na * na * other.m2 +
+				nb * nb * m2) / (nn * nn) + 4 * delta * (na * other.m3 - nb * m3) / nn;
+
+		n += other.n;
+		sum += other.sum;
+		sumOfSquares += other.sumOfSquares;
+		min = Math.min(min, other.min);
+		max = Math.max(max, other.max);
+		mean += delta * nb / nn;
+		m2 = m2ab;
+		m3 = m3ab;
+		m4 = m4ab;
+	}
+
+	/** Sets this summary to the one of the given summary. */
+	public void set(final StatsSummary other) {
+		n = other.n;
+		sum = other.sum;
+		sumOfSquares = other.sumOfSquares;
+		min = other.min;
+		max = other.max;
+		mean = other.mean;
+		m2 = other.m2;
+		m3 = other.m3;
+		m4 = other.m4;
+	}
+
+	/** Removes all values. */
+	public void clear() {
+		set(new StatsSummary());
+	}
+
+	// -- Getters --
+
+	public long getCount() {
+		return n;
+	}
+
+	public double getSum() {
+		return sum;
+	}
+
+	public double getSumOfSquares() {
+		return sumOfSquares;
+	}
+
+	/** Gets the minimum, or positive infinity if there are no values. */
+	public double getMin() {
+		return min;
+	}
+
+	/** Gets the maximum, or negative infinity if there are no values. */
+	public double getMax() {
+		return max;
+	}
+
+	/** Gets the mean, or NaN if there are no values. */
+	public double getMean() {
+		return n == 0 ? Double.NaN : mean;
+	}
+
+	/** Gets the sample variance, or NaN if there are less than two values. */
+	public double getVariance() {
+		return n < 2 ? Double.NaN : m2 / (n - 1);
+	}
+
+	public double getStandardDeviation() {
+		return Math.sqrt(getVariance());
+	}
+
+	/** Gets the 1st moment about the mean, which is 0 up to rounding. */
+	public double getMoment1AboutMean() {
+		return n == 0 ? Double.NaN : 0;
+	}
+
+	public double getMoment2AboutMean() {
+		return m2 / n;
+	}
+
+	public double getMoment3AboutMean() {
+		return m3 / n;
+	}
+
+	public double getMoment4AboutMean() {
+		return m4 / n;
+	}
+
+	/**
+	 * Gets the skewness, i.e. the 3rd moment about the mean divided by the cubed
+	 * standard deviation, or NaN if the standard deviation is 0.
+	 */
+	public double getSkewness() {
+		final double std = getStandardDeviation();
+		return std == 0 ? Double.NaN : getMoment3AboutMean() / (std * std * std);
+	}
+
+	/**
+	 * Gets the kurtosis, i.e. the 4th moment about the mean divided by the
+	 * squared variance, or NaN if the variance is 0.
+	 */
+	public double getKurtosis() {
+		final double variance = getVariance();
+		return variance == 0 ? Double.NaN : getMoment4AboutMean() /
+			(variance * variance);
+	}
+
+}
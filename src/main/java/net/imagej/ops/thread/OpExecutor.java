@@ -0,0 +1,467 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.thread;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.WeakHashMap;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.imagej.ops.OpEnvironment;
+
+import org.scijava.thread.ThreadService;
+
+/**
+ * The execution backend on which the parallel ops of an {@link OpEnvironment}
+ * run their tasks.
+ * <p>
+ * By default, tasks are submitted to the SciJava {@link ThreadService}. Since
+ * parallel ops block while waiting for their tasks, ops which run other
+ * parallel ops, or many ops run concurrently from outside threads, may
+ * exhaust that shared pool. A different backend can therefore be assigned to
+ * each environment via {@link #set}:
+ * </p>
+ * <ul>
+ * <li>{@link #pool(int)}: a dedicated fixed-size thread pool;</li>
+ * <li>{@link #forkJoin()} and {@link #forkJoin(int)}: a {@link ForkJoinPool},
+ * whose workers execute other pending tasks while waiting for nested ones;</li>
+ * <li>{@link #virtualThreads()}: one virtual thread per task, on JDKs which
+ * support them (see {@link #isVirtualThreadsSupported()}).</li>
+ * </ul>
+ * <p>
+ * The default backend can also be chosen via the {@value #BACKEND_PROPERTY}
+ * system property, as {@code threads} (the default), {@code forkjoin} or
+ * {@code virtual}. Environments without a backend of their own use the one of
+ * their parent environment.
+ * </p>
+ * <p>
+ * Each call of a parallel op uses at most {@link #parallelism()} threads. This
+ * can be lowered for all ops of an environment, by assigning it a backend
+ * created via {@link #limit(int)}, or for the ops called by the current thread
+ * via {@link #limitParallelism(int)}:
+ * </p>
+ * 
+ * <pre>
+ * try (OpExecutor.Limit limit = OpExecutor.limitParallelism(2)) {
+ * 	ops.filter().gauss(out, in, sigma);
+ * }
+ * </pre>
+ */
+public final class OpExecutor {
+
+	/** System property selecting the default backend. */
+	public static final String BACKEND_PROPERTY = "imagej.ops.executor";
+
+	/** The backends of all op environments. */
+	private static final Map<OpEnvironment, OpExecutor> EXECUTORS =
+		new WeakHashMap<>();
+
+	/** The parallelism limit of the current thread, or null if unlimited. */
+	private static final ThreadLocal<Integer> LIMIT = new ThreadLocal<>();
+
+	private final ExecutorService executorService;
+
+	/** Whether the executor service was created by, and belongs to, us. */
+	private final boolean owned;
+
+	/** Number of tasks the executor service runs concurrently. */
+	private final int capacity;
+
+	/** Maximum number of threads used by an op call. */
+	private final int parallelism;
+
+	private OpExecutor(final ExecutorService executorService,
+		final boolean owned, final int capacity, final int parallelism)
+	{
+		this.executorService = executorService;
+		this.owned = owned;
+		this.capacity = capacity;
+		this.parallelism = parallelism;
+	}
+
+	// -- OpExecutor methods --
+
+	/**
+	 * Gets the maximum number of threads which a parallel op may use, taking
+	 * the limit of the current thread into account.
+	 */
+	public int parallelism() {
+		final Integer limit = LIMIT.get();
+		return limit == null ? parallelism : Math.min(parallelism, limit);
+	}
+
+	/**
+	 * Gets the executor service to which tasks are submitted. If the
+	 * {@link #parallelism()} is below the capacity of the backend, the returned
+	 * service runs at most that many of its tasks concurrently.
+	 */
+	public ExecutorService executorService() {
+		final int limit = parallelism();
+		if (limit >= capacity) return executorService;
+		return new LimitedExecutorService(executorService, limit, LIMIT.get());
+	}
+
+	/**
+	 * Submits the given task for execution. The parallelism limit of the
+	 * current thread, if any, is passed on to the task.
+	 */
+	public Future<?> run(final Runnable task) {
+		final Integer limit = LIMIT.get();
+		if (limit == null) return executorService.submit(task);
+		return executorService.submit(() -> runLimited(task, limit));
+	}
+
+	/**
+	 * Creates a backend which shares this one's executor service, but lets each
+	 * op call use at most the given number of threads.
+	 */
+	public OpExecutor limit(final int maxParallelism) {
+		if (maxParallelism < 1) {
+			throw new IllegalArgumentException("Invalid parallelism: " +
+				maxParallelism);
+		}
+		return new OpExecutor(executorService, false, capacity, Math.min(
+			parallelism, maxParallelism));
+	}
+
+	/**
+	 * Shuts the backend down, if its threads were created by it. Shared
+	 * executors, such as the {@link ThreadService}'s, are left running.
+	 */
+	public void shutdown() {
+		if (owned) executorService.shutdown();
+	}
+
+	// -- Utility methods --
+
+	/** Gets the backend of the given op environment. */
+	public static OpExecutor of(final OpEnvironment ops) {
+		synchronized (EXECUTORS) {
+			OpEnvironment root = ops;
+			for (OpEnvironment env = ops; env != null; env = env.parent()) {
+				final OpExecutor executor = EXECUTORS.get(env);
+				if (executor != null) return executor;
+				root = env;
+			}
+			// the default backend belongs to the root, so that it is shared
+			final OpExecutor executor = createDefault(root);
+			EXECUTORS.put(root, executor);
+			return executor;
+		}
+	}
+
+	/**
+	 * Sets the backend of the given op environment, shutting down the one it
+	 * replaces.
+	 */
+	public static void set(final OpEnvironment ops, final OpExecutor executor) {
+		final OpExecutor previous;
+		synchronized (EXECUTORS) {
+			previous = EXECUTORS.put(ops, executor);
+		}
+		if (previous != null && previous.executorService != executor
+			.executorService) previous.shutdown();
+	}
+
+	/**
+	 * Limits the number of threads used by each parallel op called from the
+	 * current thread, until the returned {@link Limit} is closed. The limit is
+	 * passed on to the tasks the ops submit via {@link #run}, and hence applies
+	 * to nested ops as well.
+	 */
+	public static Limit limitParallelism(final int maxParallelism) {
+		if (maxParallelism < 1) {
+			throw new IllegalArgumentException("Invalid parallelism: " +
+				maxParallelism);
+		}
+		final Integer previous = LIMIT.get();
+		LIMIT.set(previous == null ? maxParallelism : Math.min(previous,
+			maxParallelism));
+		return new Limit(previous);
+	}
+
+	/** Creates a backend which submits tasks to the given executor service. */
+	public static OpExecutor wrap(final ExecutorService executorService) {
+		return wrap(executorService, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates a backend which submits tasks to the given executor service, which
+	 * runs the given number of tasks concurrently.
+	 */
+	public static OpExecutor wrap(final ExecutorService executorService,
+		final int capacity)
+	{
+		return new OpExecutor(executorService, false, capacity, capacity);
+	}
+
+	/** Creates a backend which submits tasks to the {@link ThreadService}. */
+	public static OpExecutor threadService(final ThreadService threadService) {
+		return wrap(threadService.getExecutorService());
+	}
+
+	/** Creates a backend with a dedicated pool of the given number of threads. */
+	public static OpExecutor pool(final int numThreads) {
+		return new OpExecutor(Executors.newFixedThreadPool(numThreads,
+			new DaemonThreadFactory()), true, numThreads, numThreads);
+	}
+
+	/** Creates a backend which uses the common {@link ForkJoinPool}. */
+	public static OpExecutor forkJoin() {
+		return wrap(ForkJoinPool.commonPool(), ForkJoinPool
+			.getCommonPoolParallelism());
+	}
+
+	/** Creates a backend with a dedicated {@link ForkJoinPool}. */
+	public static OpExecutor forkJoin(final int parallelism) {
+		return new OpExecutor(new ForkJoinPool(parallelism), true, parallelism,
+			parallelism);
+	}
+
+	/** Gets whether the running JDK supports virtual threads. */
+	public static boolean isVirtualThreadsSupported() {
+		return virtualThreadFactory() != null;
+	}
+
+	/**
+	 * Creates a backend which runs each task in a new virtual thread.
+	 * 
+	 * @throws UnsupportedOperationException if the JDK does not support virtual
+	 *           threads
+	 */
+	public static OpExecutor virtualThreads() {
+		final Method factory = virtualThreadFactory();
+		if (factory == null) {
+			throw new UnsupportedOperationException(
+				"Virtual threads are not supported by this JDK");
+		}
+		try {
+			final int capacity = Runtime.getRuntime().availableProcessors();
+			return new OpExecutor((ExecutorService) factory.invoke(null), true,
+				capacity, capacity);
+		}
+		catch (final IllegalAccessException | InvocationTargetException exc) {
+			throw new UnsupportedOperationException(exc);
+		}
+	}
+
+	// -- Helper methods --
+
+	private static OpExecutor createDefault(final OpEnvironment ops) {
+		final String backend = System.getProperty(BACKEND_PROPERTY, "threads");
+		switch (backend) {
+			case "forkjoin":
+				return forkJoin();
+			case "virtual":
+				if (isVirtualThreadsSupported()) return virtualThreads();
+				return forkJoin();
+			default:
+				return threadService(ops.getContext().service(ThreadService.class));
+		}
+	}
+
+	/** Runs the given task with the given parallelism limit. */
+	private static void runLimited(final Runnable task, final Integer limit) {
+		final Integer previous = LIMIT.get();
+		LIMIT.set(limit);
+		try {
+			task.run();
+		}
+		finally {
+			LIMIT.set(previous);
+		}
+	}
+
+	/**
+	 * Looks up {@code Executors.newVirtualThreadPerTaskExecutor()}, which exists
+	 * as of Java 21.
+	 */
+	private static Method virtualThreadFactory() {
+		try {
+			return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+		}
+		catch (final NoSuchMethodException exc) {
+			return null;
+		}
+	}
+
+	// -- Helper classes --
+
+	/**
+	 * Restores the previous parallelism limit of the current thread when closed.
+	 *
+	 * @see OpExecutor#limitParallelism(int)
+	 */
+	public static final class Limit implements AutoCloseable {
+
+		private final Integer previous;
+
+		private Limit(final Integer previous) {
+			this.previous = previous;
+		}
+
+		@Override
+		public void close() {
+			if (previous == null) LIMIT.remove();
+			else LIMIT.set(previous);
+		}
+
+	}
+
+	/**
+	 * An executor service which runs at most a given number of tasks of a shared
+	 * executor service concurrently; further tasks are queued. It neither owns
+	 * nor shuts down the shared service.
+	 */
+	private static class LimitedExecutorService extends AbstractExecutorService {
+
+		private final ExecutorService delegate;
+		private final int limit;
+
+		/** The parallelism limit passed on to the tasks, or null if none. */
+		private final Integer taskLimit;
+
+		private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+		private final AtomicInteger active = new AtomicInteger();
+		private volatile boolean shutdown;
+
+		private LimitedExecutorService(final ExecutorService delegate,
+			final int limit, final Integer taskLimit)
+		{
+			this.delegate = delegate;
+			this.limit = limit;
+			this.taskLimit = taskLimit;
+		}
+
+		@Override
+		public void execute(final Runnable command) {
+			if (shutdown) throw new RejectedExecutionException("Shut down");
+			queue.add(command);
+			startWorkers();
+		}
+
+		@Override
+		public void shutdown() {
+			shutdown = true;
+		}
+
+		@Override
+		public List<Runnable> shutdownNow() {
+			shutdown = true;
+			final List<Runnable> pending = new ArrayList<>();
+			Runnable task;
+			while ((task = queue.poll()) != null) {
+				pending.add(task);
+			}
+			return pending;
+		}
+
+		@Override
+		public boolean isShutdown() {
+			return shutdown;
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return shutdown && active.get() == 0 && queue.isEmpty();
+		}
+
+		@Override
+		public boolean awaitTermination(final long timeout, final TimeUnit unit)
+			throws InterruptedException
+		{
+			final long deadline = System.nanoTime() + unit.toNanos(timeout);
+			while (!isTerminated()) {
+				if (System.nanoTime() >= deadline) return false;
+				Thread.sleep(1);
+			}
+			return true;
+		}
+
+		/** Starts workers for the queued tasks, up to the limit. */
+		private void startWorkers() {
+			while (!queue.isEmpty()) {
+				final int n = active.get();
+				if (n >= limit) return;
+				if (active.compareAndSet(n, n + 1)) delegate.execute(this::drain);
+			}
+		}
+
+		/** Runs queued tasks until the queue is empty. */
+		private void drain() {
+			try {
+				Runnable task;
+				while ((task = queue.poll()) != null) {
+					if (taskLimit == null) task.run();
+					else runLimited(task, taskLimit);
+				}
+			}
+			finally {
+				active.decrementAndGet();
+				// NB: A task may have been queued after the last poll.
+				if (!queue.isEmpty()) startWorkers();
+			}
+		}
+
+	}
+
+	/** Creates named daemon threads for {@link OpExecutor#pool(int)}. */
+	private static class DaemonThreadFactory implements ThreadFactory {
+
+		private static final AtomicInteger POOLS = new AtomicInteger();
+
+		private final int pool = POOLS.incrementAndGet();
+		private final AtomicInteger threads = new AtomicInteger();
+
+		@Override
+		public Thread newThread(final Runnable r) {
+			final Thread t = new Thread(r, "ops-pool-" + pool + "-thread-" + threads
+				.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		}
+
+	}
+
+}
@@ -0,0 +1,124 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.thread;
+
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import net.imagej.ops.Threadable;
+
+/**
+ * Pool of independent op instances for a single invocation of a parallel op.
+ * <p>
+ * Parallel ops need a thread-private instance of the op they apply in each
+ * worker, which is obtained via {@link Threadable#getIndependentInstance()}.
+ * Creating such an instance may be expensive (e.g., when it re-initializes
+ * buffers or helper ops). The pool keeps instances which were handed back via
+ * {@link #release} and hands them out again on subsequent
+ * {@link #acquire} calls for the same prototype, so that each prototype is
+ * only copied as many times as there are concurrent workers.
+ * </p>
+ * <p>
+ * A pool must not outlive the invocation it was created for. Copies may
+ * capture state of their prototype, such as delegate ops or buffers sized to
+ * the inputs, which is only valid for the current call.
+ * </p>
+ * <p>
+ * Typical usage in a parallel op:
+ * </p>
+ * 
+ * <pre>
+ * final OpInstancePool pool = new OpInstancePool();
+ * final UnaryComputerOp&lt;I, O&gt; op = pool.acquire(getOp());
+ * try {
+ * 	// ... use op from this thread only ...
+ * }
+ * finally {
+ * 	pool.release(getOp(), op);
+ * }
+ * </pre>
+ * 
+ * @see Threadable
+ */
+public final class OpInstancePool {
+
+	/** Released instances, per prototype. */
+	private final Map<Threadable, ArrayDeque<Threadable>> free =
+		new IdentityHashMap<>();
+
+	// -- OpInstancePool methods --
+
+	/**
+	 * Gets an instance of the given prototype which may be used exclusively by
+	 * the calling thread, until it is handed back via {@link #release}.
+	 */
+	public <T extends Threadable> T acquire(final T prototype) {
+		synchronized (free) {
+			final ArrayDeque<Threadable> instances = free.get(prototype);
+			if (instances != null && !instances.isEmpty()) {
+				@SuppressWarnings("unchecked")
+				final T instance = (T) instances.pop();
+				return instance;
+			}
+		}
+		@SuppressWarnings("unchecked")
+		final T instance = (T) prototype.getIndependentInstance();
+		return instance;
+	}
+
+	/**
+	 * Hands back an instance obtained via {@link #acquire}, so that it can be
+	 * reused by other threads.
+	 */
+	public <T extends Threadable> void release(final T prototype,
+		final T instance)
+	{
+		// NB: Thread-safe ops hand out themselves; there is nothing to pool.
+		if (instance == prototype) return;
+		synchronized (free) {
+			ArrayDeque<Threadable> instances = free.get(prototype);
+			if (instances == null) {
+				instances = new ArrayDeque<>();
+				free.put(prototype, instances);
+			}
+			instances.push(instance);
+		}
+	}
+
+	/** Discards all pooled instances. */
+	public void clear() {
+		synchronized (free) {
+			free.clear();
+		}
+	}
+
+}
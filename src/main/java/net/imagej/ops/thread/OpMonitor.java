@@ -0,0 +1,177 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.thread;
+
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import net.imagej.ops.Op;
+import net.imagej.ops.OpEnvironment;
+
+import org.scijava.Cancelable;
+
+/**
+ * Cooperative cancelation and progress reporting for the long-running ops of
+ * an {@link OpEnvironment}.
+ * <p>
+ * The monitor acts as a cancelation token: chunkers poll it between chunks
+ * and, via the {@link net.imagej.ops.thread.chunker.ChunkMonitor}, within
+ * them, and iterative ops between iterations, so that all ops running
+ * in the environment stop soon after {@link #cancel} is called, and throw a
+ * {@link CancellationException}. The same ops report the number of completed
+ * elements or iterations to the registered {@link ProgressListener}s.
+ * </p>
+ * <p>
+ * To control a single job, run it in its own environment with its own
+ * monitor:
+ * </p>
+ * 
+ * <pre>
+ * OpEnvironment job = new CustomOpEnvironment(ops);
+ * OpMonitor monitor = OpMonitor.create(job);
+ * monitor.addListener((op, completed, total) -&gt; ...);
+ * job.run(...); // monitor.cancel("timeout") from another thread
+ * </pre>
+ * <p>
+ * Environments without a monitor of their own use the one of their parent
+ * environment.
+ * </p>
+ */
+public final class OpMonitor implements Cancelable {
+
+	/** The monitors of all op environments. */
+	private static final Map<OpEnvironment, OpMonitor> MONITORS =
+		new WeakHashMap<>();
+
+	private final List<ProgressListener> listeners =
+		new CopyOnWriteArrayList<>();
+
+	/** Reason for cancelation, or null if not canceled. */
+	private volatile String cancelReason;
+
+	private OpMonitor() {
+		// NB: Obtained via of(OpEnvironment) or create(OpEnvironment).
+	}
+
+	// -- OpMonitor methods --
+
+	/** Adds a listener to be notified of the progress of monitored ops. */
+	public void addListener(final ProgressListener listener) {
+		listeners.add(listener);
+	}
+
+	/** Removes a previously added listener. */
+	public void removeListener(final ProgressListener listener) {
+		listeners.remove(listener);
+	}
+
+	/** Gets whether any listener is interested in progress reports. */
+	public boolean hasListeners() {
+		return !listeners.isEmpty();
+	}
+
+	/**
+	 * Reports that the given op has completed the given number of elements or
+	 * iterations, out of the given total.
+	 */
+	public void progress(final Op op, final long completed, final long total) {
+		for (final ProgressListener listener : listeners) {
+			listener.progress(op, completed, total);
+		}
+	}
+
+	/**
+	 * Throws a {@link CancellationException} if this monitor has been canceled.
+	 */
+	public void checkCanceled() {
+		final String reason = cancelReason;
+		if (reason != null) throw new CancellationException(reason);
+	}
+
+	/** Clears the cancelation, so that ops may run again. */
+	public void reset() {
+		cancelReason = null;
+	}
+
+	// -- Cancelable methods --
+
+	@Override
+	public boolean isCanceled() {
+		return cancelReason != null;
+	}
+
+	@Override
+	public void cancel(final String reason) {
+		cancelReason = reason == null ? "Canceled" : reason;
+	}
+
+	@Override
+	public String getCancelReason() {
+		return cancelReason;
+	}
+
+	// -- Utility methods --
+
+	/**
+	 * Gets the monitor of the given op environment, or of its nearest ancestor
+	 * which has one.
+	 */
+	public static OpMonitor of(final OpEnvironment ops) {
+		synchronized (MONITORS) {
+			OpEnvironment root = ops;
+			for (OpEnvironment env = ops; env != null; env = env.parent()) {
+				final OpMonitor monitor = MONITORS.get(env);
+				if (monitor != null) return monitor;
+				root = env;
+			}
+			final OpMonitor monitor = new OpMonitor();
+			MONITORS.put(root, monitor);
+			return monitor;
+		}
+	}
+
+	/**
+	 * Creates a new monitor for the given op environment, replacing the one it
+	 * had or inherited. The ops of the environment, and those of its child
+	 * environments, are then canceled independently of other environments.
+	 */
+	public static OpMonitor create(final OpEnvironment ops) {
+		final OpMonitor monitor = new OpMonitor();
+		synchronized (MONITORS) {
+			MONITORS.put(ops, monitor);
+		}
+		return monitor;
+	}
+
+}
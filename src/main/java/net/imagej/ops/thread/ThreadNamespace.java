@@ -34,6 +34,8 @@ import net.imagej.ops.AbstractNamespace;
 import net.imagej.ops.Namespace;
 import net.imagej.ops.OpMethod;
 import net.imagej.ops.thread.chunker.Chunk;
+import net.imagej.ops.thread.chunker.IntervalChunk;
+import net.imglib2.RandomAccessibleInterval;
 
 import org.scijava.plugin.Plugin;
 
@@ -49,12 +51,24 @@ public class ThreadNamespace extends AbstractNamespace {
 
 	/** Executes the "chunker" operation on the given arguments. */
 	@OpMethod(ops = { net.imagej.ops.thread.chunker.DefaultChunker.class,
-		net.imagej.ops.thread.chunker.ChunkerInterleaved.class })
+		net.imagej.ops.thread.chunker.ChunkerInterleaved.class,
+		net.imagej.ops.thread.chunker.ChunkerForkJoin.class })
 	public void chunker(final Chunk chunkable, final long numberOfElements) {
 		ops().run(net.imagej.ops.Ops.Thread.Chunker.class, chunkable,
 			numberOfElements);
 	}
 
+	/**
+	 * Executes the "chunker" operation on the given arguments, splitting the
+	 * image along its storage layout.
+	 */
+	@OpMethod(op = net.imagej.ops.thread.chunker.ChunkerStorageLayout.class)
+	public void chunker(final IntervalChunk chunkable,
+		final RandomAccessibleInterval<?> image)
+	{
+		ops().run(net.imagej.ops.Ops.Thread.Chunker.class, chunkable, image);
+	}
+
 	// -- Named methods --
 
 	@Override
@@ -30,10 +30,16 @@
 
 package net.imagej.ops.thread.chunker;
 
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
 import net.imagej.ops.AbstractOp;
+import net.imagej.ops.thread.OpExecutor;
+import net.imagej.ops.thread.OpMonitor;
 
 import org.scijava.plugin.Parameter;
-import org.scijava.thread.ThreadService;
 
 /**
  * Abstract {@link ChunkerOp}.
@@ -42,12 +48,6 @@ import org.scijava.thread.ThreadService;
  */
 public abstract class AbstractChunker extends AbstractOp implements ChunkerOp {
 
-	/**
-	 * ThreadService used for multi-threading
-	 */
-	@Parameter
-	protected ThreadService threadService;
-
 	/**
 	 * {@link Chunk} to be executed
 	 */
@@ -61,7 +61,13 @@ public abstract class AbstractChunker extends AbstractOp implements ChunkerOp {
 	protected long numberOfElements;
 
 	/** Reason for cancelation, or null if not canceled. */
-	private String cancelReason;
+	private volatile String cancelReason;
+
+	/** Monitor of the current run, resolved once by {@link #begin()}. */
+	private volatile OpMonitor monitor;
+
+	/** Number of elements processed in the current run. */
+	private final AtomicLong completed = new AtomicLong();
 
 	// -- Chunker methods --
 
@@ -75,11 +81,85 @@ public abstract class AbstractChunker extends AbstractOp implements ChunkerOp {
 		this.numberOfElements = totalSize;
 	}
 
+	@Override
+	public void setNumberOfElements(final long totalSize) {
+		this.numberOfElements = totalSize;
+	}
+
+	// -- Helper methods --
+
+	/** Gets the backend to which the chunks are submitted. */
+	protected OpExecutor executor() {
+		return OpExecutor.of(ops());
+	}
+
+	/** Gets the monitor which is polled for cancelation. */
+	protected OpMonitor monitor() {
+		final OpMonitor m = monitor;
+		return m == null ? OpMonitor.of(ops()) : m;
+	}
+
+	/**
+	 * Resets the progress and resolves the {@link OpMonitor} before the chunks
+	 * of a new run are executed.
+	 */
+	protected void begin() {
+		completed.set(0);
+		monitor = OpMonitor.of(ops());
+	}
+
+	/**
+	 * Executes the given elements of the {@link Chunk} in a single call. While
+	 * it runs, the chunk can poll the {@link ChunkMonitor} of its thread, so
+	 * that it stops soon after a cancelation and reports its progress.
+	 */
+	protected void execute(final long startIndex, final long stepSize,
+		final long numSteps)
+	{
+		if (isCanceled()) return;
+		final ChunkMonitor chunkMonitor = new ChunkMonitor(this, numSteps);
+		final ChunkMonitor outer = chunkMonitor.enter();
+		try {
+			chunkable.execute(startIndex, stepSize, numSteps);
+		}
+		finally {
+			ChunkMonitor.exit(outer);
+		}
+		chunkMonitor.finish();
+	}
+
+	/** Reports that the given number of further elements has been processed. */
+	void report(final long steps) {
+		final long total = completed.addAndGet(steps);
+		final OpMonitor m = monitor();
+		if (m.hasListeners()) m.progress(this, total, numberOfElements);
+	}
+
+	/**
+	 * Waits for the given chunks to finish. Once canceled, pending chunks are
+	 * discarded, and a {@link java.util.concurrent.CancellationException} is
+	 * thrown if the {@link OpMonitor} was canceled.
+	 */
+	protected void await(final List<Future<?>> futures)
+		throws InterruptedException, ExecutionException
+	{
+		for (final Future<?> future : futures) {
+			if (isCanceled()) break;
+			future.get();
+		}
+		if (isCanceled()) {
+			for (final Future<?> future : futures) {
+				future.cancel(false);
+			}
+			monitor().checkCanceled();
+		}
+	}
+
 	// -- Cancelable methods --
 
 	@Override
 	public boolean isCanceled() {
-		return cancelReason != null;
+		return cancelReason != null || monitor().isCanceled();
 	}
 
 	/** Cancels the command execution, with the given reason for doing so. */
@@ -90,7 +170,7 @@ public abstract class AbstractChunker extends AbstractOp implements ChunkerOp {
 
 	@Override
 	public String getCancelReason() {
-		return cancelReason;
+		return cancelReason != null ? cancelReason : monitor().getCancelReason();
 	}
 
 }
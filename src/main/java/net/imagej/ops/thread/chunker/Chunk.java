@@ -43,6 +43,7 @@ import net.imagej.ops.Parallel;
  * @author Christian Dietz (University of Konstanz)
  * @see ChunkerOp
  * @see Parallel
+ * @see LongChunk
  */
 public interface Chunk {
 	
@@ -57,4 +58,33 @@ public interface Chunk {
 	 */
 	void execute(int startIndex, int stepSize, int numSteps);
 
+	/**
+	 * Solve the subproblem for the element at startIndex, increase the index by
+	 * the given stepSize and repeat numSteps. {@link ChunkerOp}s call this
+	 * method, so that problems with more than 2<sup>31</sup> elements can be
+	 * enumerated.
+	 * <p>
+	 * The default implementation adapts to {@link #execute(int, int, int)} and
+	 * therefore fails if an index exceeds the {@code int} range. Chunks which
+	 * support larger problems implement {@link LongChunk} instead.
+	 * </p>
+	 * 
+	 * @param startIndex zero based index that identifies the first element of
+	 *          this subproblem (w.r.t. the global problem enumeration)
+	 * @param stepSize the step-size between two consecutive elements
+	 * @param numSteps how many steps shall be taken
+	 * @throws IllegalArgumentException if an index exceeds the {@code int} range
+	 */
+	default void execute(final long startIndex, final long stepSize,
+		final long numSteps)
+	{
+		if (numSteps <= 0) return;
+		final long lastIndex = startIndex + (numSteps - 1) * stepSize;
+		if (lastIndex > Integer.MAX_VALUE || stepSize > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Index " + lastIndex +
+				" exceeds the int range; use a LongChunk instead");
+		}
+		execute((int) startIndex, (int) stepSize, (int) numSteps);
+	}
+
 }
@@ -0,0 +1,126 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.thread.chunker;
+
+/**
+ * Cancelation and progress hook for the {@link Chunk} currently executed on
+ * the calling thread by an {@link AbstractChunker}.
+ * <p>
+ * Chunks which process their elements in a single loop poll the hook via
+ * {@link #proceed(long)} after each element, so that they stop soon after a
+ * cancelation without being split into separately positioned slices:
+ * </p>
+ * 
+ * <pre>
+ * final ChunkMonitor monitor = ChunkMonitor.current();
+ * for (long i = 0; i &lt; numSteps &amp;&amp; monitor.proceed(i); i++) {
+ * 	...
+ * }
+ * </pre>
+ * <p>
+ * Only every {@link #POLL_INTERVAL}-th call actually checks for cancelation
+ * and reports the progress, so polling is cheap enough for per-element loops.
+ * Chunks which do not poll simply run to completion.
+ * </p>
+ */
+public final class ChunkMonitor {
+
+	/** Number of elements between two actual polls; a power of two. */
+	public static final long POLL_INTERVAL = 4096;
+
+	private static final ChunkMonitor NONE = new ChunkMonitor(null, 0);
+
+	private static final ThreadLocal<ChunkMonitor> CURRENT =
+		new ThreadLocal<>();
+
+	private final AbstractChunker chunker;
+
+	private final long numSteps;
+
+	/** Number of steps reported to the chunker so far. */
+	private long reported;
+
+	ChunkMonitor(final AbstractChunker chunker, final long numSteps) {
+		this.chunker = chunker;
+		this.numSteps = numSteps;
+	}
+
+	// -- ChunkMonitor methods --
+
+	/**
+	 * Gets whether the chunk should proceed, having completed the given number
+	 * of its steps.
+	 * 
+	 * @return false if the chunker has been canceled.
+	 */
+	public boolean proceed(final long done) {
+		if (chunker == null || (done & (POLL_INTERVAL - 1)) != 0) return true;
+		if (done > reported) {
+			chunker.report(done - reported);
+			reported = done;
+		}
+		return !chunker.isCanceled();
+	}
+
+	// -- Utility methods --
+
+	/**
+	 * Gets the hook of the chunk executed on the calling thread, or one which
+	 * never cancels if no chunk is being executed by an {@link AbstractChunker}.
+	 */
+	public static ChunkMonitor current() {
+		final ChunkMonitor monitor = CURRENT.get();
+		return monitor == null ? NONE : monitor;
+	}
+
+	// -- Helper methods --
+
+	/** Makes this the current hook of the calling thread. */
+	ChunkMonitor enter() {
+		final ChunkMonitor outer = CURRENT.get();
+		CURRENT.set(this);
+		return outer;
+	}
+
+	/** Restores the given previous hook of the calling thread. */
+	static void exit(final ChunkMonitor outer) {
+		if (outer == null) CURRENT.remove();
+		else CURRENT.set(outer);
+	}
+
+	/** Reports the steps of the completed chunk which were not polled. */
+	void finish() {
+		if (numSteps > reported && !chunker.isCanceled()) {
+			chunker.report(numSteps - reported);
+		}
+	}
+
+}
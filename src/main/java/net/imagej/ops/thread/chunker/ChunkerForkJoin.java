@@ -0,0 +1,195 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.thread.chunker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.imagej.ops.Ops;
+import net.imagej.ops.thread.OpExecutor;
+
+import org.scijava.Priority;
+import org.scijava.plugin.Plugin;
+
+/**
+ * Implementation of a {@link ChunkerOp} based on the fork/join framework. The
+ * elements are split recursively into halves until a range is no larger than
+ * the grain size; idle worker threads steal unprocessed ranges from busy ones.
+ * Hence, one expensive region (e.g. near image borders) does not stall the
+ * other threads, as it may with {@link DefaultChunker}'s fixed chunks.
+ * <p>
+ * The grain size is chosen adaptively: a probe of the first elements is
+ * processed on the calling thread to estimate the cost per element, and the
+ * grain size is picked such that each range takes roughly
+ * {@link #TARGET_RANGE_NANOS}, while still yielding several ranges per thread.
+ * </p>
+ * <p>
+ * Ranges are only forked into a {@link ForkJoinPool} if the environment's
+ * backend is one (see {@link OpExecutor#forkJoin()}) and the call may use all
+ * of its threads. Otherwise, the allowed number of workers run on the
+ * environment's backend and claim ranges from a shared counter, which
+ * balances the load alike.
+ * </p>
+ */
+@Plugin(type = Ops.Thread.Chunker.class, priority = Priority.LOW_PRIORITY)
+public class ChunkerForkJoin extends AbstractChunker {
+
+	/** Targeted processing time of a single range, in nanoseconds. */
+	public static final long TARGET_RANGE_NANOS = 200_000;
+
+	/** Minimum time spent on the probe, in nanoseconds. */
+	private static final long PROBE_NANOS = 20_000;
+
+	/** Number of ranges per thread which should at least be available. */
+	private static final int RANGES_PER_THREAD = 4;
+
+	@Override
+	public void run() {
+		final long n = numberOfElements;
+		begin();
+
+		// process a growing probe on this thread to measure the cost per element
+		long done = 0;
+		long probe = 1;
+		long elapsed = 0;
+		while (done < n && elapsed < PROBE_NANOS && !isCanceled()) {
+			final long steps = Math.min(probe, n - done);
+			final long start = System.nanoTime();
+			execute(done, 1L, steps);
+			elapsed += System.nanoTime() - start;
+			done += steps;
+			probe *= 2;
+		}
+		if (done < n && !isCanceled()) {
+			final double cost = elapsed / (double) done;
+			final OpExecutor executor = executor();
+			final ExecutorService es = executor.executorService();
+			final int parallelism = executor.parallelism();
+			if (es instanceof ForkJoinPool && parallelism >= ((ForkJoinPool) es)
+				.getParallelism())
+			{
+				// NB: Only the environment's own fork/join pool is used; other
+				// backends must not be bypassed.
+				final ForkJoinPool pool = (ForkJoinPool) es;
+				pool.invoke(new Range(done, n - done, grainSize(cost, n - done, pool
+					.getParallelism())));
+			}
+			else {
+				runLimited(done, grainSize(cost, n - done, parallelism), parallelism);
+			}
+		}
+		monitor().checkCanceled();
+	}
+
+	// -- Helper methods --
+
+	/**
+	 * Processes the remaining elements, starting at the given index, with the
+	 * given number of workers on the environment's executor. This is used for
+	 * backends other than fork/join pools, and for parallelism limits below
+	 * the pool's, since the pool's work stealing cannot be limited. The workers
+	 * take ranges of the given grain size from a shared counter instead.
+	 */
+	private void runLimited(final long startIndex, final long grain,
+		final int numWorkers)
+	{
+		final AtomicLong next = new AtomicLong(startIndex);
+		final List<Future<?>> futures = new ArrayList<>(numWorkers);
+		for (int i = 0; i < numWorkers; i++) {
+			futures.add(executor().run(() -> {
+				long start;
+				while (!isCanceled() && (start = next.getAndAdd(grain)) <
+					numberOfElements)
+				{
+					execute(start, 1L, Math.min(grain, numberOfElements - start));
+				}
+			}));
+		}
+		try {
+			await(futures);
+		}
+		catch (final InterruptedException | ExecutionException exc) {
+			throw new RuntimeException(exc);
+		}
+	}
+
+	/**
+	 * Computes the grain size for the given measured cost per element (in
+	 * nanoseconds), number of remaining elements and parallelism.
+	 */
+	private long grainSize(final double cost, final long remaining,
+		final int parallelism)
+	{
+		final long target = cost > 0 ? (long) (TARGET_RANGE_NANOS / cost)
+			: remaining;
+		final int ranges = parallelism * RANGES_PER_THREAD;
+		final long fair = (remaining + ranges - 1) / ranges;
+		return Math.max(1, Math.min(target, fair));
+	}
+
+	// -- Helper classes --
+
+	/** A range of elements, processed as a fork/join task. */
+	private class Range extends RecursiveAction {
+
+		private final long startIndex;
+		private final long numSteps;
+		private final long grain;
+
+		private Range(final long startIndex, final long numSteps,
+			final long grain)
+		{
+			this.startIndex = startIndex;
+			this.numSteps = numSteps;
+			this.grain = grain;
+		}
+
+		@Override
+		protected void compute() {
+			if (isCanceled()) return;
+			if (numSteps <= grain) {
+				execute(startIndex, 1L, numSteps);
+				return;
+			}
+			final long half = numSteps / 2;
+			invokeAll(new Range(startIndex, half, grain), new Range(startIndex +
+				half, numSteps - half, grain));
+		}
+
+	}
+
+}
@@ -31,6 +31,7 @@
 package net.imagej.ops.thread.chunker;
 
 import java.util.ArrayList;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.Future;
 
 import net.imagej.ops.Ops;
@@ -59,51 +60,51 @@ public class ChunkerInterleaved extends AbstractChunker {
 	@Override
 	public void run() {
 
-		final int numThreads = Runtime.getRuntime().availableProcessors();
-		final int numStepsFloor = (int) (numberOfElements / numThreads);
-		final int remainder = (int) numberOfElements - (numStepsFloor * numThreads);
+		final int numThreads = executor().parallelism();
+		final long numStepsFloor = numberOfElements / numThreads;
+		final long remainder = numberOfElements - (numStepsFloor * numThreads);
 
 		final ArrayList<Future<?>> futures = new ArrayList<>(numThreads);
 
+		begin();
+
 		for (int i = 0; i < numThreads; i++) {
-			final int j = i;
+			final long j = i;
 
-			futures.add(threadService.run(new Runnable() {
+			futures.add(executor().run(new Runnable() {
 
 				@Override
 				public void run() {
 					if (j < remainder) {
-						chunkable.execute(j, numThreads, (numStepsFloor + 1));
+						execute(j, numThreads, numStepsFloor + 1);
 					}
 					else {
-						chunkable.execute(j, numThreads, numStepsFloor);
+						execute(j, numThreads, numStepsFloor);
 					}
 				}
 			}));
 		}
 
-		for (final Future<?> future : futures) {
-			try {
-				if (isCanceled()) {
-					break;
-				}
-				future.get();
-			}
-			catch (final Exception e) {
-				logService.error(e);
-				cancellationMsg = e.getMessage();
-				break;
-			}
+		try {
+			await(futures);
+		}
+		catch (final CancellationException e) {
+			throw e;
+		}
+		catch (final Exception e) {
+			logService.error(e);
+			cancellationMsg = e.getMessage();
 		}
 	}
 
 	@Override
 	public boolean isCanceled() {
-		return cancellationMsg != null;
+		return cancellationMsg != null || super.isCanceled();
 	}
 
 	@Override
 	public String getCancelReason() {
-		return cancellationMsg;
+		return cancellationMsg != null ? cancellationMsg : super
+			.getCancelReason();
 	}
 }
@@ -48,4 +48,20 @@ public interface ChunkerOp extends Ops.Thread.Chunker, Cancelable {
 	/** Sets the total number of elements which should be processed in parallel. */
 	void setNumberOfElements(final int numberOfElements);
 
+	/**
+	 * Sets the total number of elements which should be processed in parallel.
+	 * By default, the number is narrowed to an {@code int}, so chunkers which
+	 * support more elements must override this method.
+	 *
+	 * @throws IllegalArgumentException if the number exceeds
+	 *           {@link Integer#MAX_VALUE}.
+	 */
+	default void setNumberOfElements(final long numberOfElements) {
+		if (numberOfElements < 0 || numberOfElements > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Invalid number of elements: " +
+				numberOfElements);
+		}
+		setNumberOfElements((int) numberOfElements);
+	}
+
 }
@@ -0,0 +1,249 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.thread.chunker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.imagej.ops.AbstractOp;
+import net.imagej.ops.Ops;
+import net.imagej.ops.thread.OpExecutor;
+import net.imagej.ops.thread.OpMonitor;
+import net.imglib2.FinalInterval;
+import net.imglib2.Interval;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.img.array.ArrayImg;
+import net.imglib2.img.cell.AbstractCellImg;
+import net.imglib2.img.cell.CellGrid;
+import net.imglib2.img.planar.PlanarImg;
+import net.imglib2.util.IntervalIndexer;
+import net.imglib2.util.Intervals;
+
+import org.scijava.Cancelable;
+import org.scijava.plugin.Parameter;
+import org.scijava.plugin.Plugin;
+
+/**
+ * A chunker which splits an image along its storage layout, rather than along
+ * the flat iteration order: a {@code CellImg} is processed per cell, a
+ * {@link PlanarImg} per plane, and any other image (e.g. an {@link ArrayImg})
+ * per contiguous slab of its last dimension. Each block is processed by an
+ * {@link IntervalChunk} which creates its own cursors, so that no cursor jumps
+ * across cells or planes, and no storage block is shared by two threads.
+ * <p>
+ * The blocks are handed out dynamically to one worker per thread the
+ * environment's {@link OpExecutor} allows, so that expensive blocks do not
+ * stall the other workers. The {@link OpMonitor} of the environment is polled
+ * between blocks.
+ * </p>
+ */
+@Plugin(type = Ops.Thread.Chunker.class)
+public class ChunkerStorageLayout extends AbstractOp implements
+	Ops.Thread.Chunker, Cancelable
+{
+
+	/** Number of slabs per thread into which unstructured images are split. */
+	private static final int SLABS_PER_THREAD = 4;
+
+	/** {@link IntervalChunk} to be executed for each block */
+	@Parameter
+	private IntervalChunk chunkable;
+
+	/** Image whose storage layout determines the blocks */
+	@Parameter
+	private RandomAccessibleInterval<?> image;
+
+	/** Reason for cancelation, or null if not canceled. */
+	private String cancelReason;
+
+	@Override
+	public void run() {
+		final int numThreads = OpExecutor.of(ops()).parallelism();
+		final List<Interval> blocks = blocks(image, numThreads *
+			SLABS_PER_THREAD);
+		final AtomicInteger next = new AtomicInteger();
+		final OpMonitor monitor = OpMonitor.of(ops());
+		final long total = Intervals.numElements(image);
+		final AtomicLong completed = new AtomicLong();
+
+		final int numWorkers = Math.min(numThreads, blocks.size());
+		final ArrayList<Future<?>> futures = new ArrayList<>(numWorkers);
+		for (int i = 0; i < numWorkers; i++) {
+			futures.add(OpExecutor.of(ops()).run(new Runnable() {
+
+				@Override
+				public void run() {
+					int b;
+					while (!isCanceled() && (b = next.getAndIncrement()) < blocks
+						.size())
+					{
+						final Interval block = blocks.get(b);
+						chunkable.execute(block);
+						final long done = completed.addAndGet(Intervals.numElements(
+							block));
+						if (monitor.hasListeners()) {
+							monitor.progress(ChunkerStorageLayout.this, done, total);
+						}
+					}
+				}
+			}));
+		}
+
+		for (final Future<?> future : futures) {
+			try {
+				if (isCanceled()) {
+					break;
+				}
+				future.get();
+			}
+			catch (final InterruptedException exc) {
+				throw new RuntimeException(exc);
+			}
+			catch (final ExecutionException exc) {
+				throw new RuntimeException(exc);
+			}
+		}
+		monitor.checkCanceled();
+	}
+
+	// -- Cancelable methods --
+
+	@Override
+	public boolean isCanceled() {
+		return cancelReason != null || OpMonitor.of(ops()).isCanceled();
+	}
+
+	@Override
+	public void cancel(final String reason) {
+		cancelReason = reason;
+	}
+
+	@Override
+	public String getCancelReason() {
+		return cancelReason;
+	}
+
+	// -- Utility methods --
+
+	/**
+	 * Splits the given image into blocks along its storage layout: one block per
+	 * cell of a {@code CellImg}, one per plane of a {@link PlanarImg}, and
+	 * otherwise up to {@code numSlabs} slabs along the last dimension, each of
+	 * which is contiguous in flat iteration order.
+	 */
+	public static List<Interval> blocks(final RandomAccessibleInterval<?> image,
+		final int numSlabs)
+	{
+		if (image instanceof AbstractCellImg) {
+			return cells(((AbstractCellImg<?, ?, ?, ?>) image).getCellGrid());
+		}
+		if (image instanceof PlanarImg && image.numDimensions() > 2) {
+			return planes(image);
+		}
+		return slabs(image, numSlabs);
+	}
+
+	// -- Helper methods --
+
+	private static List<Interval> cells(final CellGrid grid) {
+		final int n = grid.numDimensions();
+		final long[] gridDims = grid.getGridDimensions();
+		long numCells = 1;
+		for (final long d : gridDims) {
+			numCells *= d;
+		}
+		final List<Interval> cells = new ArrayList<>();
+		final long[] gridPos = new long[n];
+		final long[] min = new long[n];
+		final long[] max = new long[n];
+		final int[] dims = new int[n];
+		for (long i = 0; i < numCells; i++) {
+			IntervalIndexer.indexToPosition(i, gridDims, gridPos);
+			grid.getCellDimensions(gridPos, min, dims);
+			for (int d = 0; d < n; d++) {
+				max[d] = min[d] + dims[d] - 1;
+			}
+			cells.add(new FinalInterval(min, max));
+		}
+		return cells;
+	}
+
+	private static List<Interval> planes(final RandomAccessibleInterval<?> img) {
+		final int n = img.numDimensions();
+		final long[] planeDims = new long[n - 2];
+		long numPlanes = 1;
+		for (int d = 2; d < n; d++) {
+			planeDims[d - 2] = img.dimension(d);
+			numPlanes *= planeDims[d - 2];
+		}
+		final List<Interval> planes = new ArrayList<>();
+		final long[] planePos = new long[n - 2];
+		final long[] min = new long[n];
+		final long[] max = new long[n];
+		img.min(min);
+		img.max(max);
+		for (long i = 0; i < numPlanes; i++) {
+			IntervalIndexer.indexToPosition(i, planeDims, planePos);
+			for (int d = 2; d < n; d++) {
+				min[d] = max[d] = img.min(d) + planePos[d - 2];
+			}
+			planes.add(new FinalInterval(min, max));
+		}
+		return planes;
+	}
+
+	private static List<Interval> slabs(final RandomAccessibleInterval<?> img,
+		final int numSlabs)
+	{
+		final int n = img.numDimensions();
+		if (n == 0) return Collections.singletonList(img);
+		final int last = n - 1;
+		final long size = img.dimension(last);
+		final long slab = Math.max(1, (size + numSlabs - 1) / numSlabs);
+		final List<Interval> slabs = new ArrayList<>();
+		final long[] min = new long[n];
+		final long[] max = new long[n];
+		img.min(min);
+		img.max(max);
+		for (long start = 0; start < size; start += slab) {
+			min[last] = img.min(last) + start;
+			max[last] = Math.min(img.max(last), min[last] + slab - 1);
+			slabs.add(new FinalInterval(min, max));
+		}
+		return slabs;
+	}
+
+}
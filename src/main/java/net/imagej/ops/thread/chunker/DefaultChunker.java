@@ -51,7 +51,7 @@ import org.scijava.plugin.Plugin;
 @Plugin(type = Ops.Thread.Chunker.class)
 public class DefaultChunker extends AbstractChunker {
 
-	private final int STEP_SIZE = 1;
+	private final long STEP_SIZE = 1;
 
 	@Parameter
 	public LogService logService;
@@ -61,48 +61,45 @@ public class DefaultChunker extends AbstractChunker {
 
 		// TODO: is there a better way to determine the optimal chunk size?
 		
-		final int numSteps = Math.max(1, 
-			(int) (numberOfElements / Runtime.getRuntime().availableProcessors())) ;
-		
+		final long numSteps = Math.max(1, numberOfElements / executor()
+			.parallelism());
+
 		final int numChunks = (int) (numberOfElements / numSteps);
 
 		final ArrayList<Future<?>> futures = new ArrayList<>(numChunks);
 
+		begin();
+
 		for (int i = 0; i < numChunks - 1; i++) {
-			final int j = i;
+			final long j = i;
 
-			futures.add(threadService.run(new Runnable() {
+			futures.add(executor().run(new Runnable() {
 
 				@Override
 				public void run() {
-					chunkable.execute(j * numSteps, STEP_SIZE, numSteps);
+					execute(j * numSteps, STEP_SIZE, numSteps);
 				}
 			}));
 		}
 
 		// last chunk additionally add the rest of elements
-		futures.add(threadService.run(new Runnable() {
+		futures.add(executor().run(new Runnable() {
 
 			@Override
 			public void run() {
-				chunkable.execute((numChunks - 1) * numSteps, STEP_SIZE,
-					(int) (numSteps + (numberOfElements % numSteps)));
+				execute((numChunks - 1) * numSteps, STEP_SIZE,
+					numSteps + (numberOfElements % numSteps));
 			}
 		}));
 
-		for (final Future<?> future : futures) {
-			try {
-				if (isCanceled()) {
-					break;
-				}
-				future.get();
-			}
-			catch (final InterruptedException exc) {
-				throw new RuntimeException(exc);
-			}
-			catch (final ExecutionException exc) {
-				throw new RuntimeException(exc);
-			}
+		try {
+			await(futures);
+		}
+		catch (final InterruptedException exc) {
+			throw new RuntimeException(exc);
+		}
+		catch (final ExecutionException exc) {
+			throw new RuntimeException(exc);
 		}
 	}
 
@@ -39,6 +39,7 @@ import net.imagej.ops.special.computer.AbstractUnaryComputerOp;
 import net.imagej.ops.special.computer.UnaryComputerOp;
 import net.imagej.ops.thread.chunker.ChunkerOp;
 import net.imagej.ops.thread.chunker.CursorBasedChunk;
+import net.imagej.ops.thread.chunker.LongChunk;
 import net.imglib2.Cursor;
 import net.imglib2.IterableInterval;
 import net.imglib2.RandomAccess;
@@ -66,23 +67,23 @@ public class DefaultProjectParallel<T, V> extends
 	public void compute(final RandomAccessibleInterval<T> input,
 		final IterableInterval<V> output)
 	{
-		ops().run(ChunkerOp.class, new CursorBasedChunk() {
+		ops().run(ChunkerOp.class, new LongChunk() {
 
 			@Override
-			public void
-				execute(int startIndex, final int stepSize, final int numSteps)
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
 			{
 				final RandomAccess<T> access = input.randomAccess();
 				final Cursor<V> cursor = output.localizingCursor();
 
-				setToStart(cursor, startIndex);
+				CursorBasedChunk.setToStart(cursor, startIndex);
 
-				int ctr = 0;
+				long ctr = 0;
 				while (ctr < numSteps) {
 					for (int d = 0; d < input.numDimensions(); d++) {
 						if (d != dim) {
 							access
-							.setPosition(cursor.getIntPosition(d - (d > dim ? 1 : 0)), d);
+							.setPosition(cursor.getLongPosition(d - (d > dim ? 1 : 0)), d);
 						}
 					}
 
@@ -117,7 +118,7 @@ public class DefaultProjectParallel<T, V> extends
 		public Iterator<T> iterator() {
 			return new Iterator<T>() {
 
-				int k = -1;
+				long k = -1;
 
 				@Override
 				public boolean hasNext() {
@@ -0,0 +1,106 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import net.imagej.ops.identity.DefaultIdentity;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link OpIndexSnapshot}.
+ */
+public class OpIndexSnapshotTest extends AbstractOpTest {
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		final List<OpInfo> infos = new ArrayList<>(ops.infos());
+		final File file = File.createTempFile("ops-index", ".txt");
+		try {
+			OpIndexSnapshot.of(infos).write(file);
+
+			final OpIndexSnapshot snapshot = OpIndexSnapshot.read(file);
+			assertEquals(infos.size(), snapshot.size());
+
+			final List<OpInfo> fresh = copies(infos);
+			assertTrue(snapshot.apply(fresh));
+			for (int i = 0; i < infos.size(); i++) {
+				assertEquals(infos.get(i).getName(), fresh.get(i).getName());
+				assertArrayEquals(infos.get(i).getAliases(), fresh.get(i)
+					.getAliases());
+			}
+		}
+		finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testStale() {
+		final List<OpInfo> infos = new ArrayList<>(ops.infos());
+		final OpIndexSnapshot snapshot = OpIndexSnapshot.of(infos.subList(1, infos
+			.size()));
+		assertFalse(snapshot.apply(copies(infos)));
+	}
+
+	@Test
+	public void testAliasAttributes() {
+		final OpInfo info = new OpInfo(DefaultIdentity.class);
+		final List<OpInfo> infos = Collections.singletonList(info);
+		final String checksum = OpIndexSnapshot.checksum(infos);
+		assertEquals(checksum, OpIndexSnapshot.checksum(infos));
+
+		info.cInfo().set("alias", "same");
+		assertNotEquals(checksum, OpIndexSnapshot.checksum(infos));
+	}
+
+	// -- Helper methods --
+
+	private List<OpInfo> copies(final List<OpInfo> infos) {
+		final List<OpInfo> copies = new ArrayList<>();
+		for (final OpInfo info : infos) {
+			copies.add(new OpInfo(info.cInfo()));
+		}
+		return copies;
+	}
+
+}
@@ -161,6 +161,67 @@ public class OpMatchingServiceTest extends AbstractOpTest {
 		// Not implemented yet
 	}
 
+	/** Tests that repeated requests are resolved from the match cache. */
+	@Test
+	public void testMatchCache() {
+		final DefaultOpMatchingService defaultMatcher =
+			(DefaultOpMatchingService) matcher;
+		defaultMatcher.clearCache();
+		final long hits = defaultMatcher.getCacheHits();
+		final long misses = defaultMatcher.getCacheMisses();
+
+		final DoubleType value = new DoubleType(1);
+		final Module first = matcher.findMatch(ops, OpRef.create("test.nan",
+			value)).getModule();
+		assertEquals(hits, defaultMatcher.getCacheHits());
+		assertEquals(misses + 1, defaultMatcher.getCacheMisses());
+
+		final DoubleType other = new DoubleType(2);
+		final Module second = matcher.findMatch(ops, OpRef.create("test.nan",
+			other)).getModule();
+		assertEquals(hits + 1, defaultMatcher.getCacheHits());
+		assertSame(other, second.getInput("arg"));
+		assertSame(first.getDelegateObject().getClass(), second.getDelegateObject()
+			.getClass());
+
+		// cached matches still honor the cast levels of each argument class
+		assertEquals(OrangeIfaceFoo.class, ops.op(Foo.class, OrangeIface2.class)
+			.getClass());
+		assertEquals(OrangeIfaceFoo.class, ops.op(Foo.class, OrangeIface2.class)
+			.getClass());
+		assertEquals(OrangeClassFoo.class, ops.op(Foo.class, OrangeClass2.class)
+			.getClass());
+	}
+
+	@Test
+	public void testMetrics() {
+		final OpMetrics metrics = ops.metrics();
+		metrics.clear();
+		assertFalse(metrics.isEnabled());
+		ops.run("test.nan", new DoubleType(1));
+		assertTrue(metrics.all().isEmpty());
+
+		metrics.setSampleInterval(1);
+		try {
+			final Module m = matcher.findMatch(ops, OpRef.create("test.nan",
+				new DoubleType(1))).getModule();
+			final Class<?> opClass = m.getDelegateObject().getClass();
+			ops.run("test.nan", new DoubleType(2));
+
+			final OpMetrics.OpStats stats = metrics.get(opClass);
+			assertEquals(2, stats.getMatches());
+			assertTrue(stats.getCandidates() >= 2);
+			assertEquals(1, stats.getComputations());
+			assertTrue(metrics.toCSV().contains(opClass.getName() + ",2,"));
+			assertTrue(metrics.toJSON().contains("\"op\": \"" + opClass
+				.getName() + "\""));
+		}
+		finally {
+			metrics.setSampleInterval(0);
+			metrics.clear();
+		}
+	}
+
 	// -- Helper methods --
 
 	private Module optionalParamsModule(Object... args) {
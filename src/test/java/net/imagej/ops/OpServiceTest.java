@@ -37,6 +37,7 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.Collection;
 
+import net.imagej.ops.special.computer.BinaryComputerOp;
 import net.imglib2.type.numeric.real.DoubleType;
 
 import org.junit.Test;
@@ -156,6 +157,20 @@ public class OpServiceTest extends AbstractOpTest {
 		assertTrue(Double.isInfinite(value.get()));
 	}
 
+	/** Tests {@link OpService#invoker(Class, Class, Object...)}. */
+	@Test
+	public void testInvoker() {
+		final BinaryComputerOp<DoubleType, DoubleType, DoubleType> add = ops
+			.invoker(BinaryComputerOp.class, Ops.Math.Add.class, DoubleType.class,
+				DoubleType.class, DoubleType.class);
+
+		final DoubleType result = new DoubleType();
+		add.compute(new DoubleType(1), new DoubleType(2), result);
+		assertEquals(3, result.get(), 0);
+		add.compute(new DoubleType(5), new DoubleType(7), result);
+		assertEquals(12, result.get(), 0);
+	}
+
 	/** Tests {@link OpService#run(String, Object...)} with op aliases. */
 	@Test
 	public void testAliases() {
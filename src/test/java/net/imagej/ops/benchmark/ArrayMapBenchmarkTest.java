@@ -0,0 +1,138 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.benchmark;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+
+import net.imagej.ops.map.MapUnaryComputers.IIToII;
+import net.imagej.ops.math.UnaryRealTypeMath;
+import net.imagej.ops.special.computer.Computers;
+import net.imagej.ops.special.computer.UnaryComputerOp;
+import net.imglib2.IterableInterval;
+import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImgs;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.view.Views;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+/**
+ * Compares mapping a primitive op over {@code float}, {@code double},
+ * {@code int}, {@code short} and {@code byte} {@code ArrayImg}s, which are
+ * mapped with a plain index loop over their primitive arrays, against mapping
+ * it over views of the same images, which are mapped with cursors.
+ */
+@BenchmarkOptions(benchmarkRounds = 20, warmupRounds = 3)
+public class ArrayMapBenchmarkTest extends AbstractOpBenchmark {
+
+	private static final long[] DIMS = { 1000, 1000 };
+
+	private UnaryComputerOp<RealType<?>, RealType<?>> negate;
+
+	/** Needed for JUnit-Benchmarks */
+	@Rule
+	public TestRule benchmarkRun = new BenchmarkRule();
+
+	@Before
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public void initOp() {
+		negate = (UnaryComputerOp) Computers.unary(ops,
+			UnaryRealTypeMath.Negate.class, RealType.class, RealType.class);
+	}
+
+	@Test
+	public void floatArray() {
+		map(ArrayImgs.floats(DIMS), ArrayImgs.floats(DIMS), false);
+	}
+
+	@Test
+	public void floatCursor() {
+		map(ArrayImgs.floats(DIMS), ArrayImgs.floats(DIMS), true);
+	}
+
+	@Test
+	public void doubleArray() {
+		map(ArrayImgs.doubles(DIMS), ArrayImgs.doubles(DIMS), false);
+	}
+
+	@Test
+	public void doubleCursor() {
+		map(ArrayImgs.doubles(DIMS), ArrayImgs.doubles(DIMS), true);
+	}
+
+	@Test
+	public void intArray() {
+		map(ArrayImgs.ints(DIMS), ArrayImgs.ints(DIMS), false);
+	}
+
+	@Test
+	public void intCursor() {
+		map(ArrayImgs.ints(DIMS), ArrayImgs.ints(DIMS), true);
+	}
+
+	@Test
+	public void shortArray() {
+		map(ArrayImgs.unsignedShorts(DIMS), ArrayImgs.unsignedShorts(DIMS),
+			false);
+	}
+
+	@Test
+	public void shortCursor() {
+		map(ArrayImgs.unsignedShorts(DIMS), ArrayImgs.unsignedShorts(DIMS), true);
+	}
+
+	@Test
+	public void byteArray() {
+		map(ArrayImgs.unsignedBytes(DIMS), ArrayImgs.unsignedBytes(DIMS), false);
+	}
+
+	@Test
+	public void byteCursor() {
+		map(ArrayImgs.unsignedBytes(DIMS), ArrayImgs.unsignedBytes(DIMS), true);
+	}
+
+	// -- Helper methods --
+
+	private <T extends RealType<T>> void map(final Img<T> in, final Img<T> out,
+		final boolean viaCursors)
+	{
+		final IterableInterval<T> input = viaCursors ? Views.flatIterable(Views
+			.interval(in, in)) : in;
+		final IterableInterval<T> output = viaCursors ? Views.flatIterable(Views
+			.interval(out, out)) : out;
+		ops.run(IIToII.class, output, input, negate);
+	}
+
+}
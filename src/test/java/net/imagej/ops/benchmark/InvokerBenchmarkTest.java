@@ -0,0 +1,75 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.benchmark;
+
+import net.imagej.ops.OpEnvironment;
+import net.imagej.ops.Ops;
+import net.imagej.ops.special.computer.BinaryComputerOp;
+import net.imglib2.type.numeric.real.DoubleType;
+
+import org.junit.Test;
+
+/**
+ * Benchmarks repeated execution of a tiny op via
+ * {@link OpEnvironment#run(Class, Object...)} against direct invocation of an
+ * op obtained once via
+ * {@link OpEnvironment#invoker(Class, Class, Object...)}.
+ */
+public class InvokerBenchmarkTest extends AbstractOpBenchmark {
+
+	private static final int CALLS = 10000;
+
+	@Test
+	public void benchmarkAdd() {
+		final DoubleType a = new DoubleType(1);
+		final DoubleType b = new DoubleType(2);
+		final DoubleType result = new DoubleType();
+
+		final long viaRun = bestOf(() -> {
+			for (int i = 0; i < CALLS; i++) {
+				ops.run(Ops.Math.Add.class, result, a, b);
+			}
+		}, 5);
+
+		final BinaryComputerOp<DoubleType, DoubleType, DoubleType> add = ops
+			.invoker(BinaryComputerOp.class, Ops.Math.Add.class, result, a, b);
+		final long viaInvoker = bestOf(() -> {
+			for (int i = 0; i < CALLS; i++) {
+				add.compute(a, b, result);
+			}
+		}, 5);
+
+		System.out.println("[" + CALLS + " additions] run: " + asMilliSeconds(
+			viaRun) + "ms, invoker: " + asMilliSeconds(viaInvoker) + "ms, speedup: " +
+			(double) viaRun / viaInvoker + "x");
+	}
+
+}
@@ -0,0 +1,145 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import net.imagej.ops.DefaultOpMatchingService;
+import net.imagej.ops.Namespace;
+import net.imagej.ops.Op;
+import net.imagej.ops.OpEnvironment;
+import net.imagej.ops.OpInfo;
+import net.imagej.ops.OpInfoIndex;
+import net.imagej.ops.OpMatchingService;
+import net.imagej.ops.OpRef;
+import net.imagej.ops.Ops;
+import net.imglib2.type.numeric.real.DoubleType;
+
+import org.junit.Test;
+import org.scijava.AbstractContextual;
+
+/**
+ * Benchmarks op matching against the number of registered ops, with and
+ * without the {@link OpInfoIndex}.
+ */
+public class OpMatchingBenchmarkTest extends AbstractOpBenchmark {
+
+	private static final int RUNS = 50;
+
+	@Test
+	public void benchmarkMatching() {
+		// NB: Measure the candidate search, not the resolution cache.
+		((DefaultOpMatchingService) matcher).setCacheEnabled(false);
+
+		final List<OpInfo> all = new ArrayList<>(ops.infos());
+		final DoubleType a = new DoubleType(1), b = new DoubleType(2);
+		final List<OpRef> byName = refs(OpRef.create("math.add", a, a, b));
+		final List<OpRef> byType = refs(OpRef.create(Ops.Math.Add.class, a, a, b));
+
+		for (final int fraction : new int[] { 8, 4, 2, 1 }) {
+			final int n = all.size() / fraction;
+			final List<OpInfo> subset = new ArrayList<>(all.subList(0, n));
+			// NB: Always include the target ops, so that matching succeeds.
+			for (final OpInfo info : all) {
+				if (info.nameMatches("math.add") && !subset.contains(info)) {
+					subset.add(info);
+				}
+			}
+			subset.sort(null);
+
+			final SubsetEnvironment scan = new SubsetEnvironment(subset, false);
+			final SubsetEnvironment indexed = new SubsetEnvironment(subset, true);
+
+			System.out.println("[" + subset.size() + " ops] " + //
+				"scan by name: " + time(scan, byName) + "ms, " + //
+				"indexed by name: " + time(indexed, byName) + "ms, " + //
+				"scan by type: " + time(scan, byType) + "ms, " + //
+				"indexed by type: " + time(indexed, byType) + "ms");
+		}
+	}
+
+	// -- Helper methods --
+
+	private double time(final OpEnvironment env, final List<OpRef> refs) {
+		return asMilliSeconds(bestOf(() -> matcher.findMatch(env, refs), RUNS));
+	}
+
+	private static List<OpRef> refs(final OpRef ref) {
+		final List<OpRef> refs = new ArrayList<>();
+		refs.add(ref);
+		return refs;
+	}
+
+	// -- Helper classes --
+
+	/** An op environment restricted to the given ops. */
+	private class SubsetEnvironment extends AbstractContextual implements
+		OpEnvironment
+	{
+
+		private final List<OpInfo> infos;
+		private final OpInfoIndex index;
+
+		public SubsetEnvironment(final List<OpInfo> infos, final boolean indexed) {
+			setContext(context);
+			this.infos = infos;
+			index = indexed ? new OpInfoIndex(infos) : null;
+		}
+
+		@Override
+		public OpMatchingService matcher() {
+			return matcher;
+		}
+
+		@Override
+		public OpInfo info(final Class<? extends Op> type) {
+			return ops.info(type);
+		}
+
+		@Override
+		public Collection<OpInfo> infos() {
+			return infos;
+		}
+
+		@Override
+		public Collection<OpInfo> infos(final List<OpRef> refs) {
+			return index == null ? infos : index.infos(refs);
+		}
+
+		@Override
+		public <NS extends Namespace> NS namespace(final Class<NS> nsClass) {
+			return ops.namespace(nsClass);
+		}
+	}
+
+}
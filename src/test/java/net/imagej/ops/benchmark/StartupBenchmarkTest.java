@@ -0,0 +1,78 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.benchmark;
+
+import net.imagej.ops.OpService;
+import net.imagej.ops.Ops;
+import net.imagej.ops.special.computer.BinaryComputerOp;
+import net.imagej.ops.special.computer.Computers;
+import net.imglib2.type.numeric.real.DoubleType;
+
+import org.junit.Test;
+import org.scijava.Context;
+
+/**
+ * Benchmarks the startup of an {@link OpService}: creating its context, then
+ * the first lookups by op name and by op type. Each run uses a fresh context.
+ */
+public class StartupBenchmarkTest extends AbstractOpBenchmark {
+
+	private static final int RUNS = 5;
+
+	@Test
+	public void benchmarkStartup() {
+		long context = Long.MAX_VALUE, byName = Long.MAX_VALUE,
+				byType = Long.MAX_VALUE;
+		for (int i = 0; i < RUNS; i++) {
+			long time = System.nanoTime();
+			final Context c = new Context(OpService.class);
+			final OpService opService = c.service(OpService.class);
+			context = Math.min(context, System.nanoTime() - time);
+
+			time = System.nanoTime();
+			opService.run("math.add", 1.0, 2.0);
+			byName = Math.min(byName, System.nanoTime() - time);
+
+			time = System.nanoTime();
+			final BinaryComputerOp<DoubleType, DoubleType, DoubleType> add =
+				Computers.binary(opService, Ops.Math.Add.class, DoubleType.class,
+					DoubleType.class, DoubleType.class);
+			add.compute(new DoubleType(1), new DoubleType(2), new DoubleType());
+			byType = Math.min(byType, System.nanoTime() - time);
+
+			c.dispose();
+		}
+		System.out.println("[startup] context: " + asMilliSeconds(context) +
+			"ms, first op by name: " + asMilliSeconds(byName) +
+			"ms, first op by type: " + asMilliSeconds(byType) + "ms");
+	}
+
+}
@@ -0,0 +1,130 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.cached;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import net.imagej.ops.cached.BoundedOpCache.EvictionPolicy;
+import net.imglib2.img.array.ArrayImgs;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link BoundedOpCache}.
+ */
+public class BoundedOpCacheTest {
+
+	/** Size of a {@code double[100]}: 16 byte header + 800 bytes of data. */
+	private static final long ARRAY_SIZE = 816;
+
+	@Test
+	public void testSizeEstimates() {
+		final BoundedOpCache cache = new BoundedOpCache(1 << 20);
+		assertEquals(ARRAY_SIZE, cache.sizeOf(new double[100]));
+		assertEquals(16 + 2 * 8 + 2 * ARRAY_SIZE, cache.sizeOf(
+			new double[2][100]));
+		assertEquals(64 + 100 * 100 * 4, cache.sizeOf(ArrayImgs.floats(100,
+			100)));
+		assertEquals(64 + 100 * 100 / 8, cache.sizeOf(ArrayImgs.bits(100, 100)));
+	}
+
+	@Test
+	public void testLRU() {
+		final BoundedOpCache cache = new BoundedOpCache(3 * ARRAY_SIZE,
+			EvictionPolicy.LRU);
+		cache.put("a", new double[100]);
+		cache.put("b", new double[100]);
+		cache.put("c", new double[100]);
+		assertEquals(3 * ARRAY_SIZE, cache.getBytes());
+
+		// touch "a", so that "b" is the least recently used
+		assertNotNull(cache.get("a"));
+		cache.put("d", new double[100]);
+
+		assertNull(cache.get("b"));
+		assertNotNull(cache.get("a"));
+		assertNotNull(cache.get("c"));
+		assertNotNull(cache.get("d"));
+		assertEquals(1, cache.getEvictions());
+		assertEquals(4, cache.getHits());
+		assertEquals(1, cache.getMisses());
+		assertEquals(3 * ARRAY_SIZE, cache.getBytes());
+	}
+
+	@Test
+	public void testLFU() {
+		final BoundedOpCache cache = new BoundedOpCache(3 * ARRAY_SIZE,
+			EvictionPolicy.LFU);
+		cache.put("a", new double[100]);
+		cache.put("b", new double[100]);
+		cache.put("c", new double[100]);
+
+		// use "a" and "b" twice, "c" once
+		for (int i = 0; i < 2; i++) {
+			cache.get("a");
+			cache.get("b");
+		}
+		cache.get("c");
+		cache.put("d", new double[100]);
+
+		assertNull(cache.get("c"));
+		assertNotNull(cache.get("a"));
+		assertNotNull(cache.get("b"));
+		assertNotNull(cache.get("d"));
+	}
+
+	@Test
+	public void testRemoveIf() {
+		final BoundedOpCache cache = new BoundedOpCache(3 * ARRAY_SIZE);
+		cache.put("a", new double[100]);
+		cache.put("b", new double[100]);
+		cache.put("c", new double[100]);
+
+		assertEquals(2, cache.removeIf(key -> !key.equals("b")));
+		assertEquals(1, cache.size());
+		assertEquals(ARRAY_SIZE, cache.getBytes());
+		assertNotNull(cache.get("b"));
+		assertEquals(0, cache.getEvictions());
+	}
+
+	@Test
+	public void testOversizedValue() {
+		final BoundedOpCache cache = new BoundedOpCache(ARRAY_SIZE);
+		cache.put("small", new double[100]);
+		cache.put("large", new double[1000]);
+		assertNull(cache.get("large"));
+		assertNotNull(cache.get("small"));
+		assertEquals(0, cache.getEvictions());
+	}
+
+}
@@ -31,20 +31,32 @@
 package net.imagej.ops.cached;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 
 import net.imagej.ops.AbstractOpTest;
 import net.imagej.ops.OpInfo;
 import net.imagej.ops.Ops;
+import net.imagej.ops.special.computer.AbstractUnaryComputerOp;
+import net.imagej.ops.special.computer.Computers;
+import net.imagej.ops.special.computer.UnaryComputerOp;
+import net.imagej.ops.special.function.AbstractBinaryFunctionOp;
+import net.imagej.ops.special.function.BinaryFunctionOp;
 import net.imagej.ops.special.function.Functions;
 import net.imagej.ops.special.function.UnaryFunctionOp;
 import net.imagej.ops.special.hybrid.AbstractUnaryHybridCF;
+import net.imagej.ops.special.hybrid.AbstractUnaryHybridCI;
 import net.imagej.ops.special.hybrid.Hybrids;
 import net.imagej.ops.special.hybrid.UnaryHybridCF;
+import net.imagej.ops.special.inplace.UnaryInplaceOp;
+import net.imglib2.Cursor;
+import net.imglib2.RandomAccess;
 import net.imglib2.img.Img;
+import net.imglib2.type.numeric.RealType;
 import net.imglib2.type.numeric.integer.ByteType;
 import net.imglib2.type.numeric.real.DoubleType;
+import net.imglib2.type.numeric.real.FloatType;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -72,6 +84,11 @@ public class CachedOpEnvironmentTest extends AbstractOpTest {
 	public void initCustomOps() {
 		final ArrayList<OpInfo> customOps = new ArrayList<>();
 		customOps.add(new OpInfo(MyMin.class));
+		customOps.add(new OpInfo(MyBinaryFunction.class));
+		customOps.add(new OpInfo(MyComputer.class));
+		customOps.add(new OpInfo(MyPixelComputer.class));
+		customOps.add(new OpInfo(MyRealComputer.class));
+		customOps.add(new OpInfo(MyIncrement.class));
 
 		env = new CachedOpEnvironment(ops, customOps);
 
@@ -106,6 +123,147 @@ public class CachedOpEnvironmentTest extends AbstractOpTest {
 		assertEquals(2.0, hybrid.calculate(imgB).getRealDouble(), 0.0);
 	}
 
+	@Test
+	public void testCachingBinaryFunctionOp() {
+		ctr = 0;
+
+		final BinaryFunctionOp<Img<ByteType>, Img<ByteType>, DoubleType> binary =
+			Functions.binary(env, MyBinaryFunction.class, DoubleType.class, imgA,
+				imgB);
+
+		// Calling it twice should result in the same result
+		assertEquals(1.0, binary.calculate(imgA, imgB).get(), 0.0);
+		assertEquals(1.0, binary.calculate(imgA, imgB).get(), 0.0);
+
+		// Should be increased for a new pair of inputs
+		assertEquals(2.0, binary.calculate(imgB, imgA).get(), 0.0);
+	}
+
+	@Test
+	public void testCachingComputerOp() {
+		ctr = 0;
+
+		final UnaryComputerOp<Img<ByteType>, DoubleType> computer = Computers
+			.unary(env, MyComputer.class, DoubleType.class, imgA);
+		final DoubleType out1 = new DoubleType();
+		final DoubleType out2 = new DoubleType();
+
+		// By default, images are no stable keys for computers
+		computer.compute(imgA, out1);
+		computer.compute(imgA, out2);
+		assertEquals(2, ctr);
+
+		// NB: A threshold of 0 keys the images by identity, not by content.
+		ctr = 0;
+		env.setKeyStrategy(new ImgCacheKeyStrategy(0));
+
+		// Calling it twice should copy the cached result into the output
+		computer.compute(imgA, out1);
+		computer.compute(imgA, out2);
+		assertEquals(1.0, out1.get(), 0.0);
+		assertEquals(1.0, out2.get(), 0.0);
+		assertEquals(1, ctr);
+
+		// Should be increased
+		computer.compute(imgB, out1);
+		assertEquals(2.0, out1.get(), 0.0);
+	}
+
+	@Test
+	public void testComputerOutputKinds() {
+		ctr = 0;
+		env.setKeyStrategy(new ImgCacheKeyStrategy(0));
+
+		@SuppressWarnings("rawtypes")
+		final UnaryComputerOp<Img<ByteType>, RealType> computer = Computers.unary(
+			env, MyRealComputer.class, RealType.class, imgA);
+		final DoubleType d = new DoubleType();
+		final FloatType f = new FloatType();
+
+		// Each kind of output is cached and copied on its own
+		computer.compute(imgA, d);
+		computer.compute(imgA, f);
+		computer.compute(imgA, f);
+		assertEquals(1.0, d.get(), 0.0);
+		assertEquals(2.0, f.get(), 0.0);
+		assertEquals(2, ctr);
+	}
+
+	@Test
+	public void testInplaceComputerNotWrapped() {
+		final UnaryComputerOp<DoubleType, DoubleType> computer = Computers.unary(
+			env, MyIncrement.class, DoubleType.class, DoubleType.class);
+		assertTrue(computer instanceof UnaryInplaceOp);
+
+		final DoubleType value = new DoubleType(1);
+		((MyIncrement) computer).mutate(value);
+		assertEquals(2.0, value.get(), 0.0);
+	}
+
+	@Test
+	public void testMappedComputerOp() {
+		ctr = 0;
+
+		final UnaryComputerOp<ByteType, DoubleType> computer = Computers.unary(
+			env, MyPixelComputer.class, DoubleType.class, ByteType.class);
+		assertTrue(computer instanceof CachedOpEnvironment.CachedComputerOp);
+		final Img<DoubleType> out = ops.create().img(imgA, new DoubleType());
+
+		// Cursors reuse their element proxies, which must never hit the cache
+		env.map(out, imgA, computer);
+		assertEquals(imgA.size(), ctr);
+		final Cursor<ByteType> cursor = imgA.cursor();
+		final RandomAccess<DoubleType> ra = out.randomAccess();
+		while (cursor.hasNext()) {
+			cursor.fwd();
+			ra.setPosition(cursor);
+			assertEquals(cursor.get().get() + 1.0, ra.get().get(), 0.0);
+		}
+	}
+
+	@Test
+	public void testImgKeyStrategy() {
+		ctr = 0;
+
+		// NB: A threshold of 0 keys the images by identity, not by content.
+		final ImgCacheKeyStrategy keys = new ImgCacheKeyStrategy(0);
+		env.setKeyStrategy(keys);
+
+		assertEquals(1.0, func.calculate(imgA).get(), 0.0);
+		assertEquals(1.0, func.calculate(imgA).get(), 0.0);
+		assertEquals(1, ctr);
+
+		// Modifying the image in place must invalidate its cached outputs
+		imgA.firstElement().inc();
+		keys.markModified(imgA);
+		assertEquals(2.0, func.calculate(imgA).get(), 0.0);
+		assertEquals(2.0, func.calculate(imgA).get(), 0.0);
+
+		// A different image is a different key
+		assertEquals(3.0, func.calculate(imgB).get(), 0.0);
+	}
+
+	@Test
+	public void testBoundedCache() {
+		ctr = 0;
+
+		final ArrayList<OpInfo> customOps = new ArrayList<>();
+		customOps.add(new OpInfo(MyMin.class));
+		final BoundedOpCache cache = new BoundedOpCache(1 << 20);
+		final CachedOpEnvironment boundedEnv = new CachedOpEnvironment(ops,
+			customOps, new ArrayList<>(), cache);
+		final UnaryFunctionOp<Img<ByteType>, DoubleType> boundedFunc = Functions
+			.unary(boundedEnv, Ops.Stats.Min.class, DoubleType.class, imgA);
+
+		assertEquals(1.0, boundedFunc.calculate(imgA).get(), 0.0);
+		assertEquals(1.0, boundedFunc.calculate(imgA).get(), 0.0);
+		assertEquals(2.0, boundedFunc.calculate(imgB).get(), 0.0);
+
+		assertEquals(1, cache.getHits());
+		assertEquals(2, cache.getMisses());
+		assertEquals(2, cache.size());
+	}
+
 	// some specialized ops to track number of counts
 	public static class MyMin extends AbstractUnaryHybridCF<Img<ByteType>, DoubleType>
 		implements Ops.Stats.Min
@@ -124,4 +282,65 @@ public class CachedOpEnvironmentTest extends AbstractOpTest {
 
 	}
 
+	public static class MyBinaryFunction extends
+		AbstractBinaryFunctionOp<Img<ByteType>, Img<ByteType>, DoubleType>
+	{
+
+		@Override
+		public DoubleType calculate(final Img<ByteType> input1,
+			final Img<ByteType> input2)
+		{
+			ctr++;
+			return new DoubleType(ctr);
+		}
+
+	}
+
+	public static class MyPixelComputer extends
+		AbstractUnaryComputerOp<ByteType, DoubleType>
+	{
+
+		@Override
+		public void compute(final ByteType input, final DoubleType output) {
+			ctr++;
+			output.set(input.get() + 1.0);
+		}
+
+	}
+
+	public static class MyRealComputer extends
+		AbstractUnaryComputerOp<Img<ByteType>, RealType<?>>
+	{
+
+		@Override
+		public void compute(final Img<ByteType> input, final RealType<?> output) {
+			ctr++;
+			output.setReal(ctr);
+		}
+
+	}
+
+	public static class MyIncrement extends
+		AbstractUnaryHybridCI<DoubleType, DoubleType>
+	{
+
+		@Override
+		public void compute(final DoubleType input, final DoubleType output) {
+			output.set(input.get() + 1);
+		}
+
+	}
+
+	public static class MyComputer extends
+		AbstractUnaryComputerOp<Img<ByteType>, DoubleType>
+	{
+
+		@Override
+		public void compute(final Img<ByteType> input, final DoubleType output) {
+			ctr++;
+			output.set(ctr);
+		}
+
+	}
+
 }
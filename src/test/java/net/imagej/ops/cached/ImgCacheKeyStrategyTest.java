@@ -0,0 +1,107 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.cached;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+
+import net.imglib2.FinalInterval;
+import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImgs;
+import net.imglib2.type.numeric.real.FloatType;
+import net.imglib2.view.Views;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link ImgCacheKeyStrategy}.
+ */
+public class ImgCacheKeyStrategyTest {
+
+	private final ImgCacheKeyStrategy keys = new ImgCacheKeyStrategy(100);
+
+	@Test
+	public void testContentKeys() {
+		final Img<FloatType> a = ArrayImgs.floats(new float[] { 1, 2, 3, 4 }, 2,
+			2);
+		final Img<FloatType> b = ArrayImgs.floats(new float[] { 1, 2, 3, 4 }, 2,
+			2);
+		final Img<FloatType> c = ArrayImgs.floats(new float[] { 1, 2, 3, 5 }, 2,
+			2);
+		final Img<FloatType> d = ArrayImgs.floats(new float[] { 1, 2, 3, 4 }, 4,
+			1);
+
+		assertEquals(keys.key(a), keys.key(b));
+		assertEquals(keys.key(a).hashCode(), keys.key(b).hashCode());
+		assertNotEquals(keys.key(a), keys.key(c));
+		assertNotEquals(keys.key(a), keys.key(d));
+	}
+
+	@Test
+	public void testIdentityKeys() {
+		final Img<FloatType> a = ArrayImgs.floats(20, 20);
+		final Img<FloatType> b = ArrayImgs.floats(20, 20);
+
+		final Object key = keys.key(a);
+		assertEquals(key, keys.key(a));
+		assertNotEquals(key, keys.key(b));
+
+		keys.markModified(a);
+		assertNotEquals(key, keys.key(a));
+		assertEquals(keys.key(a), keys.key(a));
+
+		assertFalse(keys.isStale(key));
+		assertFalse(keys.isStale(keys.key(Views.interval(a, a))));
+	}
+
+	@Test
+	public void testViewKeys() {
+		final Img<FloatType> img = ArrayImgs.floats(20, 20);
+		final FinalInterval interval = new FinalInterval(new long[] { 0, 0 },
+			new long[] { 14, 14 });
+		final FinalInterval other = new FinalInterval(new long[] { 1, 0 },
+			new long[] { 15, 14 });
+
+		assertEquals(keys.key(Views.interval(img, interval)), keys.key(Views
+			.interval(img, interval)));
+		assertNotEquals(keys.key(Views.interval(img, interval)), keys.key(Views
+			.interval(img, other)));
+		assertNotEquals(keys.key(Views.interval(img, interval)), keys.key(Views
+			.interval(ArrayImgs.floats(20, 20), interval)));
+
+		assertEquals(keys.key(Views.permute(img, 0, 1)), keys.key(Views.permute(
+			img, 0, 1)));
+		assertNotEquals(keys.key(Views.permute(img, 0, 1)), keys.key(Views
+			.translate(img, 1, 0)));
+	}
+
+}
@@ -31,28 +31,39 @@
 package net.imagej.ops.filter;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 
 import net.imagej.ops.AbstractOpTest;
+import net.imagej.ops.CustomOpEnvironment;
+import net.imagej.ops.OpEnvironment;
+import net.imagej.ops.OpInfo;
 import net.imagej.ops.filter.max.DefaultMaxFilter;
 import net.imagej.ops.filter.max.MaxFilterOp;
+import net.imagej.ops.filter.max.RectangleMaxFilter;
 import net.imagej.ops.filter.mean.DefaultMeanFilter;
 import net.imagej.ops.filter.mean.MeanFilterOp;
+import net.imagej.ops.filter.mean.RectangleMeanFilter;
 import net.imagej.ops.filter.median.DefaultMedianFilter;
 import net.imagej.ops.filter.median.MedianFilterOp;
+import net.imagej.ops.filter.median.RectangleMedianFilter;
 import net.imagej.ops.filter.min.DefaultMinFilter;
 import net.imagej.ops.filter.min.MinFilterOp;
+import net.imagej.ops.filter.min.RectangleMinFilter;
 import net.imagej.ops.filter.sigma.DefaultSigmaFilter;
 import net.imagej.ops.filter.sigma.SigmaFilterOp;
 import net.imagej.ops.filter.variance.DefaultVarianceFilter;
 import net.imagej.ops.filter.variance.VarianceFilterOp;
+import net.imglib2.Cursor;
 import net.imglib2.algorithm.neighborhood.RectangleShape;
 import net.imglib2.algorithm.neighborhood.RectangleShape.NeighborhoodsIterableInterval;
 import net.imglib2.img.Img;
 import net.imglib2.outofbounds.OutOfBoundsMirrorFactory;
 import net.imglib2.outofbounds.OutOfBoundsMirrorFactory.Boundary;
+import net.imglib2.type.numeric.RealType;
 import net.imglib2.type.numeric.integer.ByteType;
 import net.imglib2.util.Util;
 import net.imglib2.view.Views;
@@ -162,6 +173,53 @@ public class NonLinearFiltersTest extends AbstractOpTest {
 		assertEquals(min, out.firstElement().get());
 	}
 
+	/**
+	 * @see RectangleMaxFilter
+	 * @see RectangleMeanFilter
+	 * @see RectangleMedianFilter
+	 * @see RectangleMinFilter
+	 */
+	@Test
+	public void testRectangleFilters() {
+		final Img<ByteType> img = generateByteArrayTestImg(true, 13, 7, 5);
+		final RectangleShape rect = new RectangleShape(2, false);
+
+		assertSameResult(DefaultMaxFilter.class, RectangleMaxFilter.class, img,
+			rect);
+		assertSameResult(DefaultMeanFilter.class, RectangleMeanFilter.class, img,
+			rect);
+		assertSameResult(DefaultMedianFilter.class, RectangleMedianFilter.class,
+			img, rect);
+		assertSameResult(DefaultMinFilter.class, RectangleMinFilter.class, img,
+			rect);
+
+		// a rectangle skipping its center is left to the default filters
+		assertTrue(ops.op(MedianFilterOp.class, out, in, new RectangleShape(1,
+			true)) instanceof DefaultMedianFilter);
+		assertTrue(ops.op(MedianFilterOp.class, out, in,
+			shape) instanceof RectangleMedianFilter);
+	}
+
+	/**
+	 * Tests the separable rectangle filters on an image which is filtered in
+	 * several tiles, the last one thinner than the others.
+	 */
+	@Test
+	public void testRectangleFilterTiles() {
+		final Img<ByteType> img = generateByteArrayTestImg(true, 13, 7, 17);
+		final RectangleShape rect = new RectangleShape(2, false);
+		final OpEnvironment tiled = new CustomOpEnvironment(ops, Arrays.asList(
+			new OpInfo(TiledMax.class), new OpInfo(TiledMean.class),
+			new OpInfo(TiledMin.class)));
+
+		assertSameResult(DefaultMaxFilter.class, TiledMax.class, img, rect,
+			tiled);
+		assertSameResult(DefaultMeanFilter.class, TiledMean.class, img,
+			rect, tiled);
+		assertSameResult(DefaultMinFilter.class, TiledMin.class, img, rect,
+			tiled);
+	}
+
 	/**
 	 * @see SigmaFilterOp
 	 * @see DefaultSigmaFilter
@@ -192,4 +250,61 @@ public class NonLinearFiltersTest extends AbstractOpTest {
 		assertEquals((byte)Util.round((sumSq - (sum * sum / 9)) / 8), out.firstElement().get());
 	}
 
+	private void assertSameResult(final Class<?> expectedOp,
+		final Class<?> actualOp, final Img<ByteType> img, final RectangleShape rect)
+	{
+		assertSameResult(expectedOp, actualOp, img, rect, ops);
+	}
+
+	private void assertSameResult(final Class<?> expectedOp,
+		final Class<?> actualOp, final Img<ByteType> img, final RectangleShape rect,
+		final OpEnvironment env)
+	{
+		final Img<ByteType> expected = img.factory().create(img, new ByteType());
+		final Img<ByteType> actual = img.factory().create(img, new ByteType());
+		ops.run(expectedOp, expected, img, rect, oobFactory);
+		env.run(actualOp, actual, img, rect, oobFactory);
+
+		final Cursor<ByteType> e = expected.cursor();
+		final Cursor<ByteType> a = actual.cursor();
+		while (e.hasNext()) {
+			assertEquals(e.next().get(), a.next().get());
+		}
+	}
+
+	// -- Helper classes --
+
+	/** Filters with the smallest tiles possible, i.e. as thick as the window. */
+	public static class TiledMax<T extends RealType<T>, V extends RealType<V>>
+		extends RectangleMaxFilter<T, V>
+	{
+
+		@Override
+		protected long tileSize() {
+			return 1;
+		}
+	}
+
+	/** Filters with the smallest tiles possible, i.e. as thick as the window. */
+	public static class TiledMean<T extends RealType<T>, V extends RealType<V>>
+		extends RectangleMeanFilter<T, V>
+	{
+
+		@Override
+		protected long tileSize() {
+			return 1;
+		}
+	}
+
+	/** Filters with the smallest tiles possible, i.e. as thick as the window. */
+	public static class TiledMin<T extends RealType<T>, V extends RealType<V>>
+		extends RectangleMinFilter<T, V>
+	{
+
+		@Override
+		protected long tileSize() {
+			return 1;
+		}
+	}
+
 }
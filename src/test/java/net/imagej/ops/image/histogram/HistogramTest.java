@@ -0,0 +1,121 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.image.histogram;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import net.imagej.ops.AbstractOpTest;
+import net.imagej.ops.Ops;
+import net.imglib2.histogram.Histogram1d;
+import net.imglib2.histogram.Real1dBinMapper;
+import net.imglib2.img.Img;
+import net.imglib2.type.numeric.integer.UnsignedByteType;
+import net.imglib2.view.Views;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link HistogramParallel} and {@link HistogramAdd}.
+ */
+public class HistogramTest extends AbstractOpTest {
+
+	@Test
+	public void testParallel() {
+		final Img<UnsignedByteType> img = generateUnsignedByteArrayTestImg(true,
+			300, 200);
+		assertTrue(ops.op(Ops.Image.Histogram.class,
+			img) instanceof HistogramParallel);
+
+		final Histogram1d<UnsignedByteType> parallel = ops.image().histogram(img);
+		@SuppressWarnings("unchecked")
+		final Histogram1d<UnsignedByteType> sequential =
+			(Histogram1d<UnsignedByteType>) ops.run(HistogramCreate.class, img);
+		assertArrayEquals(sequential.toLongArray(), parallel.toLongArray());
+		assertEquals(img.size(), parallel.totalCount());
+		assertNotNull(parallel.firstDataValue());
+	}
+
+	@Test
+	public void testTypeRange() {
+		final Img<UnsignedByteType> img = generateUnsignedByteArrayTestImg(true,
+			300, 200);
+		final Histogram1d<UnsignedByteType> histogram = ops.image().histogram(img,
+			256, null, null, true);
+
+		final long[] expected = new long[256];
+		for (final UnsignedByteType t : img) {
+			expected[t.get()]++;
+		}
+		assertArrayEquals(expected, histogram.toLongArray());
+	}
+
+	@Test
+	public void testAddPlanes() {
+		final Img<UnsignedByteType> img = generateUnsignedByteArrayTestImg(true,
+			200, 100, 3);
+		final Histogram1d<UnsignedByteType> whole = ops.image().histogram(img, 64,
+			0.0, 255.0);
+
+		final Histogram1d<UnsignedByteType> streamed = ops.image().histogram(Views
+			.iterable(Views.hyperSlice(img, 2, 0)), 64, 0.0, 255.0);
+		for (int z = 1; z < 3; z++) {
+			ops.image().histogram(streamed, Views.iterable(Views.hyperSlice(img, 2,
+				z)));
+		}
+		assertArrayEquals(whole.toLongArray(), streamed.toLongArray());
+		assertEquals(img.size(), streamed.totalCount());
+	}
+
+	@Test
+	public void testIgnoredValues() {
+		final Img<UnsignedByteType> img = generateUnsignedByteArrayTestImg(true,
+			300, 200);
+		final Histogram1d<UnsignedByteType> histogram = ops.image().histogram(img,
+			16, 64.0, 127.0);
+
+		long inside = 0;
+		for (final UnsignedByteType t : img) {
+			if (t.get() >= 64 && t.get() <= 127) inside++;
+		}
+		assertEquals(inside, histogram.distributionCount());
+		assertEquals(inside, histogram.totalCount());
+		assertEquals(0, histogram.ignoredCount());
+
+		final Histogram1d<UnsignedByteType> added = new Histogram1d<>(
+			new Real1dBinMapper<UnsignedByteType>(64.0, 127.0, 16, false));
+		assertEquals(img.size() - inside, Histograms.add(ops, added, img));
+		assertArrayEquals(histogram.toLongArray(), added.toLongArray());
+	}
+
+}
@@ -38,6 +38,7 @@ import java.util.List;
 import net.imagej.ops.AbstractOpTest;
 import net.imagej.ops.Op;
 import net.imagej.ops.bufferfactories.ImgImgSameTypeFactory;
+import net.imagej.ops.bufferfactories.PooledImgFactory;
 import net.imagej.ops.map.MapOp;
 import net.imagej.ops.special.UnaryOutputFactory;
 import net.imagej.ops.special.computer.AbstractUnaryComputerOp;
@@ -151,6 +152,35 @@ public class JoinTest extends AbstractOpTest {
 		}
 	}
 
+	@Test
+	public void testPooledBuffers() {
+		final List<UnaryComputerOp<Img<ByteType>, Img<ByteType>>> computers =
+			new ArrayList<>();
+
+		for (int i = 0; i < 3; i++) {
+			computers.add(new AddOneComputerImg());
+		}
+
+		final PooledImgFactory<ByteType, ByteType> pool = new PooledImgFactory<>(
+			new ImgImgSameTypeFactory<>());
+
+		for (int i = 0; i < 3; i++) {
+			ops.run(DefaultJoinNComputers.class, out, in, computers, pool);
+			ops.run(DefaultJoin2Computers.class, out, in, computerOp, computerOp,
+				pool);
+		}
+
+		// test
+		final Cursor<ByteType> c = out.cursor();
+
+		while (c.hasNext()) {
+			assertEquals(2, c.next().get());
+		}
+		assertEquals(1, pool.getAllocations());
+		assertEquals(5, pool.getReuses());
+		assertEquals(5 * in.size(), pool.getElementsSaved());
+	}
+
 	// -- Helper classes --
 
 	private class AddOneInplace extends AbstractUnaryInplaceOp<ByteType> {
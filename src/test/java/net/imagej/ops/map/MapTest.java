@@ -31,16 +31,27 @@
 package net.imagej.ops.map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
 
 import net.imagej.ops.AbstractOpTest;
 import net.imagej.ops.Op;
 import net.imagej.ops.Ops;
+import net.imagej.ops.math.UnaryRealTypeMath;
 import net.imagej.ops.special.computer.Computers;
+import net.imagej.ops.special.computer.UnaryComputerOp;
 import net.imagej.ops.special.inplace.BinaryInplaceOp;
 import net.imagej.ops.special.inplace.Inplaces;
 import net.imglib2.Cursor;
 import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImgs;
+import net.imglib2.img.cell.CellImgFactory;
+import net.imglib2.img.planar.PlanarImgs;
+import net.imglib2.type.numeric.RealType;
 import net.imglib2.type.numeric.integer.ByteType;
+import net.imglib2.type.numeric.real.FloatType;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -167,8 +178,143 @@ public class MapTest extends AbstractOpTest {
 		assertImgSubOneEquals(in, out);
 	}
 
+	@Test
+	public void testParallelThreshold() {
+		final long[] sizes = { 10, Maps.PARALLEL_THRESHOLD };
+		sub = Computers.unary(ops, Ops.Math.Subtract.class, ByteType.class,
+			ByteType.class, new ByteType((byte) 1));
+		for (final long size : sizes) {
+			final Img<ByteType> in = generateByteArrayTestImg(true, size, 2);
+			final Img<ByteType> out = generateByteArrayTestImg(false, size, 2);
+			ops.run(MapUnaryComputers.IIToIIParallel.class, out, in, sub);
+			assertImgSubOneEquals(in, out);
+		}
+	}
+
+	@Test
+	public void testFusedPipeline() {
+		final List<UnaryComputerOp<RealType<?>, RealType<?>>> stages =
+			Arrays.asList(stage(UnaryRealTypeMath.Negate.class), stage(
+				UnaryRealTypeMath.Sqr.class), stage(UnaryRealTypeMath.MaxConstant.class,
+					50.0));
+		final long[] sizes = { 10, Maps.PARALLEL_THRESHOLD };
+		for (final long size : sizes) {
+			final Img<ByteType> in = generateByteArrayTestImg(true, size, 2);
+			final Img<ByteType> out = generateByteArrayTestImg(false, size, 2);
+			ops.run(MapFusedPipeline.class, out, in, stages);
+
+			final Cursor<ByteType> inCursor = in.cursor();
+			final Cursor<ByteType> outCursor = out.cursor();
+			while (inCursor.hasNext()) {
+				// NB: -(-128) does not fit into a byte, but into the intermediates.
+				final double value = -inCursor.next().get();
+				assertEquals(Math.min(value * value, 50), outCursor.next().get(), 0);
+			}
+		}
+	}
+
+	@Test
+	public void testArrayImgs() {
+		final UnaryComputerOp<RealType<?>, RealType<?>> negate = stage(
+			UnaryRealTypeMath.Negate.class);
+		final long[] sizes = { 10, Maps.PARALLEL_THRESHOLD };
+		for (final long size : sizes) {
+			final Img<FloatType> in = ArrayImgs.floats(size, 2);
+			final Img<FloatType> out = ArrayImgs.floats(size, 2);
+			float value = 0;
+			for (final FloatType t : in) {
+				t.set(value++);
+			}
+			ops.run(MapUnaryComputers.IIToII.class, out, in, negate);
+			assertNegated(in, out);
+
+			out.forEach(t -> t.setZero());
+			ops.run(MapUnaryComputers.IIToIIParallel.class, out, in, negate);
+			assertNegated(in, out);
+		}
+	}
+
+	@Test
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public void testIntegerArrayImgs() {
+		final List<Img> imgs = Arrays.asList(ArrayImgs.bytes(30, 20), ArrayImgs
+			.unsignedBytes(30, 20), ArrayImgs.shorts(30, 20), ArrayImgs
+				.unsignedShorts(30, 20), ArrayImgs.ints(30, 20), ArrayImgs
+					.unsignedInts(30, 20));
+		for (final Class<? extends Op> opType : Arrays.asList(
+			UnaryRealTypeMath.Negate.class, UnaryRealTypeMath.Sqrt.class))
+		{
+			final UnaryComputerOp<RealType<?>, RealType<?>> op = stage(opType);
+			for (final Img in : imgs) {
+				assertArrayMapped(in, op);
+			}
+		}
+	}
+
+	@Test
+	public void testStorageLayout() {
+		final UnaryComputerOp<RealType<?>, RealType<?>> negate = stage(
+			UnaryRealTypeMath.Negate.class);
+		final Img<FloatType> planarIn = PlanarImgs.floats(100, 50, 3);
+		final Img<FloatType> cellIn = new CellImgFactory<FloatType>(16).create(
+			new long[] { 100, 150 }, new FloatType());
+		for (final Img<FloatType> in : Arrays.asList(planarIn, cellIn)) {
+			float value = 0;
+			for (final FloatType t : in) {
+				t.set(value++);
+			}
+			final Img<FloatType> out = in.factory().create(in, new FloatType());
+			assertTrue(Maps.blockwise(in, out));
+			ops.run(MapUnaryComputers.IIToIIParallel.class, out, in, negate);
+			assertNegated(in, out);
+		}
+	}
+
 	// -- helper methods --
 
+	/**
+	 * Asserts that mapping over the arrays of an {@code ArrayImg} rounds and
+	 * stores values like the op's {@code compute} method.
+	 */
+	private <T extends RealType<T>> void assertArrayMapped(final Img<T> in,
+		final UnaryComputerOp<RealType<?>, RealType<?>> op)
+	{
+		double value = -100.25;
+		for (final T t : in) {
+			t.setReal(value);
+			value += 0.5;
+		}
+		final Img<T> out = in.factory().create(in, in.firstElement());
+		ops.run(MapUnaryComputers.IIToII.class, out, in, op);
+
+		final T expected = in.firstElement().createVariable();
+		final Cursor<T> inCursor = in.cursor();
+		final Cursor<T> outCursor = out.cursor();
+		while (inCursor.hasNext()) {
+			op.compute(inCursor.next(), expected);
+			assertEquals(expected.getRealDouble(), outCursor.next().getRealDouble(),
+				0);
+		}
+	}
+
+	private static void assertNegated(final Img<FloatType> in,
+		final Img<FloatType> out)
+	{
+		final Cursor<FloatType> inCursor = in.cursor();
+		final Cursor<FloatType> outCursor = out.cursor();
+		while (inCursor.hasNext()) {
+			assertEquals(-inCursor.next().get(), outCursor.next().get(), 0);
+		}
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private UnaryComputerOp<RealType<?>, RealType<?>> stage(
+		final Class<? extends Op> opType, final Object... args)
+	{
+		return (UnaryComputerOp) Computers.unary(ops, opType, RealType.class,
+			RealType.class, args);
+	}
+
 	private static void assertImgSubEquals(Img<ByteType> in1, Img<ByteType> in2,
 		Img<ByteType> out)
 	{
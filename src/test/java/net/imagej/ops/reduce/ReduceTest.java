@@ -0,0 +1,148 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.reduce;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.imagej.ops.AbstractOpTest;
+import net.imagej.ops.Ops;
+import net.imagej.ops.map.Maps;
+import net.imagej.ops.stats.StatsReducers;
+import net.imagej.ops.stats.StatsSummary;
+import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImgs;
+import net.imglib2.type.numeric.integer.IntType;
+import net.imglib2.type.numeric.real.DoubleType;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link DefaultReduce} and {@link ReduceParallel}.
+ */
+public class ReduceTest extends AbstractOpTest {
+
+	/** Sums the values as {@code long}s, which is exact in any order. */
+	private static final Reducer<IntType, long[]> SUM =
+		new Reducer<IntType, long[]>()
+	{
+
+			@Override
+			public long[] create() {
+				return new long[1];
+			}
+
+			@Override
+			public void accumulate(final long[] sum, final IntType element) {
+				sum[0] += element.get();
+			}
+
+			@Override
+			public void combine(final long[] sum, final long[] partial) {
+				sum[0] += partial[0];
+			}
+		};
+
+	@Test
+	public void testParallel() {
+		final Img<IntType> img = ArrayImgs.ints(300, 200);
+		assertTrue(Maps.parallelizable(img));
+		int i = 0;
+		for (final IntType t : img) {
+			t.set(i++);
+		}
+		final long n = img.size();
+
+		assertTrue(ops.op(Ops.Reduce.class, img, SUM) instanceof ReduceParallel);
+		assertEquals(n * (n - 1) / 2, ops.reduce(img, SUM)[0]);
+		assertEquals(n * (n - 1) / 2, Reductions.reduce(img, SUM)[0]);
+	}
+
+	@Test
+	public void testSequential() {
+		final List<IntType> list = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			list.add(new IntType(i));
+		}
+		assertTrue(ops.op(Ops.Reduce.class, list, SUM) instanceof DefaultReduce);
+		assertEquals(45, ops.reduce(list, SUM)[0]);
+	}
+
+	@Test
+	public void testSummary() {
+		final Img<DoubleType> img = ArrayImgs.doubles(300, 200);
+		final List<DoubleType> list = new ArrayList<>();
+		int i = 0;
+		for (final DoubleType t : img) {
+			t.set(Math.sin(i++) * 100);
+			// NB: The cursor reuses its element, so store a copy of each value.
+			list.add(t.copy());
+		}
+
+		final StatsSummary parallel = ops.reduce(img, StatsReducers
+			.<DoubleType> summary());
+		final StatsSummary sequential = ops.reduce(list, StatsReducers
+			.<DoubleType> summary());
+		assertEquals(sequential.getCount(), parallel.getCount());
+		assertEquals(sequential.getMin(), parallel.getMin(), 0);
+		assertEquals(sequential.getMax(), parallel.getMax(), 0);
+		assertEquals(sequential.getMean(), parallel.getMean(), 1e-10);
+		assertEquals(sequential.getVariance(), parallel.getVariance(), 1e-8);
+		assertEquals(sequential.getSkewness(), parallel.getSkewness(), 1e-8);
+		assertEquals(sequential.getKurtosis(), parallel.getKurtosis(), 1e-8);
+	}
+
+	@Test
+	public void testVariance() {
+		final Img<DoubleType> img = ArrayImgs.doubles(300, 200);
+		int i = 0;
+		for (final DoubleType t : img) {
+			t.set(Math.sin(i++) * 100 + 1e6);
+		}
+
+		final double[] parallel = ops.reduce(img, StatsReducers
+			.<DoubleType> variance());
+		final double[] sequential = Reductions.reduce(img, StatsReducers
+			.<DoubleType> variance());
+		final StatsSummary summary = Reductions.reduce(img, StatsReducers
+			.<DoubleType> summary());
+		assertEquals(img.size(), parallel[0], 0);
+		assertEquals(summary.getMean(), parallel[1], 1e-6);
+		assertEquals(summary.getVariance(), StatsReducers.variance(parallel),
+			1e-6);
+		assertEquals(StatsReducers.variance(sequential), StatsReducers.variance(
+			parallel), 1e-6);
+	}
+
+}
@@ -30,7 +30,11 @@
 
 package net.imagej.ops.stats;
 
+import java.util.Arrays;
+
 import net.imagej.ops.AbstractOpTest;
+import net.imagej.ops.cached.CachedOpEnvironment;
+import net.imglib2.Cursor;
 import net.imglib2.img.Img;
 import net.imglib2.img.array.ArrayImg;
 import net.imglib2.img.array.ArrayImgs;
@@ -257,6 +261,31 @@ public class StatisticsTest extends AbstractOpTest {
 			0.00001d);
 	}
 
+	@Test
+	public void testQuantilePaths() {
+		// NB: The bytes are counted in a histogram, the floats are selected.
+		final Img<FloatType> floats = ArrayImgs.floats(100, 100);
+		final Cursor<UnsignedByteType> c = randomlyFilledImg.cursor();
+		for (final FloatType t : floats) {
+			t.setReal(c.next().getRealDouble());
+		}
+		final double[] sorted = new double[(int) floats.size()];
+		int i = 0;
+		for (final FloatType t : floats) {
+			sorted[i++] = t.getRealDouble();
+		}
+		Arrays.sort(sorted);
+
+		for (final double q : new double[] { 0, 0.1, 0.25, 0.5, 0.9, 1 }) {
+			final double expected = sorted[Math.min((int) (sorted.length * q),
+				sorted.length - 1)];
+			Assert.assertEquals(expected, ((DoubleType) ops.run(
+				DefaultQuantile.class, randomlyFilledImg, q)).getRealDouble(), 0);
+			Assert.assertEquals(expected, ((DoubleType) ops.run(
+				DefaultQuantile.class, floats, q)).getRealDouble(), 0);
+		}
+	}
+
 	@Test
 	public void testSkewness() {
 		Assert.assertEquals("Skewness", -0.0012661517853476312, ((DoubleType) ops
@@ -283,4 +312,58 @@ public class StatisticsTest extends AbstractOpTest {
 		Assert.assertEquals("Sum Of Squares", 217588654, ((DoubleType) ops.run(
 			DefaultSumOfSquares.class, randomlyFilledImg)).getRealDouble(), 0.00001d);
 	}
+
+	@Test
+	public void testSummary() {
+		final StatsSummary summary = ops.stats().summary(randomlyFilledImg);
+		Assert.assertEquals(randomlyFilledImg.size(), summary.getCount());
+		Assert.assertEquals(217588654, summary.getSumOfSquares(), 0);
+		Assert.assertEquals(5437.93418843998, summary.getMoment2AboutMean(),
+			0.00001d);
+		Assert.assertEquals(-507.810691261427, summary.getMoment3AboutMean(),
+			0.00001d);
+		Assert.assertEquals(53069780.9168701, summary.getMoment4AboutMean(),
+			0.0001d);
+		Assert.assertEquals(-0.0012661517853476312, summary.getSkewness(),
+			0.00001d);
+		Assert.assertEquals(1.794289587623922, summary.getKurtosis(), 0.00001d);
+	}
+
+	@Test
+	public void testSummaryMerge() {
+		final StatsSummary whole = ops.stats().summary(randomlyFilledImg);
+
+		final StatsSummary even = new StatsSummary();
+		final StatsSummary odd = new StatsSummary();
+		int i = 0;
+		for (final UnsignedByteType t : randomlyFilledImg) {
+			(i++ % 3 == 0 ? even : odd).add(t.getRealDouble());
+		}
+		even.add(odd);
+
+		Assert.assertEquals(whole.getCount(), even.getCount());
+		Assert.assertEquals(whole.getSum(), even.getSum(), 0);
+		Assert.assertEquals(whole.getMin(), even.getMin(), 0);
+		Assert.assertEquals(whole.getMax(), even.getMax(), 0);
+		Assert.assertEquals(whole.getMean(), even.getMean(), 0.00001d);
+		Assert.assertEquals(whole.getMoment2AboutMean(), even
+			.getMoment2AboutMean(), 0.00001d);
+		Assert.assertEquals(whole.getMoment3AboutMean(), even
+			.getMoment3AboutMean(), 0.00001d);
+		Assert.assertEquals(whole.getMoment4AboutMean(), even
+			.getMoment4AboutMean(), 0.0001d);
+	}
+
+	@Test
+	public void testSharedSummary() {
+		final CachedOpEnvironment cached = new CachedOpEnvironment(ops);
+		final Class<?>[] stats = { DefaultKurtosis.class, DefaultSkewness.class,
+			DefaultMoment3AboutMean.class, DefaultVariance.class,
+			IterableVariance.class, IterableMean.class };
+		for (final Class<?> op : stats) {
+			Assert.assertEquals(op.getSimpleName(), ((DoubleType) ops.run(op,
+				randomlyFilledImg)).getRealDouble(), ((DoubleType) cached.run(op,
+					randomlyFilledImg)).getRealDouble(), 0.00001d);
+		}
+	}
 }
@@ -35,7 +35,11 @@ import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
 import com.carrotsearch.junitbenchmarks.BenchmarkRule;
 
 import net.imagej.ops.benchmark.AbstractOpBenchmark;
+import net.imagej.ops.thread.chunker.Chunk;
+import net.imagej.ops.thread.chunker.ChunkerForkJoin;
+import net.imagej.ops.thread.chunker.ChunkerInterleaved;
 import net.imagej.ops.thread.chunker.ChunkerOp;
+import net.imagej.ops.thread.chunker.DefaultChunker;
 import net.imglib2.img.Img;
 import net.imglib2.type.numeric.integer.ByteType;
 
@@ -74,6 +78,12 @@ public class ChunkerBenchmarkTest extends AbstractOpBenchmark {
 		ops.run(RunInterleavedChunker.class, out, in);
 	}
 
+	@Test
+	public void run100MbForkJoin() {
+		generateByteTestImgs(10240);
+		ops.run(RunForkJoinChunker.class, out, in);
+	}
+
 	@Test
 	public void run1MbTest() {
 		generateByteTestImgs(1024);
@@ -86,6 +96,29 @@ public class ChunkerBenchmarkTest extends AbstractOpBenchmark {
 		ops.run(RunInterleavedChunker.class, out, in);
 	}
 
+	@Test
+	public void run1MbForkJoin() {
+		generateByteTestImgs(1024);
+		ops.run(RunForkJoinChunker.class, out, in);
+	}
+
+	// with uneven cost per element
+
+	@Test
+	public void runUnevenTest() {
+		ops.run(DefaultChunker.class, unevenChunk(), UNEVEN_SIZE);
+	}
+
+	@Test
+	public void runUnevenInterleaved() {
+		ops.run(ChunkerInterleaved.class, unevenChunk(), UNEVEN_SIZE);
+	}
+
+	@Test
+	public void runUnevenForkJoin() {
+		ops.run(ChunkerForkJoin.class, unevenChunk(), UNEVEN_SIZE);
+	}
+
 	//with arrays
 
 	@Test
@@ -112,6 +145,33 @@ public class ChunkerBenchmarkTest extends AbstractOpBenchmark {
 		ops.run(RunInterleavedChunkerArray.class, out2, in2);
 	}
 
+	private static final long UNEVEN_SIZE = 1 << 16;
+
+	/**
+	 * Creates a {@link Chunk} whose elements in the last eighth are a hundred
+	 * times more expensive than the others, like a costly image border.
+	 */
+	private Chunk unevenChunk() {
+		return new Chunk() {
+
+			@Override
+			public void execute(final int startIndex, final int stepSize,
+				final int numSteps)
+			{
+				double sink = 0;
+				for (int i = 0, index = startIndex; i < numSteps; i++, index +=
+					stepSize)
+				{
+					final int work = index >= UNEVEN_SIZE / 8 * 7 ? 10000 : 100;
+					for (int w = 0; w < work; w++) {
+						sink += Math.sqrt(index + w);
+					}
+				}
+				if (sink < 0) throw new IllegalStateException();
+			}
+		};
+	}
+
 	private void generateByteTestImgs(int size) {
 		if (in != null && in.dimension(0) == size) return;
 		if (size > 1024) {
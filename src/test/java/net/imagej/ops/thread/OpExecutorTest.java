@@ -0,0 +1,168 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.thread;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.imagej.ops.AbstractOpTest;
+import net.imagej.ops.thread.chunker.Chunk;
+import net.imagej.ops.thread.chunker.DefaultChunker;
+
+import org.junit.Test;
+import org.scijava.thread.ThreadService;
+
+/**
+ * Tests {@link OpExecutor}.
+ */
+public class OpExecutorTest extends AbstractOpTest {
+
+	@Test
+	public void testDefaultBackend() {
+		final OpExecutor executor = OpExecutor.of(ops);
+		assertSame(executor, OpExecutor.of(ops));
+		assertSame(context.service(ThreadService.class).getExecutorService(),
+			executor.executorService());
+	}
+
+	@Test
+	public void testForkJoinBackend() {
+		final OpExecutor forkJoin = OpExecutor.forkJoin(2);
+		OpExecutor.set(ops, forkJoin);
+		try {
+			assertSame(forkJoin, OpExecutor.of(ops));
+
+			final long size = 100000;
+			final AtomicLong sum = new AtomicLong();
+			final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+			ops.run(DefaultChunker.class, new Chunk() {
+
+				@Override
+				public void execute(final int startIndex, final int stepSize,
+					final int numSteps)
+				{
+					threads.add(Thread.currentThread());
+					long local = 0;
+					for (int i = 0; i < numSteps; i++) {
+						local += startIndex + (long) i * stepSize;
+					}
+					sum.addAndGet(local);
+				}
+			}, size);
+
+			assertEquals(size * (size - 1) / 2, sum.get());
+			for (final Thread t : threads) {
+				assertTrue(t.getName(), t.getName().contains("ForkJoinPool"));
+			}
+			assertTrue(forkJoin.executorService() instanceof ForkJoinPool);
+		}
+		finally {
+			OpExecutor.set(ops, OpExecutor.threadService(context.service(
+				ThreadService.class)));
+		}
+		assertTrue(forkJoin.executorService().isShutdown());
+	}
+
+	@Test
+	public void testLimitParallelism() throws Exception {
+		final OpExecutor executor = OpExecutor.of(ops);
+		final int unlimited = executor.parallelism();
+		try (OpExecutor.Limit limit = OpExecutor.limitParallelism(2)) {
+			assertEquals(Math.min(2, unlimited), executor.parallelism());
+
+			final AtomicInteger active = new AtomicInteger();
+			final AtomicInteger maxActive = new AtomicInteger();
+			final List<Callable<Void>> tasks = new ArrayList<>();
+			for (int i = 0; i < 16; i++) {
+				tasks.add(() -> {
+					maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+					Thread.sleep(5);
+					active.decrementAndGet();
+					return null;
+				});
+			}
+			for (final Future<Void> future : executor.executorService().invokeAll(
+				tasks))
+			{
+				future.get();
+			}
+			assertTrue(maxActive.get() <= 2);
+		}
+		assertEquals(unlimited, executor.parallelism());
+	}
+
+	@Test
+	public void testLimitEnvironment() {
+		OpExecutor.set(ops, OpExecutor.of(ops).limit(1));
+		assertEquals(1, OpExecutor.of(ops).parallelism());
+
+		final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+		ops.run(DefaultChunker.class, new Chunk() {
+
+			@Override
+			public void execute(final int startIndex, final int stepSize,
+				final int numSteps)
+			{
+				threads.add(Thread.currentThread());
+			}
+		}, 100000);
+		assertEquals(1, threads.size());
+	}
+
+	@Test
+	public void testVirtualThreads() {
+		if (!OpExecutor.isVirtualThreadsSupported()) return;
+		final OpExecutor virtual = OpExecutor.virtualThreads();
+		try {
+			final AtomicLong count = new AtomicLong();
+			virtual.run(count::incrementAndGet).get();
+			assertEquals(1, count.get());
+		}
+		catch (final Exception exc) {
+			throw new IllegalStateException(exc);
+		}
+		finally {
+			virtual.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.thread;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import net.imagej.ops.Threadable;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link OpInstancePool}.
+ */
+public class OpInstancePoolTest {
+
+	@Test
+	public void testPoolPerInvocation() {
+		final Copying prototype = new Copying();
+
+		final OpInstancePool first = new OpInstancePool();
+		final Copying a = first.acquire(prototype);
+		first.release(prototype, a);
+
+		// NB: A new invocation never sees the copies of an earlier one.
+		assertNotSame(a, new OpInstancePool().acquire(prototype));
+		assertEquals(2, prototype.copies);
+	}
+
+	@Test
+	public void testReuse() {
+		final OpInstancePool pool = new OpInstancePool();
+		final Copying prototype = new Copying();
+
+		final Copying a = pool.acquire(prototype);
+		final Copying b = pool.acquire(prototype);
+		assertNotSame(a, b);
+		assertEquals(2, prototype.copies);
+
+		pool.release(prototype, a);
+		assertSame(a, pool.acquire(prototype));
+		assertEquals(2, prototype.copies);
+	}
+
+	@Test
+	public void testSharedInstance() {
+		final OpInstancePool pool = new OpInstancePool();
+		final Shared shared = new Shared();
+
+		assertSame(shared, pool.acquire(shared));
+		pool.release(shared, shared);
+		assertSame(shared, pool.acquire(shared));
+	}
+
+	// -- Helper classes --
+
+	private static class Copying implements Threadable {
+
+		private int copies;
+
+		@Override
+		public Copying getIndependentInstance() {
+			copies++;
+			return new Copying();
+		}
+	}
+
+	private static class Shared implements Threadable {
+
+		@Override
+		public Shared getIndependentInstance() {
+			return this;
+		}
+	}
+
+}
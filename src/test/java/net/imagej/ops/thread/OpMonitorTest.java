@@ -0,0 +1,165 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.thread;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.imagej.ops.AbstractOpTest;
+import net.imagej.ops.CustomOpEnvironment;
+import net.imagej.ops.OpEnvironment;
+import net.imagej.ops.thread.chunker.Chunk;
+import net.imagej.ops.thread.chunker.ChunkMonitor;
+import net.imagej.ops.thread.chunker.ChunkerForkJoin;
+import net.imagej.ops.thread.chunker.DefaultChunker;
+import net.imagej.ops.thread.chunker.LongChunk;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link OpMonitor}.
+ */
+public class OpMonitorTest extends AbstractOpTest {
+
+	@Test
+	public void testInheritedMonitor() {
+		final OpEnvironment job = new CustomOpEnvironment(ops);
+		assertSame(OpMonitor.of(ops), OpMonitor.of(job));
+
+		final OpMonitor monitor = OpMonitor.create(job);
+		assertSame(monitor, OpMonitor.of(job));
+		assertNotSame(monitor, OpMonitor.of(ops));
+
+		monitor.cancel("timeout");
+		assertTrue(OpMonitor.of(job).isCanceled());
+		assertFalse(OpMonitor.of(ops).isCanceled());
+	}
+
+	@Test
+	public void testProgress() {
+		final long size = 100000;
+		final AtomicLong last = new AtomicLong();
+		OpMonitor.of(ops).addListener((op, completed, total) -> {
+			assertEquals(size, total);
+			last.accumulateAndGet(completed, Math::max);
+		});
+
+		ops.run(DefaultChunker.class, new Chunk() {
+
+			@Override
+			public void execute(final int startIndex, final int stepSize,
+				final int numSteps)
+			{
+				// NB: No-op.
+			}
+		}, size);
+
+		assertEquals(size, last.get());
+	}
+
+	@Test
+	public void testCancelRunningChunks() {
+		final OpEnvironment job = new CustomOpEnvironment(ops);
+		final OpMonitor monitor = OpMonitor.create(job);
+		final AtomicLong processed = new AtomicLong();
+		final long size = 10000000;
+		try {
+			job.run(ChunkerForkJoin.class, new Chunk() {
+
+				@Override
+				public void execute(final int startIndex, final int stepSize,
+					final int numSteps)
+				{
+					if (processed.addAndGet(numSteps) > size / 100) {
+						monitor.cancel("enough");
+					}
+				}
+			}, size);
+			fail("Expected CancellationException");
+		}
+		catch (final CancellationException exc) {
+			assertEquals("enough", exc.getMessage());
+		}
+		assertTrue(processed.get() < size);
+
+		monitor.reset();
+		processed.set(0);
+		job.run(DefaultChunker.class, new Chunk() {
+
+			@Override
+			public void execute(final int startIndex, final int stepSize,
+				final int numSteps)
+			{
+				processed.addAndGet(numSteps);
+			}
+		}, size);
+		assertEquals(size, processed.get());
+	}
+
+	@Test
+	public void testCancelWithinChunks() {
+		final OpEnvironment job = new CustomOpEnvironment(ops);
+		final OpMonitor monitor = OpMonitor.create(job);
+		final AtomicLong processed = new AtomicLong();
+		final long size = 10000000;
+		try {
+			job.run(DefaultChunker.class, new LongChunk() {
+
+				@Override
+				public void execute(final long startIndex, final long stepSize,
+					final long numSteps)
+				{
+					final ChunkMonitor chunkMonitor = ChunkMonitor.current();
+					for (long i = 0; i < numSteps && chunkMonitor.proceed(i); i++) {
+						if (processed.incrementAndGet() == size / 100) {
+							monitor.cancel("enough");
+						}
+					}
+				}
+			}, size);
+			fail("Expected CancellationException");
+		}
+		catch (final CancellationException exc) {
+			assertEquals("enough", exc.getMessage());
+		}
+		// NB: Each chunk stops within one poll interval of the cancelation.
+		assertTrue(processed.get() < size / 100 + OpExecutor.of(job).parallelism() *
+			ChunkMonitor.POLL_INTERVAL);
+	}
+
+}
@@ -0,0 +1,93 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.thread.chunker;
+
+import static org.junit.Assert.assertEquals;
+
+import net.imagej.ops.AbstractOpTest;
+import net.imglib2.Cursor;
+import net.imglib2.Interval;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImgs;
+import net.imglib2.img.cell.CellImgFactory;
+import net.imglib2.img.planar.PlanarImgs;
+import net.imglib2.type.numeric.integer.IntType;
+import net.imglib2.view.Views;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link ChunkerStorageLayout}.
+ */
+public class ChunkerStorageLayoutTest extends AbstractOpTest {
+
+	@Test
+	public void testArrayImg() {
+		final Img<IntType> img = ArrayImgs.ints(10, 7, 3);
+		assertEquals(3, ChunkerStorageLayout.blocks(img, 8).size());
+		assertEachPixelOnce(img);
+	}
+
+	@Test
+	public void testPlanarImg() {
+		final Img<IntType> img = PlanarImgs.ints(10, 7, 3, 2);
+		assertEquals(6, ChunkerStorageLayout.blocks(img, 8).size());
+		assertEachPixelOnce(img);
+	}
+
+	@Test
+	public void testCellImg() {
+		final Img<IntType> img = new CellImgFactory<IntType>(4, 4).create(
+			new long[] { 10, 7 }, new IntType());
+		assertEquals(6, ChunkerStorageLayout.blocks(img, 8).size());
+		assertEachPixelOnce(img);
+	}
+
+	// -- Helper methods --
+
+	private void assertEachPixelOnce(final RandomAccessibleInterval<IntType> img) {
+		ops.thread().chunker(new IntervalChunk() {
+
+			@Override
+			public void execute(final Interval block) {
+				for (final IntType t : Views.interval(img, block)) {
+					t.inc();
+				}
+			}
+		}, img);
+		final Cursor<IntType> c = Views.iterable(img).cursor();
+		while (c.hasNext()) {
+			assertEquals(1, c.next().get());
+		}
+	}
+
+}
@@ -0,0 +1,128 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2014 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, University of Konstanz and Brian Northan.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ops.thread.chunker;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.imagej.ops.AbstractOpTest;
+import net.imagej.ops.Op;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link LongChunk}s and the {@code long} adapter of {@link Chunk}.
+ */
+public class LongChunkTest extends AbstractOpTest {
+
+	private static final long SIZE = 3L * Integer.MAX_VALUE;
+
+	@Test
+	public void testDefaultChunker() {
+		assertEnumerated(DefaultChunker.class);
+	}
+
+	@Test
+	public void testChunkerInterleaved() {
+		assertEnumerated(ChunkerInterleaved.class);
+	}
+
+	@Test
+	public void testChunkerForkJoin() {
+		assertEnumerated(ChunkerForkJoin.class);
+	}
+
+	@Test
+	public void testIntAdapter() {
+		final long[] args = new long[3];
+		final Chunk chunk = new Chunk() {
+
+			@Override
+			public void execute(final int startIndex, final int stepSize,
+				final int numSteps)
+			{
+				args[0] = startIndex;
+				args[1] = stepSize;
+				args[2] = numSteps;
+			}
+		};
+		chunk.execute(5L, 2L, 7L);
+		assertEquals(5, args[0]);
+		assertEquals(2, args[1]);
+		assertEquals(7, args[2]);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testIntAdapterOverflow() {
+		final Chunk chunk = new Chunk() {
+
+			@Override
+			public void execute(final int startIndex, final int stepSize,
+				final int numSteps)
+			{
+				// NB: Never called.
+			}
+		};
+		chunk.execute(Integer.MAX_VALUE, 1L, 2L);
+	}
+
+	// -- Helper methods --
+
+	/**
+	 * Checks that the given chunker enumerates all elements of a problem with
+	 * more than 2<sup>31</sup> elements, without visiting any of them.
+	 */
+	private void assertEnumerated(final Class<? extends Op> chunker) {
+		final AtomicLong steps = new AtomicLong();
+		final AtomicLong indexSum = new AtomicLong();
+		ops.run(chunker, new LongChunk() {
+
+			@Override
+			public void execute(final long startIndex, final long stepSize,
+				final long numSteps)
+			{
+				steps.addAndGet(numSteps);
+				// sum of the arithmetic sequence of indices, modulo 2^64
+				indexSum.addAndGet(numSteps * startIndex + stepSize * triangle(
+					numSteps));
+			}
+		}, SIZE);
+		assertEquals(SIZE, steps.get());
+		assertEquals(triangle(SIZE), indexSum.get());
+	}
+
+	/** Computes 0 + 1 + ... + (n - 1), modulo 2<sup>64</sup>. */
+	private static long triangle(final long n) {
+		return n % 2 == 0 ? n / 2 * (n - 1) : (n - 1) / 2 * n;
+	}
+
+}